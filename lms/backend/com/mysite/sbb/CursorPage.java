@@ -0,0 +1,54 @@
+package com.mysite.sbb;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+// keyset 페이징 결과 (COUNT 쿼리 없음)
+// - 한 페이지 크기보다 1개 더 조회해서 다음(또는 이전) 페이지가 있는지만 판단
+// - nextCursor / prevCursor 가 null 이면 그 방향으로 더 없음
+public record CursorPage<T>(List<T> content, String nextCursor, String prevCursor) {
+
+	public static <T> CursorPage<T> empty() {
+		return new CursorPage<>(new ArrayList<>(), null, null);
+	}
+
+	public boolean hasContent() {
+		return !content.isEmpty();
+	}
+
+	public boolean hasNext() {
+		return nextCursor != null;
+	}
+
+	public boolean hasPrevious() {
+		return prevCursor != null;
+	}
+
+	// size + 1 개까지 조회한 결과로 페이지 구성
+	public static <T> CursorPage<T> of(List<T> rows, int size, KeysetCursor cursor,
+			Function<T, LocalDateTime> dateOf, Function<T, Long> idOf) {
+		boolean more = rows.size() > size;
+		List<T> content = new ArrayList<>(more ? rows.subList(0, size) : rows);
+		boolean backward = cursor != null && cursor.backward();
+		if (backward) {
+			Collections.reverse(content); // 오름차순으로 읽은 이전 페이지를 최신순으로
+		}
+		if (content.isEmpty()) {
+			return new CursorPage<>(content, null, null);
+		}
+
+		// 앞으로 가는 중이면: 다음 = 1개 더 있었는지, 이전 = 커서로 들어왔는지
+		// 뒤로 가는 중이면: 다음 = 항상 있음(방금 보던 페이지), 이전 = 1개 더 있었는지
+		boolean hasNext = backward || more;
+		boolean hasPrev = backward ? more : cursor != null;
+
+		T first = content.get(0);
+		T last = content.get(content.size() - 1);
+		String next = hasNext ? new KeysetCursor(dateOf.apply(last), idOf.apply(last), false).encode() : null;
+		String prev = hasPrev ? new KeysetCursor(dateOf.apply(first), idOf.apply(first), true).encode() : null;
+		return new CursorPage<>(content, next, prev);
+	}
+}
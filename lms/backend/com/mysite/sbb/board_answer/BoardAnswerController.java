@@ -1,6 +1,5 @@
 package com.mysite.sbb.board_answer;
 
-import java.security.Principal;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -21,9 +20,9 @@ import org.springframework.web.server.ResponseStatusException;
 
 import com.mysite.sbb.board_question.BoardQuestion;
 import com.mysite.sbb.board_question.BoardQuestionService;
+import com.mysite.sbb.user.CurrentUser;
 import com.mysite.sbb.user.User;
 import com.mysite.sbb.user.UserRole;
-import com.mysite.sbb.user.UserService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -35,7 +34,6 @@ public class BoardAnswerController {
 	
 	private final BoardQuestionService bqService;
     private final BoardAnswerService baService;
-    private final UserService uService;
     
     // 답변 등록
     @PreAuthorize("isAuthenticated()") // 추후에 역할 구분 추가해야함
@@ -44,10 +42,9 @@ public class BoardAnswerController {
     						   @PathVariable("BoardQuesId") Long BoardQuesId,
                                @Valid BoardAnswerForm BoardanswerForm,
                                BindingResult bindingResult,
-                               Principal principal) {
+                               @CurrentUser User currentUser) {
         
         BoardQuestion question = bqService.getQuestion(BoardQuesId.longValue());
-        User currentUser = uService.getUser(principal.getName()); // Principal로 사용자 조회
 
         if (bindingResult.hasErrors()) {
         	List<BoardAnswer> answerList = baService.getAnswersForQuestion(BoardQuesId);
@@ -68,14 +65,13 @@ public class BoardAnswerController {
     @GetMapping("/modify/{boardAnswId}")
     public String answerModify(BoardAnswerForm boardAnswerForm,
     						   @PathVariable("boardAnswId") Long boardAnswId,
-    						   Principal principal,
+    						   @CurrentUser User currentUser,
     						   Model model) {
     	
         BoardAnswer answer = baService.getAnswer(boardAnswId);
-        User currentUser = uService.getUser(principal.getName());
         
      // 권한 체크 (답변 작성자 본인 or 관리자만)
-        if (!answer.getUser().getUserId().equals(principal.getName()) 
+        if (!answer.getUser().getUserId().equals(currentUser.getUserId()) 
              && currentUser.getRole() != UserRole.ROLE_ADMIN) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "수정 권한이 없습니다.");
         }
@@ -94,11 +90,10 @@ public class BoardAnswerController {
     public String answerModify(@Valid BoardAnswerForm boardQuestionForm,
     						   BindingResult bindingResult,
                                @PathVariable("boardAnswId") Long boardAnswId,
-                               Principal principal,
+                               @CurrentUser User currentUser,
                                Model model) {
     	
     	BoardAnswer answer = baService.getAnswer(boardAnswId); // Answer 객체 먼저 조회
-	User currentUser = uService.getUser(principal.getName());    	
 
         if (bindingResult.hasErrors()) {
         	model.addAttribute("BoardAnswerForm", boardQuestionForm); // 오류 시 form 객체 유지
@@ -108,7 +103,7 @@ public class BoardAnswerController {
         }
         
         // 권한 체크 (답변 작성자 본인 or 관리자)
-        if (!answer.getUser().getUserId().equals(principal.getName()) 
+        if (!answer.getUser().getUserId().equals(currentUser.getUserId()) 
              && currentUser.getRole() != UserRole.ROLE_ADMIN) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "수정 권한이 없습니다.");
         }
@@ -120,14 +115,13 @@ public class BoardAnswerController {
     // 답변 삭제
     @PreAuthorize("isAuthenticated()") // 추후에 역할 구분 추가해야함
     @GetMapping("/delete/{boardAnswId}")
-    public String answerDelete(Principal principal,
+    public String answerDelete(@CurrentUser User currentUser,
     					       @PathVariable("boardAnswId") Long boardAnswId) {
         
     	BoardAnswer answer = baService.getAnswer(boardAnswId);
-    	User currentUser = uService.getUser(principal.getName());
         
     	// 권한 체크 (답변 작성자 본인 or 관리자)
-        if (!answer.getUser().getUserId().equals(principal.getName()) 
+        if (!answer.getUser().getUserId().equals(currentUser.getUserId()) 
              && currentUser.getRole() != UserRole.ROLE_ADMIN) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "삭제 권한이 없습니다.");
         }
@@ -139,10 +133,9 @@ public class BoardAnswerController {
   //마이페이지답글보기
     @PreAuthorize("isAuthenticated()") // 로그인한 사용자만 접근 가능
     @GetMapping("/my") // 최종 URL은 /answer/my 가 됩니다.
-    public String myAnswers(Model model, Principal principal,
+    public String myAnswers(Model model, @CurrentUser User currentUser,
     		@RequestParam(value = "page", defaultValue = "0") int page) {
         
-        User currentUser = uService.getUser(principal.getName());
         
         Pageable pageable = PageRequest.of(page, 5, Sort.by(Sort.Direction.DESC, "answDate")); // 5개씩
         
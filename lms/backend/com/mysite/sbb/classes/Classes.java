@@ -10,13 +10,16 @@ import com.mysite.sbb.board_question.BoardQuestion;
 import com.mysite.sbb.enrollment.Enrollment;
 import com.mysite.sbb.level.Level;
 import com.mysite.sbb.user.User;
+import com.mysite.sbb.sampling.SamplingPoolListener;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -27,7 +30,13 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name="classes")
+@EntityListeners(SamplingPoolListener.class) // 랜덤 샘플링 ID 풀 갱신
+@Table(name="classes", indexes = {
+		@Index(name = "idx_classes_enrollment_count", columnList = "enrollment_count"), // 수강생 많은 순 정렬
+		@Index(name = "idx_classes_uno_enrollment_count", columnList = "uno, enrollment_count"), // 강사별 수강생 많은 순 정렬
+		@Index(name = "idx_classes_created_date_id", columnList = "created_date, classes_id"), // 커서(keyset) 페이징
+		@Index(name = "idx_classes_level_created_date_id", columnList = "level_id, created_date, classes_id") // 메인페이지 레벨별 최신 강의
+})
 public class Classes {
 	
 	@Id
@@ -58,6 +67,13 @@ public class Classes {
 	
 	@Column(name = "classes_video")
 	private String classesVideo; //강의영상
+	
+	// [추가] 수강생 수 (enrollment COUNT 대신 읽는 비정규화 컬럼)
+	// 수강신청/취소 시 UPDATE ... SET enrollment_count = enrollment_count ± 1 로 원자적으로 갱신
+	// 어긋난 값은 EnrollmentCountReconciler 가 주기적으로 보정
+	// 강의 수정 시 엔티티의 옛 값으로 덮어쓰지 않도록 insert/update 대상에서 제외 (UPDATE 쿼리로만 변경)
+	@Column(name = "enrollment_count", nullable = false, insertable = false, updatable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+	private int enrollmentCount = 0;
 
 	
 	// cascade = CascadeType.ALL 추가
@@ -68,4 +84,4 @@ public class Classes {
 	@OneToMany(mappedBy = "classes", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<Enrollment> enrollments = new ArrayList<>();
 	
-}
\ No newline at end of file
+}
\ No newline at end of file
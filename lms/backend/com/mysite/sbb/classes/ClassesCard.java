@@ -0,0 +1,9 @@
+package com.mysite.sbb.classes;
+
+import java.time.LocalDateTime;
+
+// 메인페이지 강의 카드용 projection
+// Classes 엔티티(+ EAGER 로 딸려오는 강사, 레벨 엔티티)를 통째로 읽지 않고 카드에 표시할 컬럼만 조회
+public record ClassesCard(Long classesId, String title, String classesImg, Long levelId, String levelName,
+		String instructorName, LocalDateTime classesCdate) {
+}
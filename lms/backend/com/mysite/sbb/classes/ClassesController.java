@@ -1,13 +1,11 @@
 package com.mysite.sbb.classes;
 
-import java.security.Principal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -29,12 +27,15 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import com.mysite.sbb.enrollment.Enrollment;
+import com.mysite.sbb.CursorPage;
+import com.mysite.sbb.KeysetCursor;
 import com.mysite.sbb.enrollment.EnrollmentService;
+import com.mysite.sbb.enrollment.EnrollmentStatusCache;
+import com.mysite.sbb.enrollment.LearnerDashboard;
+import com.mysite.sbb.enrollment.LearnerDashboardCache;
 import com.mysite.sbb.level.Level;
 import com.mysite.sbb.level.LevelService;
-import com.mysite.sbb.quiz.Quiz;
-import com.mysite.sbb.quiz.QuizRepository;
+import com.mysite.sbb.user.CurrentUser;
 import com.mysite.sbb.user.User;
 import com.mysite.sbb.user.UserRole;
 import com.mysite.sbb.user.UserService;
@@ -51,7 +52,7 @@ public class ClassesController {
 	private final UserService uService;
 	private final LevelService lService;
 	private final EnrollmentService eService;
-	private final QuizRepository quizr;
+	private final LearnerDashboardCache dashboards; // [추가] 회원별 학습 현황 캐시
 
 	// 강의 등록 페이지(관리자/강사용)
 	@PreAuthorize("hasRole('ROLE_INSTRUCTOR') or hasRole('ROLE_ADMIN')") // 관리자 or 강사만
@@ -67,7 +68,7 @@ public class ClassesController {
 	@PreAuthorize("hasRole('ROLE_INSTRUCTOR') or hasRole('ROLE_ADMIN')") // 관리자 or 강사만
 	@PostMapping("/create")
 	public String create(@Valid @ModelAttribute("classesForm") ClassesForm classesForm, // @Valid, @ModelAttribute 사용
-			BindingResult bindingResult, Principal principal, Model model) {
+			BindingResult bindingResult, @CurrentUser User currentUser, Model model) {
 
 		if (bindingResult.hasErrors()) {
 			List<Level> levels = lService.getAllLevel(); 
@@ -75,7 +76,6 @@ public class ClassesController {
 			return "classes_create"; 
 		}
 
-		User currentUser = uService.getUser(principal.getName()); 
 
 		try {
 			cService.create(classesForm, currentUser); 
@@ -91,16 +91,24 @@ public class ClassesController {
 
 	// 전체 강의 목록 페이지 (등급업 테스트 자격 확인 로직부터는 동일)
 	@GetMapping("/list")
-	public String list(Model model, Principal principal, @RequestParam(value = "page", defaultValue = "0") int page,
+	public String list(Model model, @CurrentUser User currentUser, @RequestParam(value = "page", defaultValue = "0") int page,
 			@RequestParam(value = "searchType", defaultValue = "title") String searchType,
 			@RequestParam(value = "kw", defaultValue = "") String kw,
-			@RequestParam(value = "levelId", defaultValue = "0") Long levelId) {
-
-		User currentUser = (principal != null) ? uService.getUser(principal.getName()) : null;
+			@RequestParam(value = "levelId", defaultValue = "0") Long levelId,
+			@RequestParam(value = "cursor", required = false) String cursor) { // [추가] 커서 방식 (파라미터가 있으면 사용, 빈 값 = 첫 페이지)
 
 		// 페이징 및 검색 로직
-		Pageable pageable = PageRequest.of(page, 9, Sort.by(Sort.Direction.DESC, "classesCdate")); // 9개씩, 최신순
-		Page<Classes> paging = cService.getList(currentUser, searchType, kw, levelId, pageable);
+		Page<Classes> paging;
+		if (cursor != null) {
+			// [추가] keyset 커서 방식: COUNT 없이 이전/다음만
+			CursorPage<Classes> cursorPage = cService.getListByCursor(currentUser, searchType, kw, levelId,
+					KeysetCursor.decode(cursor), 9);
+			model.addAttribute("cursorPage", cursorPage);
+			paging = new PageImpl<>(cursorPage.content()); // 목록 렌더링은 기존 템플릿 그대로 사용
+		} else {
+			Pageable pageable = PageRequest.of(page, 9, Sort.by(Sort.Direction.DESC, "classesCdate")); // 9개씩, 최신순
+			paging = cService.getList(currentUser, searchType, kw, levelId, pageable);
+		}
 
 		List<Level> levels = lService.getAllLevel();
 
@@ -109,14 +117,8 @@ public class ClassesController {
 		Map<Long, Long> enrollmentCountMap = new HashMap<>(); // 인원수 Map
 
 		if (currentUser != null) {
-			// 현재 사용자의 모든 수강신청 내역을 가져옴
-			List<Enrollment> userEnrollments = eService.getByUser(currentUser.getUno());
-
-			enrollmentStatusMap = userEnrollments.stream()
-					.collect(Collectors.toMap(enrollment -> enrollment.getClasses().getClassesId(),
-							enrollment -> enrollment.isCompleted() ? "COMPLETED" : "ENROLLED",
-							(status1, status2) -> status1));
-
+			// 현재 페이지 강의들의 수강 상태만 캐시에서 조회 (전체 수강내역 로딩 X)
+			enrollmentStatusMap = eService.getEnrollmentStatusMap(currentUser, paging.getContent());
 		}
 
 		// 수강 인원 수 Map 생성
@@ -132,56 +134,15 @@ public class ClassesController {
 		model.addAttribute("enrollmentStatusMap", enrollmentStatusMap);
 		model.addAttribute("enrollmentCountMap", enrollmentCountMap);
 
-		// 등급업 테스트 자격 확인 로직
-		long completedCountForPromotion = 0; // 현재 레벨 완료 개수
-		long totalCount = 10L;
-		double progressPercent = 0;
-		boolean promotionTestEligible = false;
-		Long promotionTestQuizId = null;
-		String promotionTestType = null;
-
-		// 현재 레벨에 따라 다음 승급 테스트 타입 결정
-		if (currentUser != null && currentUser.getLevel() != null) {
-			Level currentLevel = currentUser.getLevel();
-
-			if (currentLevel.getLevelId() == 1L) // 초급
-				promotionTestType = "PROMOTION_TEST_BEGINNER";
-			else if (currentLevel.getLevelId() == 2L) // 중급
-				promotionTestType = "PROMOTION_TEST_INTERMEDIATE";
-
-			if (promotionTestType != null) {
-				// 현재 레벨에서 10개 이상 완료했는지 확인
-				completedCountForPromotion = eService.getCompletedCountByLevel(currentUser, currentLevel); 
-																											
-				promotionTestEligible = (completedCountForPromotion >= 10);
-
-				// 진행률 계산
-				progressPercent = (double) completedCountForPromotion / totalCount * 100;
-				if (progressPercent > 100.0) {
-					progressPercent = 100.0;
-				}
-
-				// 진도율 충족 시 퀴즈 탐색
-				if (promotionTestEligible && quizr != null) {
-					Optional<Quiz> promotionQuizOpt = quizr.findByQuizType(promotionTestType);
-					if (promotionQuizOpt.isPresent()) {
-						promotionTestQuizId = promotionQuizOpt.get().getQuizId();
-					} else {
-						promotionTestEligible = false;
-						System.err.println(promotionTestType + " 타입의 퀴즈를 찾을 수 없습니다.");
-					}
-				} else if (promotionTestEligible && quizr == null) {
-					promotionTestEligible = false;
-				}
-			}
-		}
+		// [수정] 등급업 테스트 자격은 회원별 스냅샷 캐시에서 (메인페이지와 공용, 수료/레벨 변경 시에만 다시 계산)
+		LearnerDashboard dashboard = dashboards.get(currentUser);
 
 		// --- 모델 전달 ---
-		model.addAttribute("completedCount", completedCountForPromotion); // 현재 레벨 완료 카운트
-		model.addAttribute("totalCount", totalCount);
-		model.addAttribute("progressPercent", progressPercent);
-		model.addAttribute("promotionTestEligible", promotionTestEligible);
-		model.addAttribute("promotionTestQuizId", promotionTestQuizId);
+		model.addAttribute("completedCount", dashboard.completedCount()); // 현재 레벨 완료 카운트
+		model.addAttribute("totalCount", dashboard.totalCount());
+		model.addAttribute("progressPercent", dashboard.progressPercent());
+		model.addAttribute("promotionTestEligible", dashboard.promotionTestEligible());
+		model.addAttribute("promotionTestQuizId", dashboard.promotionTestQuizId());
 		// --- 등급업 테스트 로직 끝 ---
 		return "classes_list";
 	}
@@ -189,10 +150,9 @@ public class ClassesController {
 	// 강사 마이페이지 - 내 강의 관리 (페이징 적용)
 	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
 	@GetMapping("/classes")
-	public String instructorClasses(Model model, Principal principal,
+	public String instructorClasses(Model model, @CurrentUser User currentUser,
 			@RequestParam(value = "page", defaultValue = "0") int page) {
 
-		User currentUser = uService.getUser(principal.getName());
 
 		Pageable pageable = PageRequest.of(page, 6, Sort.by(Sort.Direction.DESC, "classesCdate"));
 		Page<Classes> paging = cService.getClassesByInstructor(currentUser, pageable);
@@ -210,24 +170,21 @@ public class ClassesController {
 
 	// 강의 상세보기
 	@GetMapping("/{classesId}")
-	public String detail(@PathVariable("classesId") Long classesId, Model model, Principal principal) {
+	public String detail(@PathVariable("classesId") Long classesId, Model model, @CurrentUser User currentUser) {
 		Classes classes = cService.getClassById(classesId);
 		model.addAttribute("classes", classes);
 
-		long enrollmentCount = eService.getEnrollmentCount(classesId);
+		long enrollmentCount = eService.getEnrollmentCount(classes);
 
 		// 수강 상태 확인 로직 추가
 		boolean isEnrolled = false;
 		boolean isCompleted = false;
 
-		if (principal != null) {
+		if (currentUser != null) {
 			try {
-				User currentUser = uService.getUser(principal.getName());
-				Optional<Enrollment> enrollmentOpt = eService.findByUserAndClasses(currentUser, classes);
-				if (enrollmentOpt.isPresent()) {
-					isEnrolled = true;
-					isCompleted = enrollmentOpt.get().isCompleted();
-				}
+				String status = eService.getEnrollmentStatus(currentUser, classesId);
+				isEnrolled = (status != null);
+				isCompleted = EnrollmentStatusCache.COMPLETED.equals(status);
 			} catch (Exception e) {
 				isEnrolled = false;
 				isCompleted = false;
@@ -243,14 +200,13 @@ public class ClassesController {
 	// 강의 수정 (강사/관리자만)
 	@PreAuthorize("hasRole('ROLE_INSTRUCTOR') or hasRole('ROLE_ADMIN')")
 	@GetMapping("/edit/{classesId}")
-	public String editForm(@PathVariable("classesId") Long classesId, Model model, Principal principal,
+	public String editForm(@PathVariable("classesId") Long classesId, Model model, @CurrentUser User currentUser,
 			ClassesForm classesForm) {
 
 		Classes classes = cService.getClassById(classesId);
-		User currentUser = uService.getUser(principal.getName()); // 현재 사용자 정보 조회
 
 		// 수정 권한 확인 (본인 또는 관리자)
-		if (!classes.getUser().getUserId().equals(principal.getName())
+		if (!classes.getUser().getUserId().equals(currentUser.getUserId())
 				&& currentUser.getRole() != UserRole.ROLE_ADMIN) {
 			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "수정 권한이 없습니다.");
 		}
@@ -275,13 +231,12 @@ public class ClassesController {
 	@PostMapping("/edit/{classesId}")
 	public String update(@PathVariable("classesId") Long classesId,
 			@Valid @ModelAttribute("classesForm") ClassesForm classesForm, // @Valid, @ModelAttribute, DTO 사용
-			BindingResult bindingResult, Principal principal, Model model) {
+			BindingResult bindingResult, @CurrentUser User currentUser, Model model) {
 
 		Classes originalClasses = cService.getClassById(classesId); // 원본 데이터 로드
-		User currentUser = uService.getUser(principal.getName()); // 사용자 정보 조회
 
 		// 수정 권한 확인(본인 또는 관리자)
-		if (!originalClasses.getUser().getUserId().equals(principal.getName())
+		if (!originalClasses.getUser().getUserId().equals(currentUser.getUserId())
 				&& currentUser.getRole() != UserRole.ROLE_ADMIN) {
 			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "수정 권한이 없습니다.");
 		}
@@ -309,11 +264,10 @@ public class ClassesController {
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_INSTRUCTOR')")
 	@PostMapping("/delete/{classesId}")
 	public String delete(@PathVariable("classesId") Long classesId,
-	                     Principal principal,
+	                     @CurrentUser User currentUser,
 	                     RedirectAttributes redirectAttributes) {
 
 	    Classes classes = cService.getClassById(classesId);
-	    User currentUser = uService.getUser(principal.getName());
 
 	    // 관리자이거나 해당 강의를 만든 강사일 때만 삭제 허용
 	    boolean isOwner = classes.getUser().getUserId().equals(currentUser.getUserId());
@@ -355,9 +309,8 @@ public class ClassesController {
 	// [수정] 강의 영상 시청 페이지 (10분 타이머 기능용 수정)
 	@PreAuthorize("isAuthenticated()")
 	@GetMapping("/watch/{classesId}")
-	public String watchClassVideo(@PathVariable("classesId") Long classesId, Model model, Principal principal) {
+	public String watchClassVideo(@PathVariable("classesId") Long classesId, Model model, @CurrentUser User currentUser) {
 
-		User currentUser = uService.getUser(principal.getName());
 		
 		// ★ [추가] 권한 체크
 	    if (!uService.canAccessCourse(currentUser)) {
@@ -366,10 +319,10 @@ public class ClassesController {
 		
 		Classes classes = cService.getClassById(classesId);
 
-		// 수강 상태 확인
-		Optional<Enrollment> enrollmentOpt = eService.findByUserAndClasses(currentUser, classes);
-		boolean isEnrolled = enrollmentOpt.isPresent();
-		boolean isCompleted = enrollmentOpt.map(Enrollment::isCompleted).orElse(false);
+		// 수강 상태 확인 (캐시)
+		String status = eService.getEnrollmentStatus(currentUser, classesId);
+		boolean isEnrolled = (status != null);
+		boolean isCompleted = EnrollmentStatusCache.COMPLETED.equals(status);
 
 		// [수정] 보안 체크: 수강생이 아니고, 관리자도 아니고, 강사도 아니면 접근 불가
 		// (강사와 관리자는 수강신청 없이도 영상 시청 가능)
@@ -416,4 +369,4 @@ public class ClassesController {
         return "classes_instructor"; 
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
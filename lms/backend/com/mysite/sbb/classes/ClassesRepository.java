@@ -1,12 +1,15 @@
 package com.mysite.sbb.classes;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 //import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -24,28 +27,64 @@ public interface ClassesRepository extends JpaRepository<Classes, Long>, JpaSpec
 	// 특정 레벨 ID 이하의 모든 강의 조회 (사용자 레벨에 맞는 강의 출력에 필요)
 	List<Classes> findByLevel_LevelIdLessThanEqual(Long levelId);
 	
-	// [추가] 랜덤으로 강의를 조회하는 쿼리 (MySQL는 RAND() 사용)
-    @Query("SELECT c FROM Classes c ORDER BY RAND()")
-    Page<Classes> findRandomClasses(Pageable pageable);
+	// [수정] 랜덤 강의 조회는 ORDER BY RAND() 대신 RandomSampler 사용
+	// 샘플링 풀 구성용: 강의 ID와 레벨 ID만 조회
+    @Query("SELECT c.classesId, c.level.levelId FROM Classes c")
+    List<Object[]> findAllIdAndLevelId();
     
-    // [추가] 특정 레벨(level)의 강의 중에서 랜덤 조회
-    @Query("SELECT c FROM Classes c WHERE c.level = :level ORDER BY RAND()")
-    Page<Classes> findRandomClassesByLevel(@Param("level") Level level, Pageable pageable);
+    // [추가] 메인페이지: 레벨별 최신 강의 카드 (카드용 컬럼만, COUNT 없이 Slice)
+    @Query("SELECT new com.mysite.sbb.classes.ClassesCard(c.classesId, c.title, c.classesImg, l.levelId, l.levelName, u.userName, c.classesCdate) "
+            + "FROM Classes c JOIN c.level l JOIN c.user u "
+            + "WHERE l.levelId = :levelId "
+            + "ORDER BY c.classesCdate DESC, c.classesId DESC")
+    Slice<ClassesCard> findCardsByLevel(@Param("levelId") Long levelId, Pageable pageable);
+    
+    // [추가] 메인페이지: 추천(랜덤) 강의 카드
+    @Query("SELECT new com.mysite.sbb.classes.ClassesCard(c.classesId, c.title, c.classesImg, l.levelId, l.levelName, u.userName, c.classesCdate) "
+            + "FROM Classes c JOIN c.level l JOIN c.user u "
+            + "WHERE c.classesId IN :ids")
+    List<ClassesCard> findCardsByIds(@Param("ids") Collection<Long> ids);
+    
+    // [추가] 색인 검색 결과 중 볼 수 있는 레벨(maxLevelId 이하, levelId 가 0 이 아니면 그 레벨만)의 강의 ID만
+    @Query("SELECT c.classesId FROM Classes c WHERE c.classesId IN :ids AND c.level.levelId <= :maxLevelId "
+    		+ "AND (:levelId = 0 OR c.level.levelId = :levelId)")
+    List<Long> filterSearchHits(@Param("ids") Collection<Long> ids, @Param("maxLevelId") Long maxLevelId,
+    		@Param("levelId") Long levelId);
+
+    // [추가] 검색 색인 구성용: 강의 ID, 제목만 조회 - [수정] 화면의 검색 조건이 강의명이므로 내용은 색인하지 않음
+    @Query("SELECT c.classesId, c.title FROM Classes c")
+    List<Object[]> findAllForSearchIndex();
     
     // [추가] User 객체와 Pageable을 받아서 해당 강사의 강의만 페이징
     Page<Classes> findByUser(User user, Pageable pageable);
     
-    // [추가] 강사 마이페이지용: 검색(제목, 레벨) + 정렬(수강생 많은 순)
+    // [수정] 강사 마이페이지용: 검색(제목, 레벨) + 정렬(수강생 많은 순)
+    // enrollment 조인 + GROUP BY 대신 비정규화된 enrollment_count 컬럼으로 정렬
     @Query("SELECT c FROM Classes c " +
-           "LEFT JOIN c.enrollments e " +  // 수강생 수 계산을 위해 조인
            "WHERE c.user = :instructor " + // 내 강의만 조회
            "AND (:levelId IS NULL OR c.level.levelId = :levelId) " + // 레벨 검색 (null이면 전체)
            "AND (:kw IS NULL OR LOWER(c.title) LIKE LOWER(CONCAT('%', :kw, '%'))) " + // 제목 검색
-           "GROUP BY c " + // 강의별로 그룹화
-           "ORDER BY COUNT(e) DESC, c.classesCdate DESC") // 수강생 수 내림차순, 그 다음엔 최신순
+           "ORDER BY c.enrollmentCount DESC, c.classesCdate DESC") // 수강생 수 내림차순, 그 다음엔 최신순
     Page<Classes> findByInstructorWithSortAndFilter(
             @Param("instructor") User instructor, 
             @Param("levelId") Long levelId, 
             @Param("kw") String kw, 
             Pageable pageable);
-}
\ No newline at end of file
+    
+    // [추가] 수강생 수 +1 (수강신청 시, 행 단위 원자적 증가)
+    @Modifying
+    @Query("UPDATE Classes c SET c.enrollmentCount = c.enrollmentCount + 1 WHERE c.classesId = :classesId")
+    int incrementEnrollmentCount(@Param("classesId") Long classesId);
+    
+    // [추가] 수강생 수 -1 (수강 취소 시, 0 아래로 내려가지 않게)
+    @Modifying
+    @Query("UPDATE Classes c SET c.enrollmentCount = c.enrollmentCount - 1 WHERE c.classesId = :classesId AND c.enrollmentCount > 0")
+    int decrementEnrollmentCount(@Param("classesId") Long classesId);
+    
+    // [추가] 실제 수강 인원과 다른 강의만 enrollment_count 보정 (회원 탈퇴 cascade 삭제 등으로 어긋난 값)
+    @Modifying
+    @Query(value = "UPDATE classes c SET c.enrollment_count = "
+            + "(SELECT COUNT(*) FROM enrollment e WHERE e.classes_id = c.classes_id) "
+            + "WHERE c.enrollment_count <> (SELECT COUNT(*) FROM enrollment e2 WHERE e2.classes_id = c.classes_id)", nativeQuery = true)
+    int reconcileEnrollmentCounts();
+}
\ No newline at end of file
@@ -1,17 +1,27 @@
 package com.mysite.sbb.classes;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import com.mysite.sbb.CursorPage;
 import com.mysite.sbb.DataNotFoundException;
+import com.mysite.sbb.KeysetCursor;
 import com.mysite.sbb.level.Level;
 import com.mysite.sbb.level.LevelService;
+import com.mysite.sbb.sampling.RandomSampler;
+import com.mysite.sbb.search.SearchIndexService;
 import com.mysite.sbb.user.User;
 import com.mysite.sbb.user.UserRole;
 
@@ -29,6 +39,8 @@ public class ClassesService {
 
 	private final ClassesRepository classesr;
 	private final LevelService lService;
+	private final RandomSampler sampler; // [추가] 랜덤 강의 추천용
+	private final SearchIndexService searchIndex; // [추가] 강의 검색 색인
 
 	// 강의 등록
 	public void create(ClassesForm classesForm, User user) {
@@ -38,7 +50,7 @@ public class ClassesService {
 		classes.setUser(user);
 
 		// Level 설정 추가
-		Level level = lService.getLevel(classesForm.getLevelId());
+		Level level = lService.getLevelReference(classesForm.getLevelId()); // [수정] FK 연결은 참조로
 		classes.setLevel(level);
 
 		// 강의 이미지 및 비디오 추가
@@ -46,6 +58,7 @@ public class ClassesService {
 		classes.setClassesVideo(classesForm.getClassesVideo());
 
 		classesr.save(classes);
+		searchIndex.indexClasses(classes); // [추가] 검색 색인 반영
 	}
 
 	// 전체 강의 목록 (리스트 페이지용)
@@ -111,7 +124,7 @@ public class ClassesService {
 		classes.setTitle(classesForm.getTitle());
 		classes.setClassesContent(classesForm.getClassesContent());
 
-		Level level = lService.getLevel(classesForm.getLevelId());
+		Level level = lService.getLevelReference(classesForm.getLevelId()); // [수정] FK 연결은 참조로
 		classes.setLevel(level);
 
 		// 강의 이미지 및 비디오 추가
@@ -119,6 +132,7 @@ public class ClassesService {
 		classes.setClassesVideo(classesForm.getClassesVideo());
 
 		classesr.save(classes);
+		searchIndex.indexClasses(classes); // [추가] 검색 색인 반영
 	}
 
 	// 강의 삭제
@@ -132,27 +146,113 @@ public class ClassesService {
 					"수강 중인 학생이 있어 강의를 삭제할 수 없습니다. (총 " + classes.getEnrollments().size() + "명)");
 		}
 
+		// [추가] 강의와 함께 삭제되는 질문 ID를 삭제 전에 모아둠 (검색 색인 정리용)
+		List<Long> questionIds = classes.getQuestions().stream().map(q -> q.getBoardQuesId()).toList();
+
 		classesr.delete(classes);
+		
+		// [추가] 검색 색인에서 제거
+		searchIndex.removeClasses(classesId);
+		questionIds.forEach(searchIndex::removeBoardQuestion);
 	}
 
 	// [추가]getRandomClasses 메서드 수정
-	public List<Classes> getRandomClasses(User user, int limit) {
-		Pageable pageable = PageRequest.of(0, limit);
-
+	// [수정] ORDER BY RAND() 대신 메모리의 강의 ID 풀에서 샘플링, 카드용 컬럼만 조회
+	public List<ClassesCard> getRandomClasses(User user, int limit) {
 		// 1. 로그인했고 레벨 정보가 있으면 -> 레벨별 랜덤 강의 조회
-		if (user != null && user.getLevel() != null) {
-			return classesr.findRandomClassesByLevel(user.getLevel(), pageable).getContent();
-		}
-
 		// 2. 비로그인이거나 레벨 정보가 없으면 -> 전체 랜덤 강의 조회
-		return classesr.findRandomClasses(pageable).getContent();
+		List<Long> ids = (user != null && user.getLevel() != null)
+				? sampler.sampleClassIdsByLevel(user.getLevel().getLevelId(), limit)
+				: sampler.sampleClassIds(limit);
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
+		
+		// IN 조회는 순서를 보장하지 않으므로 뽑힌 순서대로 정렬
+		Map<Long, ClassesCard> byId = new HashMap<>();
+		classesr.findCardsByIds(ids).forEach(card -> byId.put(card.classesId(), card));
+		return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+	}
+	
+	// [추가] 메인페이지에 섹션으로 보여줄 레벨 목록
+	// 수강생: 자기 레벨 이하 (레벨 정보가 없으면 초급), 강사/관리자/비로그인: 전체
+	public List<Level> getVisibleLevels(User user) {
+		List<Level> levels = lService.getAllLevel();
+		if (user == null || user.getRole() != UserRole.ROLE_LEARNER) {
+			return levels;
+		}
+		long maxLevelId = user.getLevel() != null ? user.getLevel().getLevelId() : 1L;
+		return levels.stream().filter(l -> l.getLevelId() <= maxLevelId).toList();
+	}
+	
+	// [추가] 메인페이지 레벨별 최신 강의 (page 번째 묶음, COUNT 쿼리 없음)
+	public Slice<ClassesCard> getNewestCardsByLevel(User user, Long levelId, int page, int size) {
+		Pageable pageable = PageRequest.of(page, size);
+		boolean visible = getVisibleLevels(user).stream().anyMatch(l -> l.getLevelId().equals(levelId));
+		if (!visible) {
+			return new SliceImpl<>(new ArrayList<>(), pageable, false); // 볼 수 없는 레벨
+		}
+		return classesr.findCardsByLevel(levelId, pageable);
 	}
 
 	//  페이징 및 검색 기능이 통합된 강의 목록 조회
     public Page<Classes> getList(User user, String searchType, String kw, Long levelId, Pageable pageable) {
+    	// [추가] 검색어가 있으면 역색인 검색 (색인 구성 전에는 기존 LIKE 검색)
+    	if (kw != null && !kw.trim().isEmpty() && searchIndex.isReady()) {
+    		return searchList(user, searchType, kw, levelId, pageable);
+    	}
     	Specification<Classes> spec = getSpec(searchType, kw, levelId, user);
     	return classesr.findAll(spec, pageable);
     }
+    
+    // [추가] 역색인에서 찾은 강의에 레벨 조건만 DB에서 적용
+    // [수정] 결과가 MAX_HITS 를 넘으면 잘린 결과 대신 기존 LIKE 검색, 레벨 조건은 ID만 조회해서 적용 후 현재 페이지만 로딩
+    private Page<Classes> searchList(User user, String searchType, String kw, Long levelId, Pageable pageable) {
+    	if ("instructor".equals(searchType)) {
+    		// 강사명: 강사 이름 색인에서 찾은 강사의 강의 (정렬은 기존 목록과 동일)
+    		List<Long> unos = searchIndex.searchInstructorNames(kw);
+    		if (SearchIndexService.isTruncated(unos)) {
+    			return classesr.findAll(getSpec(searchType, kw, levelId, user), pageable);
+    		}
+    		if (unos.isEmpty()) {
+    			return Page.empty(pageable);
+    		}
+    		Specification<Classes> filter = getSpec(searchType, null, levelId, user); // 검색어 없이 레벨 조건만
+    		return classesr.findAll(filter.and((root, query, cb) -> root.get("user").get("uno").in(unos)), pageable);
+    	}
+    	
+    	// [수정] 강의명: 제목 색인에서 검색 점수 순 (LIKE 검색과 같이 제목만)
+    	List<Long> ids = searchIndex.searchClassTitles(kw);
+    	if (SearchIndexService.isTruncated(ids)) {
+    		return classesr.findAll(getSpec(searchType, kw, levelId, user), pageable);
+    	}
+    	if (ids.isEmpty()) {
+    		return Page.empty(pageable);
+    	}
+    	List<Long> visibleIds = classesr.filterSearchHits(ids, maxVisibleLevelId(user), levelId == null ? 0L : levelId);
+    	return SearchIndexService.toPage(ids, visibleIds, pageable, classesr::findAllById, Classes::getClassesId);
+    }
+
+    // 볼 수 있는 최대 레벨 ID (수강생: 자기 레벨, 비로그인: 3, 강사/관리자: 제한 없음)
+    private Long maxVisibleLevelId(User user) {
+    	if (user == null || user.getRole() == UserRole.ROLE_LEARNER) {
+    		return (user != null && user.getLevel() != null) ? user.getLevel().getLevelId() : 3L;
+    	}
+    	return Long.MAX_VALUE;
+    }
+
+    // [추가] keyset(커서) 방식 강의 목록 - (등록일, 강의번호) 기준, COUNT 쿼리 없음
+    // [수정] 검색어가 있어도 DB 조건 + keyset 으로 끝까지 넘길 수 있도록 (색인 결과는 최대 MAX_HITS 개라 사용하지 않음)
+    public CursorPage<Classes> getListByCursor(User user, String searchType, String kw, Long levelId,
+    		KeysetCursor cursor, int size) {
+    	Specification<Classes> spec = getSpec(searchType, kw, levelId, user);
+    	if (cursor != null) {
+    		spec = spec.and(cursor.toSpec("classesCdate", "classesId"));
+    	}
+    	Sort sort = KeysetCursor.sort(cursor, "classesCdate", "classesId");
+    	List<Classes> rows = classesr.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all());
+    	return CursorPage.of(rows, size, cursor, Classes::getClassesCdate, Classes::getClassesId);
+    }
 
     //  Specification 헬퍼 메서드 (검색 및 필터링)
     private Specification<Classes> getSpec(String searchType, String kw,Long levelId, User user) {
@@ -203,4 +303,4 @@ public class ClassesService {
 			}
 		};
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -9,6 +9,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -22,6 +23,9 @@ import lombok.Setter;
 @Table(name = "enrollment",
 	    uniqueConstraints = {
 	        @UniqueConstraint(columnNames = {"classes_id", "uno"})
+	    },
+	    indexes = {
+	        @Index(name = "idx_enrollment_user_completed_cdate_id", columnList = "uno, is_completed, enrollment_cdate, enrollment_id") // 내 강의실 커서(keyset) 페이징
 	    }
 	)
 public class Enrollment {
@@ -51,4 +55,4 @@ public class Enrollment {
 	@Column(name = "enrollment_cdate", updatable = false)
 	private LocalDateTime enrollmentDate; // 신청일
 
-}
\ No newline at end of file
+}
\ No newline at end of file
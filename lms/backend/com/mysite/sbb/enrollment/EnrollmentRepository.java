@@ -6,6 +6,7 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,7 +15,7 @@ import com.mysite.sbb.level.Level;
 import com.mysite.sbb.user.User;
 
 
-public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>{
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>, JpaSpecificationExecutor<Enrollment>{
 
 	// [수정] 사용자 기준으로 신청 목록 찾기 (페이징)
 	Page<Enrollment> findByUser(User user, Pageable pageable);
@@ -37,6 +38,10 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>{
     // 중복 수강신청 방지용 (회원 + 강의 조합)
     boolean existsByUser_UnoAndClasses_ClassesId(Long uno, Long classesId);
     
+    // [추가] 회원의 수강 강의 ID + 수료 여부만 조회 (EnrollmentStatusCache 적재용)
+    @Query("SELECT e.classes.classesId, e.completed FROM Enrollment e WHERE e.user.uno = :uno")
+    List<Object[]> findStatusByUno(@Param("uno") Long uno);
+    
     // 사용자와 강의 객체로 수강 정보 조회 (수강 완료 처리를 위함)
     Optional<Enrollment> findByUserAndClasses(User user, Classes classes);
     
@@ -68,4 +73,4 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>{
             + "and (lower(e.user.userName) like lower(concat('%', :kw, '%')) "
             + "or lower(e.user.userId) like lower(concat('%', :kw, '%')))")
     Page<Enrollment> findByClassesIdAndKeyword(@Param("classesId") Long classesId, @Param("kw") String kw, Pageable pageable);
-}
\ No newline at end of file
+}
\ No newline at end of file
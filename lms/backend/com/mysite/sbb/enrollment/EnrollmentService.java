@@ -6,13 +6,18 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.mysite.sbb.CursorPage;
 import com.mysite.sbb.DataNotFoundException;
+import com.mysite.sbb.KeysetCursor;
 import com.mysite.sbb.classes.Classes;
 import com.mysite.sbb.classes.ClassesRepository;
 import com.mysite.sbb.level.Level;
@@ -26,8 +31,12 @@ public class EnrollmentService {
 
 	private final EnrollmentRepository enrollmentr;
 	private final ClassesRepository classesr;
+	private final ProgressWriteBuffer progressBuffer; // 실시간 진도율 쓰기 지연 버퍼
+	private final EnrollmentStatusCache statusCache; // 회원별 수강/수료 상태 캐시
+	private final ApplicationEventPublisher eventPublisher; // [추가] 학습 현황 캐시 갱신 이벤트 발행용
 
 	// 로그인한 회원의 수강신청
+	@Transactional // 수강신청 저장 + 강의 수강생 수 증가를 한 트랜잭션으로
 	public void enroll(Long classesId, User currentUser) {
 
 		// 강의 유효성 검증
@@ -50,6 +59,8 @@ public class EnrollmentService {
 		enrollment.setClasses(classes);
 		enrollment.setUser(currentUser);
 		enrollmentr.save(enrollment);
+		classesr.incrementEnrollmentCount(classesId);
+		statusCache.onEnrolled(currentUser.getUno(), classesId);
 	}
 
 	// 특정 회원의 수강 목록 (내 강의실)
@@ -68,6 +79,21 @@ public class EnrollmentService {
 		}
 	}
 
+	// [추가] 현재 로그인 사용자의 수강 목록 (keyset 커서 방식, COUNT 쿼리 없음)
+	// (신청일, 수강번호) 기준 최신순
+	public CursorPage<Enrollment> findClassesByUser(User currentUser, String status, KeysetCursor cursor, int size) {
+		boolean completed = "completed".equals(status);
+		Specification<Enrollment> spec = (root, query, cb) -> cb.and(
+				cb.equal(root.get("user"), currentUser),
+				cb.equal(root.get("completed"), completed));
+		if (cursor != null) {
+			spec = spec.and(cursor.toSpec("enrollmentDate", "enrollmentId"));
+		}
+		Sort sort = KeysetCursor.sort(cursor, "enrollmentDate", "enrollmentId");
+		List<Enrollment> rows = enrollmentr.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all());
+		return CursorPage.of(rows, size, cursor, Enrollment::getEnrollmentDate, Enrollment::getEnrollmentId);
+	}
+
 	// [추가] 현재 로그인 사용자의 모든 수강 목록 (페이징, 질문 등록/수정 시 사용)
 	public Page<Enrollment> findAllClassesByUser(User currentUser, Pageable pageable) {
 		return enrollmentr.findByUser(currentUser, pageable); // Repository의 findByUser 호출
@@ -130,6 +156,8 @@ public class EnrollmentService {
 		enrollment.setProgress(progress);
 		enrollment.setCompleted(completed);
 		// @Transactional 덕분에 save() 불필요 (자동 flush)
+		statusCache.onCompletionChanged(enrollment.getUser().getUno(), enrollment.getClasses().getClassesId(), completed);
+		eventPublisher.publishEvent(new LearnerProgressChangedEvent(enrollment.getUser().getUno()));
 	}
 
 	// 사용자의 수강완료 버튼 처리 메서드
@@ -147,15 +175,22 @@ public class EnrollmentService {
 			enrollment.setCompleted(true);
 			enrollment.setProgress(100);
 			enrollmentr.save(enrollment);
+			eventPublisher.publishEvent(new LearnerProgressChangedEvent(user.getUno()));
 		}
+		statusCache.onCompletionChanged(user.getUno(), classesId, true);
 	}
 
 	// 수강 취소
+	@Transactional // 수강 내역 삭제 + 강의 수강생 수 감소를 한 트랜잭션으로
 	public void delete(Long enrollmentId) {
-		if (!enrollmentr.existsById(enrollmentId)) {
-			throw new DataNotFoundException("삭제하려는 수강 정보가 존재하지 않습니다.");
+		Enrollment enrollment = enrollmentr.findById(enrollmentId)
+				.orElseThrow(() -> new DataNotFoundException("삭제하려는 수강 정보가 존재하지 않습니다."));
+		enrollmentr.delete(enrollment);
+		classesr.decrementEnrollmentCount(enrollment.getClasses().getClassesId());
+		statusCache.onCancelled(enrollment.getUser().getUno(), enrollment.getClasses().getClassesId());
+		if (enrollment.isCompleted()) { // 수료한 강의를 취소하면 수료 강의 수가 줄어듦
+			eventPublisher.publishEvent(new LearnerProgressChangedEvent(enrollment.getUser().getUno()));
 		}
-		enrollmentr.deleteById(enrollmentId);
 	}
 
 	// 특정 강사의 수강생 목록(수강 내역) 조회 ---
@@ -185,6 +220,23 @@ public class EnrollmentService {
 		return enrollmentr.findByUserAndClasses(user, classes);
 	}
 
+	// [추가] 수강 상태 조회 (캐시 사용, "ENROLLED" / "COMPLETED" / 수강 안 했으면 null)
+	public String getEnrollmentStatus(User user, Long classesId) {
+		if (user == null) {
+			return null;
+		}
+		return statusCache.getStatus(user.getUno(), classesId);
+	}
+
+	// [추가] 강의 목록(한 페이지)의 수강 상태 Map<ClassesId, 상태> (캐시 사용)
+	public Map<Long, String> getEnrollmentStatusMap(User user, List<Classes> classes) {
+		if (user == null || classes == null || classes.isEmpty()) {
+			return new HashMap<>();
+		}
+		List<Long> classesIds = classes.stream().map(Classes::getClassesId).collect(Collectors.toList());
+		return statusCache.getStatusMap(user.getUno(), classesIds);
+	}
+
 	// 특정 레벨에서 완료한 강의 수
 	public long getCompletedCountByLevel(User user, Level level) {
 		if (user == null || level == null) {
@@ -194,56 +246,44 @@ public class EnrollmentService {
 	}
 	
 	// (상세 페이지용) 특정 강의의 총 수강신청 인원 수 반환
-	public long getEnrollmentCount(Long classesId) {
-		return enrollmentr.countByClasses_ClassesId(classesId);
+	// [수정] COUNT 쿼리 대신 classes.enrollment_count 컬럼 사용
+	public long getEnrollmentCount(Classes classes) {
+		return classes.getEnrollmentCount();
 	}
 	
 	// (목록 페이지용) 강의 목록(List)을 받아, 각 강의의 인원수를 Map<ClassesId, Count>로 반환
+	// [수정] GROUP BY 집계 대신 이미 조회된 강의의 enrollment_count 값을 그대로 사용 (추가 쿼리 없음)
 	public Map<Long, Long> getEnrollmentCountsForClasses(List<Classes> classes) {
 		// 강의 목록이 비어있으면, 빈 Map 반환
 		if (classes == null || classes.isEmpty()) {
 			return new HashMap<>();
 		}
 		
-		// Repository에서 목록을 받아옴
-		List<Object[]> results = enrollmentr.countEnrollmentsByClasses(classes);
-		
-		// List를 Map으로 변환하여 반환
-		return results.stream()
+		return classes.stream()
 				.collect(Collectors.toMap(
-						row -> (Long) row[0],
-						row -> (Long) row[1]
+						Classes::getClassesId,
+						c -> (long) c.getEnrollmentCount(),
+						(count1, count2) -> count1
 				));
 	}
-	// [추가] 20초 기준 실시간 진도율 업데이트
-    @Transactional
+	// [수정] 20초 기준 실시간 진도율 업데이트
+	// 1초마다 들어오는 heartbeat 를 바로 DB에 쓰지 않고 ProgressWriteBuffer 에 모았다가 주기적으로 batch UPDATE
+	// (진도율 계산, 100% 제한, 진도율 하락 방지, 20초 이상 수료 처리는 flush 시점에 동일하게 적용됨)
     public void updateRealtimeProgressFixed(User user, Long classesId, int watchedSeconds) {
-        Classes classes = classesr.findById(classesId)
-                .orElseThrow(() -> new DataNotFoundException("강의 없음"));
-        
-        Enrollment enrollment = enrollmentr.findByUserAndClasses(user, classes)
-                .orElseThrow(() -> new DataNotFoundException("수강 내역 없음"));
-
-        // 1. 기준 시간: 20초 (고정)
-        int targetSeconds = 20; 
-
-        // 2. 진도율 계산 ( (본 시간 / 20초) * 100 )
-        int calculatedProgress = (int) ((double) watchedSeconds / targetSeconds * 100);
-
-        // 3. 최대 100% 제한
-        if (calculatedProgress > 100) calculatedProgress = 100;
-
-        // 4. 기존 진도율보다 높을 때만 업데이트 (진도율 하락 방지)
-        if (calculatedProgress > enrollment.getProgress()) {
-            enrollment.setProgress(calculatedProgress);
+        if (user == null || user.getUno() == null) {
+            throw new IllegalArgumentException("로그인 정보가 유효하지 않습니다.");
         }
-
-        // 5. 20초 이상(100%)이면 '수료' 처리
-        if (watchedSeconds >= targetSeconds && !enrollment.isCompleted()) {
-            enrollment.setCompleted(true);
-            // enrollment.setEnrollmentDate(LocalDateTime.now()); // 필요 시 수료일 업데이트
+        // 버퍼에 넣기 전에 수강 여부 확인 (수강 내역이 있으면 강의도 있음) - 수강 상태 캐시라 DB 조회 없음
+        String status = classesId == null ? null : statusCache.getStatus(user.getUno(), classesId);
+        if (status == null) {
+            throw new DataNotFoundException("수강 내역 없음");
+        }
+        // [수정] 이미 수료한 강의는 캐시를 건드리지 않음 (수료 후에도 계속 오는 heartbeat 마다 갱신하지 않도록)
+        boolean completes = watchedSeconds >= ProgressWriteBuffer.TARGET_SECONDS
+                && !EnrollmentStatusCache.COMPLETED.equals(status);
+        progressBuffer.record(user.getUno(), classesId, watchedSeconds, completes); // 수료 알림은 처음 수료될 때만
+        if (completes) {
+            statusCache.onWatchedToCompletion(user.getUno(), classesId);
         }
-        
-        enrollmentr.save(enrollment);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,213 @@
+package com.mysite.sbb.enrollment;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+// 회원별 수강 상태 캐시 (수강중 / 수료 강의 ID 비트맵)
+// - 강의 목록, 상세, 시청 페이지에서 "수강중? 수료?" 확인할 때마다 enrollment 를 조회하지 않도록
+//   회원별로 수강 강의 ID 집합과 수료 강의 ID 집합을 BitSet 한 쌍으로 보관
+// - 캐시에 없는 회원만 (강의ID, 수료여부) 두 컬럼을 한 번 조회해서 채움
+// - 최대 회원 수를 넘으면 가장 오래 안 쓴 회원부터 제거 (LRU)
+// - EnrollmentService 의 수강신청 / 수료 / 취소 / 진도율 갱신에서 함께 갱신
+//   (트랜잭션 안이면 커밋 후에 반영, 조회 중이던 요청이 이전 값을 올리지 않도록 generation 확인)
+// - [수정] generation 은 회원별 (uno 해시로 나눈 칸) - 한 회원의 변경이 다른 회원의 캐시 채우기를 막지 않도록
+@RequiredArgsConstructor
+@Component
+public class EnrollmentStatusCache {
+
+	public static final String ENROLLED = "ENROLLED";
+	public static final String COMPLETED = "COMPLETED";
+
+	private final EnrollmentRepository enrollmentr;
+
+	@Value("${lms.enrollment-cache.max-users:10000}")
+	private int maxUsers;
+
+	// 변경마다 해당 회원 칸만 증가 - DB 에서 읽는 사이 변경된 회원을 캐시에 올리지 않도록
+	// (회원 수만큼 만들지 않고 고정 크기 배열, 같은 칸을 쓰는 회원끼리는 가끔 한 번 더 조회할 뿐)
+	private static final int GENERATION_SLOTS = 1024;
+	private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+
+	// access-order LinkedHashMap -> LRU (접근은 모두 synchronized(cache) 안에서)
+	private final LinkedHashMap<Long, UserEnrollmentBits> cache = new LinkedHashMap<>(256, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, UserEnrollmentBits> eldest) {
+			return size() > maxUsers;
+		}
+	};
+
+	// 특정 강의의 수강 상태 ("ENROLLED", "COMPLETED", 수강 안 했으면 null)
+	public String getStatus(Long uno, Long classesId) {
+		if (uno == null || classesId == null) {
+			return null;
+		}
+		return load(uno).statusOf(classesId);
+	}
+
+	// 강의 목록 한 페이지 분량의 수강 상태 Map<classesId, 상태> (수강 안 한 강의는 포함하지 않음)
+	public Map<Long, String> getStatusMap(Long uno, Collection<Long> classesIds) {
+		Map<Long, String> result = new HashMap<>();
+		if (uno == null || classesIds == null || classesIds.isEmpty()) {
+			return result;
+		}
+		UserEnrollmentBits bits = load(uno);
+		for (Long classesId : classesIds) {
+			String status = bits.statusOf(classesId);
+			if (status != null) {
+				result.put(classesId, status);
+			}
+		}
+		return result;
+	}
+
+	// 수강신청
+	public void onEnrolled(Long uno, Long classesId) {
+		update(uno, bits -> bits.with(classesId, true, false));
+	}
+
+	// 수료 여부 변경 (수료 처리, 관리자 진도율 수정 등)
+	public void onCompletionChanged(Long uno, Long classesId, boolean completed) {
+		update(uno, bits -> bits.with(classesId, true, completed));
+	}
+
+	// 실시간 진도율로 수료된 경우 (수강중인 강의일 때만 반영)
+	public void onWatchedToCompletion(Long uno, Long classesId) {
+		update(uno, bits -> bits.statusOf(classesId) == null ? bits : bits.with(classesId, true, true));
+	}
+
+	// 수강 취소
+	public void onCancelled(Long uno, Long classesId) {
+		update(uno, bits -> bits.with(classesId, false, false));
+	}
+
+	// 회원 탈퇴 등으로 통째로 지울 때
+	public void evict(Long uno) {
+		if (uno == null) {
+			return;
+		}
+		afterCommit(uno, () -> {
+			synchronized (cache) {
+				bumpGeneration(uno);
+				cache.remove(uno);
+			}
+		});
+	}
+
+	private UserEnrollmentBits load(Long uno) {
+		synchronized (cache) {
+			UserEnrollmentBits cached = cache.get(uno);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		// DB 조회는 락 밖에서 (Enrollment 엔티티 대신 필요한 두 컬럼만)
+		long loadedGeneration = generations.get(slot(uno));
+		BitSet enrolled = new BitSet();
+		BitSet completed = new BitSet();
+		List<Object[]> rows = enrollmentr.findStatusByUno(uno);
+		for (Object[] row : rows) {
+			int classesId = Math.toIntExact((Long) row[0]);
+			enrolled.set(classesId);
+			if (Boolean.TRUE.equals(row[1])) {
+				completed.set(classesId);
+			}
+		}
+		UserEnrollmentBits loaded = new UserEnrollmentBits(enrolled, completed);
+
+		synchronized (cache) {
+			// 조회하는 사이 수강 상태가 바뀌었으면 이번 값은 캐시에 올리지 않음 (다음 조회 때 다시 읽음)
+			if (generations.get(slot(uno)) != loadedGeneration) {
+				return loaded;
+			}
+			// 조회하는 사이 다른 요청이 먼저 채웠다면 그쪽 값을 사용
+			UserEnrollmentBits existing = cache.putIfAbsent(uno, loaded);
+			return existing != null ? existing : loaded;
+		}
+	}
+
+	// 캐시에 올라와 있는 회원은 바로 갱신, 없는 회원도 generation 을 올려 조회 중이던 이전 값이 올라가지 않게 함
+	private void update(Long uno, UnaryOperator<UserEnrollmentBits> change) {
+		if (uno == null) {
+			return;
+		}
+		afterCommit(uno, () -> {
+			synchronized (cache) {
+				bumpGeneration(uno);
+				UserEnrollmentBits bits = cache.get(uno);
+				if (bits != null) {
+					cache.put(uno, change.apply(bits));
+				}
+			}
+		});
+	}
+
+	// 트랜잭션 안이면 커밋 후에 (롤백되면 반영 안 함), 아니면 바로 실행
+	private void afterCommit(Long uno, Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		bumpGeneration(uno); // 커밋 전까지 조회된 값도 캐시에 올리지 않음
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	private void bumpGeneration(Long uno) {
+		generations.incrementAndGet(slot(uno));
+	}
+
+	private static int slot(Long uno) {
+		return Long.hashCode(uno) & (GENERATION_SLOTS - 1);
+	}
+
+	// 읽기 쪽에서 락 없이 쓸 수 있도록 변경 시 복사본을 만드는 불변 객체
+	static final class UserEnrollmentBits {
+		private final BitSet enrolled;
+		private final BitSet completed;
+
+		UserEnrollmentBits(BitSet enrolled, BitSet completed) {
+			this.enrolled = enrolled;
+			this.completed = completed;
+		}
+
+		String statusOf(Long classesId) {
+			if (classesId == null || classesId > Integer.MAX_VALUE) {
+				return null;
+			}
+			int index = classesId.intValue();
+			if (!enrolled.get(index)) {
+				return null;
+			}
+			return completed.get(index) ? COMPLETED : ENROLLED;
+		}
+
+		UserEnrollmentBits with(Long classesId, boolean isEnrolled, boolean isCompleted) {
+			int index = Math.toIntExact(classesId);
+			BitSet newEnrolled = (BitSet) enrolled.clone();
+			BitSet newCompleted = (BitSet) completed.clone();
+			newEnrolled.set(index, isEnrolled);
+			newCompleted.set(index, isEnrolled && isCompleted);
+			return new UserEnrollmentBits(newEnrolled, newCompleted);
+		}
+	}
+}
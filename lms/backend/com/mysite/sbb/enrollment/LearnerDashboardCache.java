@@ -0,0 +1,124 @@
+package com.mysite.sbb.enrollment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mysite.sbb.level.Level;
+import com.mysite.sbb.reference.QuizRef;
+import com.mysite.sbb.reference.ReferenceDataRegistry;
+import com.mysite.sbb.user.User;
+
+import lombok.RequiredArgsConstructor;
+
+// 회원별 학습 현황 스냅샷 캐시 (MainController, ClassesController 공용)
+// - 현재 레벨 수료 강의 수 / 진행률 / 승급 테스트 응시 가능 여부 / 승급 테스트 퀴즈 ID 를 한 번 계산해서 보관
+// - 페이지를 열 때마다 COUNT + 퀴즈 조회를 하지 않도록, 수료 상태나 레벨이 바뀔 때만 지움 (LearnerProgressChangedEvent)
+// - 캐시된 스냅샷의 레벨과 회원의 현재 레벨이 다르면 이벤트가 없더라도 다시 계산
+// - 최대 회원 수를 넘으면 가장 오래 안 쓴 회원부터 제거 (LRU)
+// - 계산하는 사이 evict 된 회원의 스냅샷은 캐시에 올리지 않음 (generation 확인)
+//   [수정] generation 은 회원별 (uno 해시로 나눈 칸) - 한 회원의 evict 가 다른 회원의 캐시 채우기를 막지 않도록
+@RequiredArgsConstructor
+@Component
+public class LearnerDashboardCache {
+
+	private final EnrollmentRepository enrollmentr;
+	private final ReferenceDataRegistry registry; // 승급 테스트 퀴즈는 메모리 레지스트리에서 조회
+
+	@Value("${lms.dashboard-cache.max-users:10000}")
+	private int maxUsers;
+
+	// evict 마다 해당 회원 칸만 증가 - 계산 도중 변경된 회원의 이전 스냅샷을 캐시에 다시 올리지 않도록
+	// (회원 수만큼 만들지 않고 고정 크기 배열, 같은 칸을 쓰는 회원끼리는 가끔 한 번 더 계산할 뿐)
+	private static final int GENERATION_SLOTS = 1024;
+	private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+
+	// access-order LinkedHashMap -> LRU (접근은 모두 synchronized(cache) 안에서)
+	private final LinkedHashMap<Long, LearnerDashboard> cache = new LinkedHashMap<>(256, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, LearnerDashboard> eldest) {
+			return size() > maxUsers;
+		}
+	};
+
+	// 현재 회원의 학습 현황 (비로그인이면 빈 값)
+	public LearnerDashboard get(User user) {
+		if (user == null || user.getUno() == null) {
+			return LearnerDashboard.empty();
+		}
+		Long levelId = user.getLevel() != null ? user.getLevel().getLevelId() : null;
+
+		synchronized (cache) {
+			LearnerDashboard cached = cache.get(user.getUno());
+			if (cached != null && Objects.equals(cached.levelId(), levelId)) {
+				return cached;
+			}
+		}
+
+		// DB 조회는 락 밖에서
+		long loadedGeneration = generations.get(slot(user.getUno()));
+		LearnerDashboard computed = compute(user);
+		synchronized (cache) {
+			if (generations.get(slot(user.getUno())) == loadedGeneration) {
+				cache.put(user.getUno(), computed);
+			}
+		}
+		return computed;
+	}
+
+	// 트랜잭션이 커밋된 뒤에 지움 (커밋 전에 지우면 다른 요청이 옛 값을 다시 캐시할 수 있음)
+	// - 트랜잭션 밖에서 발행된 경우(진도율 버퍼 flush)는 바로 지움
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProgressChanged(LearnerProgressChangedEvent event) {
+		evict(event.uno());
+	}
+
+	// 회원 탈퇴 등으로 통째로 지울 때
+	public void evict(Long uno) {
+		if (uno == null) {
+			return;
+		}
+		synchronized (cache) {
+			generations.incrementAndGet(slot(uno));
+			cache.remove(uno);
+		}
+	}
+
+	private static int slot(Long uno) {
+		return Long.hashCode(uno) & (GENERATION_SLOTS - 1);
+	}
+
+	private LearnerDashboard compute(User user) {
+		Level level = user.getLevel();
+		if (level == null) {
+			return LearnerDashboard.empty();
+		}
+
+		long totalCount = LearnerDashboard.PROMOTION_REQUIRED_COUNT;
+		long completedCount = enrollmentr.countByUserAndClasses_LevelAndCompletedTrue(user, level);
+		double progressPercent = Math.min((double) completedCount / totalCount * 100, 100.0); // 10개가 넘어도 100%
+
+		// 현재 레벨의 승급 테스트 (초급, 중급만 있음 / 고급은 승급 테스트 없음)
+		boolean promotionTestEligible = false;
+		Long promotionTestQuizId = null;
+		if (completedCount >= totalCount && registry.getNextLevel(level.getLevelId()) != null) {
+			QuizRef promotionQuiz = registry.findPromotionQuiz(level.getLevelId()).orElse(null);
+			if (promotionQuiz != null) {
+				promotionTestEligible = true;
+				promotionTestQuizId = promotionQuiz.quizId();
+			} else {
+				System.err.println("레벨 " + level.getLevelId() + " 의 승급 테스트 퀴즈를 찾을 수 없습니다.");
+			}
+		}
+
+		return new LearnerDashboard(level.getLevelId(), completedCount, totalCount, progressPercent,
+				promotionTestEligible, promotionTestQuizId);
+	}
+}
@@ -1,7 +1,10 @@
 package com.mysite.sbb.level;
 
 import jakarta.persistence.Column;
+import com.mysite.sbb.reference.ReferenceDataListener;
+
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -12,6 +15,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+@EntityListeners(ReferenceDataListener.class) // 레벨 기준 정보 레지스트리 갱신
 @Table(name="level")
 public class Level {
 	
@@ -23,4 +27,8 @@ public class Level {
 	@Column(name="level_name", length = 20, nullable = false, unique = true)
 	private String levelName; // 초급 / 중급 / 고급
 	
+	// [추가] 승급 순서 (작을수록 낮은 단계, 다음 승급 레벨은 이 순서로 결정)
+	@Column(name="level_order")
+	private Integer levelOrder;
+	
 }
@@ -0,0 +1,319 @@
+package com.mysite.sbb.live;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.mysite.sbb.DataNotFoundException;
+import com.mysite.sbb.quiz.Quiz;
+import com.mysite.sbb.quiz_answer.GradedAnswer;
+import com.mysite.sbb.quiz_answer.PackedAnswers;
+import com.mysite.sbb.quiz_attempt.AttemptStatus;
+import com.mysite.sbb.quiz_question.AnswerKey;
+import com.mysite.sbb.quiz_question.AnswerKeyCache;
+import com.mysite.sbb.quiz_question.ItemStatsAccumulator;
+import com.mysite.sbb.quiz_question.QuizQuestion;
+import com.mysite.sbb.reference.ReferenceDataRegistry;
+import com.mysite.sbb.sampling.RandomSampler;
+import com.mysite.sbb.user.User;
+import com.mysite.sbb.user.UserRole;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+
+// 라이브 퀴즈 (강사 진행, 수강생 동시 참여)
+// - 기존 Quiz / QuizQuestion 에서 문제를 뽑아 세션을 만들고, 강사가 문제를 넘기면 SSE 로 참가자 전원에게 전송
+// - 답안은 LiveSession 의 원자적 카운터에 바로 반영하고, 보기별 분포 + 상위 순위는 tick 마다 변경된 세션만 브로드캐스트
+// - 종료 시 참가자별 결과를 QuizAttempt(압축 답안, 채점 완료) 로 INSERT batch 한 번에 저장
+// - 라이브 결과는 연습용이라 레벨 / 승급에는 반영하지 않음 (live_code 로 구분, 레벨 테스트는 라이브로 진행할 수 없음)
+@RequiredArgsConstructor
+@Service
+public class LiveQuizService {
+
+	static final int QUESTION_COUNT = 20;
+	static final int LEADERBOARD_SIZE = 10;
+
+	private static final String INSERT_SQL = "INSERT INTO quiz_attempt "
+			+ "(quiz_id, uno, score, attempted_cdate, status, packed_answers, live_code) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	private final RandomSampler sampler;
+	private final AnswerKeyCache answerKeys;
+	private final JdbcTemplate jdbcTemplate;
+	private final ItemStatsAccumulator itemStats;
+
+	@Value("${lms.live.emitter-timeout-ms:3600000}")
+	private long emitterTimeoutMillis;
+
+	@Value("${lms.live.idle-timeout-ms:7200000}")
+	private long idleTimeoutMillis;
+
+	// [추가] SSE 전송 전용 스레드 (느린 참가자 연결이 공용 스케줄러 스레드 / 요청 스레드를 붙잡지 않도록)
+	// - 한 스레드에서 순서대로 보내므로 같은 세션의 state / stats 이벤트 순서가 뒤바뀌지 않음
+	private final ExecutorService broadcaster = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "live-broadcast");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Map<String, LiveSession> sessions = new ConcurrentHashMap<>();
+
+	// 세션 생성 (강사)
+	// [수정] 레벨 / 승급 테스트는 회원 레벨이 걸린 시험이라 문제가 공개되지 않도록 라이브 불가
+	// - 연습 퀴즈만, 강사는 자기가 만든 퀴즈만 (관리자는 모든 연습 퀴즈)
+	public LiveSession create(Quiz quiz, User host) {
+		if (!ReferenceDataRegistry.PRACTICE.equalsIgnoreCase(quiz.getQuizType())) {
+			throw new IllegalStateException("레벨 테스트 / 승급 테스트는 라이브로 진행할 수 없습니다. (연습 퀴즈만 가능)");
+		}
+		if (host.getRole() != UserRole.ROLE_ADMIN && !host.getUno().equals(quiz.getOwnerUno())) {
+			throw new IllegalStateException("본인이 만든 퀴즈만 라이브로 진행할 수 있습니다.");
+		}
+		AnswerKey answerKey = answerKeys.get(quiz.getQuizId());
+		List<LiveSession.LiveQuestion> questions = new ArrayList<>();
+		for (QuizQuestion q : sampler.questionsForSeed(quiz.getQuizId(), ThreadLocalRandom.current().nextLong(),
+				QUESTION_COUNT)) {
+			List<String> options = List.of(nullToEmpty(q.getOption1()), nullToEmpty(q.getOption2()),
+					nullToEmpty(q.getOption3()), nullToEmpty(q.getOption4()));
+			int correctChoice = 0; // 정답이 보기에 없는 문제는 0 (누구도 맞힐 수 없음)
+			for (int k = 1; k <= 4 && correctChoice == 0; k++) {
+				if (answerKey.isCorrectChoice(q.getQuestionId(), k)) {
+					correctChoice = k;
+				}
+			}
+			questions.add(new LiveSession.LiveQuestion(q.getQuestionId(), q.getQuizContent(), options,
+					answerKey.scoreOf(q.getQuestionId()), correctChoice));
+		}
+		if (questions.isEmpty()) {
+			throw new IllegalStateException("이 퀴즈에 등록된 문제가 없습니다.");
+		}
+
+		String code;
+		LiveSession session;
+		do {
+			code = String.valueOf(ThreadLocalRandom.current().nextInt(100000, 1000000)); // 6자리 참가 코드
+			session = new LiveSession(code, quiz.getQuizId(), quiz.getQuizTitle(), host.getUno(), questions);
+		} while (sessions.putIfAbsent(code, session) != null);
+		return session;
+	}
+
+	public LiveSession getSession(String code) {
+		LiveSession session = sessions.get(code);
+		if (session == null) {
+			throw new DataNotFoundException("라이브 퀴즈를 찾을 수 없습니다. 코드: " + code);
+		}
+		return session;
+	}
+
+	// 진행자 확인
+	public LiveSession getHostedSession(String code, User user) {
+		LiveSession session = getSession(code);
+		if (!session.getHostUno().equals(user.getUno())) {
+			throw new SecurityException("이 라이브 퀴즈의 진행자가 아닙니다.");
+		}
+		return session;
+	}
+
+	// 참가 (수강생) - 참가자로 등록하고 이벤트 스트림 연결
+	public SseEmitter join(LiveSession session, User user) {
+		if (!session.getHostUno().equals(user.getUno())) {
+			session.join(user.getUno(), user.getUserName());
+		}
+		SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+		emitter.onCompletion(() -> session.getEmitters().remove(emitter));
+		emitter.onTimeout(() -> session.getEmitters().remove(emitter));
+		emitter.onError(e -> session.getEmitters().remove(emitter));
+		session.getEmitters().add(emitter);
+
+		// 중간에 들어온 참가자에게 현재 상태 전송
+		send(session, emitter, "state", statePayload(session));
+		return emitter;
+	}
+
+	// 답안 제출 (수강생)
+	public boolean answer(LiveSession session, User user, int choice) {
+		return session.answer(user.getUno(), choice);
+	}
+
+	// 다음 문제 (진행자)
+	public void next(LiveSession session) {
+		synchronized (session) {
+			int nextIndex = session.getRound().index() + 1;
+			if (session.getPhase() == LiveSession.Phase.FINISHED || nextIndex >= session.getQuestions().size()) {
+				throw new IllegalStateException("더 이상 진행할 문제가 없습니다.");
+			}
+			session.open(nextIndex);
+		}
+		broadcast(session, "state", statePayload(session));
+	}
+
+	// 정답 공개 + 답안 마감 (진행자)
+	public void reveal(LiveSession session) {
+		synchronized (session) {
+			if (session.getPhase() != LiveSession.Phase.QUESTION) {
+				throw new IllegalStateException("진행 중인 문제가 없습니다.");
+			}
+			session.close();
+		}
+		broadcast(session, "state", statePayload(session));
+	}
+
+	// 종료 + 결과 저장 (진행자)
+	public int finish(LiveSession session) {
+		List<LiveSession.Participant> answered;
+		synchronized (session) {
+			if (session.getPhase() == LiveSession.Phase.FINISHED) {
+				return 0;
+			}
+			if (session.getPhase() == LiveSession.Phase.QUESTION) {
+				session.close(); // 답안 마감 후 저장
+			}
+			answered = saveResults(session);
+			session.finish(); // 저장에 실패하면 종료하지 않음 (다시 종료 가능)
+		}
+		broadcast(session, "state", statePayload(session));
+		return answered.size();
+	}
+
+	// 참가자별 QuizAttempt INSERT batch (한 문제도 답하지 않은 참가자는 제외)
+	private List<LiveSession.Participant> saveResults(LiveSession session) {
+		List<LiveSession.LiveQuestion> questions = session.getQuestions();
+		int asked = session.getRound().index() + 1; // 실제로 출제된 문제 수
+		Timestamp attemptedAt = Timestamp.valueOf(session.getStartedAt());
+		List<LiveSession.Participant> answered = new ArrayList<>();
+		List<Object[]> rows = new ArrayList<>();
+		List<List<GradedAnswer>> gradedRows = new ArrayList<>(); // [추가] 저장 성공 후 문항 통계에 반영
+
+		for (LiveSession.Participant p : session.getParticipants().values()) {
+			List<PackedAnswers.Entry> entries = new ArrayList<>(asked);
+			List<GradedAnswer> graded = new ArrayList<>(asked);
+			boolean any = false;
+			for (int i = 0; i < asked; i++) {
+				LiveSession.LiveQuestion q = questions.get(i);
+				int choice = p.choiceAt(i);
+				boolean correct = choice != 0 && choice == q.correctChoice();
+				any |= choice != 0;
+				entries.add(new PackedAnswers.Entry(q.questionId(), choice, correct));
+				graded.add(new GradedAnswer(null, q.questionId(), choice == 0 ? "" : q.options().get(choice - 1),
+						choice, correct, q.score()));
+			}
+			if (!any) {
+				continue;
+			}
+			answered.add(p);
+			rows.add(new Object[] { session.getQuizId(), p.getUno(), p.getScore(), attemptedAt,
+					AttemptStatus.GRADED.name(), PackedAnswers.encode(entries), session.getCode() });
+			gradedRows.add(graded);
+		}
+
+		if (!rows.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_SQL, rows); // [수정] 라이브 응시는 순위표에 들어가지 않으므로 다시 만들지 않음
+			// [수정] INSERT 가 실패하면 예외로 빠져나가므로 저장되지 않은 결과는 문항 통계에 남지 않음
+			for (int i = 0; i < gradedRows.size(); i++) {
+				itemStats.record(gradedRows.get(i), answered.get(i).getScore());
+			}
+		}
+		System.out.println("라이브 퀴즈 종료: " + session.getCode() + " (참가 " + session.getParticipants().size()
+				+ "명, 결과 저장 " + rows.size() + "건)");
+		return answered;
+	}
+
+	// tick 마다 변경된 세션만 분포 / 순위 전송, 종료 / 방치된 세션 정리
+	@Scheduled(fixedDelayString = "${lms.live.tick-ms:1000}")
+	public void tick() {
+		long now = System.currentTimeMillis();
+		for (LiveSession session : sessions.values()) {
+			if (session.takeDirty()) {
+				broadcast(session, "stats", statsPayload(session));
+			}
+			boolean finishedLongAgo = session.getPhase() == LiveSession.Phase.FINISHED
+					&& now - session.getLastActivityAt() > 600_000L;
+			if (finishedLongAgo || now - session.getLastActivityAt() > idleTimeoutMillis) {
+				sessions.remove(session.getCode());
+				broadcaster.execute(() -> session.getEmitters().forEach(SseEmitter::complete)); // [수정] 대기 중인 전송 뒤에 종료
+			}
+		}
+	}
+
+	// 현재 문제 (정답은 공개 단계에서만)
+	private Map<String, Object> statePayload(LiveSession session) {
+		LiveSession.Round round = session.getRound();
+		Map<String, Object> payload = new LinkedHashMap<>();
+		payload.put("phase", session.getPhase().name());
+		payload.put("index", round.index());
+		payload.put("total", session.getQuestions().size());
+		if (round.index() >= 0) {
+			LiveSession.LiveQuestion q = session.getQuestions().get(round.index());
+			payload.put("content", q.content());
+			payload.put("options", q.options());
+			if (session.getPhase() != LiveSession.Phase.QUESTION) {
+				payload.put("correctChoice", q.correctChoice());
+			}
+		}
+		payload.putAll(statsPayload(session));
+		return payload;
+	}
+
+	// 보기별 답안 수 + 상위 순위
+	private Map<String, Object> statsPayload(LiveSession session) {
+		LiveSession.Round round = session.getRound();
+		long[] counts = new long[4];
+		long answered = 0;
+		for (int k = 0; k < 4; k++) {
+			counts[k] = round.counts().get(k + 1);
+			answered += counts[k];
+		}
+		List<Map<String, Object>> leaderboard = session.getParticipants().values().stream()
+				.sorted(Comparator.comparingInt(LiveSession.Participant::getScore).reversed())
+				.limit(LEADERBOARD_SIZE)
+				.map(p -> Map.<String, Object>of("userName", p.getUserName(), "score", p.getScore()))
+				.toList();
+
+		Map<String, Object> payload = new LinkedHashMap<>();
+		payload.put("counts", counts);
+		payload.put("answered", answered);
+		payload.put("participants", session.getParticipants().size());
+		payload.put("leaderboard", leaderboard);
+		return payload;
+	}
+
+	// [수정] 내용은 호출 시점에 만들고 전송만 broadcaster 스레드에서
+	private void broadcast(LiveSession session, String name, Object data) {
+		broadcaster.execute(() -> {
+			for (SseEmitter emitter : session.getEmitters()) {
+				send(session, emitter, name, data);
+			}
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		broadcaster.shutdownNow();
+	}
+
+	private void send(LiveSession session, SseEmitter emitter, String name, Object data) {
+		try {
+			emitter.send(SseEmitter.event().name(name).data(data));
+		} catch (IOException | IllegalStateException e) {
+			// 연결이 끊긴 참가자
+			session.getEmitters().remove(emitter);
+		}
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+}
@@ -0,0 +1,17 @@
+package com.mysite.sbb.quiz_answer;
+
+import com.mysite.sbb.quiz_question.QuizQuestion;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 결과 화면용 답안 한 개 (quiz_answer 행 / 압축 저장 모두 같은 모양으로)
+// - 템플릿에서 QuizAnswer 와 같은 이름(qQuestion, userAnswer, correct)으로 사용
+@Getter
+@AllArgsConstructor
+public class AttemptAnswer {
+
+	private final QuizQuestion qQuestion;
+	private final String userAnswer; // 미선택이면 null
+	private final boolean correct;
+}
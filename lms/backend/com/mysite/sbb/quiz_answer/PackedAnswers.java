@@ -0,0 +1,53 @@
+package com.mysite.sbb.quiz_answer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// 응시 한 건의 답안을 quiz_attempt.packed_answers 한 컬럼에 담는 바이너리 형식
+// - [형식 버전 1바이트] + 문제마다 [문제ID 8바이트][플래그 1바이트]
+// - 플래그 : 하위 3비트 = 선택한 보기 번호 (0 = 미선택 / 보기에 없는 답), 최상위 비트 = 정답 여부
+// - 20문제 = 181바이트 (quiz_answer 20행 대신), 출제 순서대로 저장
+public final class PackedAnswers {
+
+	static final byte FORMAT_V1 = 1;
+	private static final int ENTRY_BYTES = Long.BYTES + 1;
+	private static final int CORRECT_BIT = 0x80;
+	private static final int CHOICE_MASK = 0x07;
+
+	private PackedAnswers() {
+	}
+
+	public record Entry(long questionId, int choice, boolean correct) {
+	}
+
+	public static byte[] encode(List<Entry> entries) {
+		ByteBuffer buffer = ByteBuffer.allocate(1 + entries.size() * ENTRY_BYTES);
+		buffer.put(FORMAT_V1);
+		for (Entry entry : entries) {
+			if (entry.choice() < 0 || entry.choice() > 4) {
+				throw new IllegalArgumentException("보기 번호는 0 ~ 4 사이여야 합니다: " + entry.choice());
+			}
+			buffer.putLong(entry.questionId());
+			buffer.put((byte) (entry.choice() | (entry.correct() ? CORRECT_BIT : 0)));
+		}
+		return buffer.array();
+	}
+
+	public static List<Entry> decode(byte[] packed) {
+		if (packed == null || packed.length == 0) {
+			return List.of();
+		}
+		if (packed[0] != FORMAT_V1 || (packed.length - 1) % ENTRY_BYTES != 0) {
+			throw new IllegalStateException("지원하지 않는 답안 저장 형식입니다. (버전: " + packed[0] + ")");
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(packed, 1, packed.length - 1);
+		List<Entry> entries = new ArrayList<>((packed.length - 1) / ENTRY_BYTES);
+		while (buffer.hasRemaining()) {
+			long questionId = buffer.getLong();
+			int flags = buffer.get() & 0xFF;
+			entries.add(new Entry(questionId, flags & CHOICE_MASK, (flags & CORRECT_BIT) != 0));
+		}
+		return entries;
+	}
+}
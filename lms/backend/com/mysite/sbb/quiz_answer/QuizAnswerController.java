@@ -1,6 +1,5 @@
 package com.mysite.sbb.quiz_answer;
 
-import java.security.Principal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -18,8 +17,8 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import com.mysite.sbb.DataNotFoundException;
 import com.mysite.sbb.quiz_attempt.QuizAttempt;
 import com.mysite.sbb.quiz_attempt.QuizAttemptService;
+import com.mysite.sbb.user.CurrentUser;
 import com.mysite.sbb.user.User;
-import com.mysite.sbb.user.UserService;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -30,8 +29,6 @@ import lombok.RequiredArgsConstructor;
 public class QuizAnswerController {
 	
 	private final QuizAttemptService qaService;
-	private final UserService uService;
-	private final QuizAnswerRepository qAnswerr;
 	
 	/**
 	 * 퀴즈 제출 (채점)
@@ -42,12 +39,11 @@ public class QuizAnswerController {
 	@PostMapping("/create/{quizAttemptId}")
 	public String create(Model model, @PathVariable("quizAttemptId") Long quizAttemptId,
 						 @ModelAttribute QuizAnswerListForm answerListForm, 
-						 Principal principal,
+						 @CurrentUser User currentUser,
 						 RedirectAttributes redirectAttributes,
 						 HttpServletRequest request) { 
 		
 		QuizAttempt attempt = qaService.getAttemptById(quizAttemptId); 
-		User currentUser = uService.getUser(principal.getName());
 		
 		try {
 			
@@ -85,28 +81,31 @@ public class QuizAnswerController {
 	
 	/**
 	 * 퀴즈 결과 페이지
-	 * 설명: 채점이 완료된 20개의 QuizAnswer 엔티티를 조회하여 템플릿에 전달합니다.
+	 * 설명: 채점이 완료된 20개의 답안(행 저장 / 압축 저장)을 조회하여 템플릿에 전달합니다.
 	 */
 	@PreAuthorize("isAuthenticated()")
 	@GetMapping("/quizResult/{quizAttemptId}")
 	public String quizResult(Model model, @PathVariable("quizAttemptId") Long quizAttemptId,
-							 Principal principal) {
+							 @CurrentUser User currentUser) {
 		
 		QuizAttempt attempt = qaService.getAttemptById(quizAttemptId);
-		User currentUser = uService.getUser(principal.getName());
 		
 		// [권한 확인]
 		if (!attempt.getUser().getUno().equals(currentUser.getUno())) {
 			throw new SecurityException("결과 확인 권한이 없습니다.");
 		}
 		
-		// 채점된 20개의 QuizAnswer 목록을 가져옴
-		// (QuizAnswerRepository에 findByQAttempt가 구현되어 있어야 함)
-		List<QuizAnswer> answers = qAnswerr.findByqAttempt(attempt);
+		// 채점된 20개의 답안 목록을 가져옴 ([수정] 압축 저장 / 행 저장 모두 지원)
+		List<AttemptAnswer> answers = qaService.getAttemptAnswers(attempt);
 		
 		model.addAttribute("attempt", attempt);
 		model.addAttribute("answers", answers); // 템플릿에 20개 답변 전달
 		
+		// [추가] 순위표 (상위 10명, 내 순위 / 백분위)
+		Long quizId = attempt.getQuiz().getQuizId();
+		model.addAttribute("leaderboard", qaService.getLeaderboard(quizId));
+		model.addAttribute("myRank", qaService.getRank(quizId, currentUser.getUno()));
+		
 		return "quiz_result";
 	}
 }
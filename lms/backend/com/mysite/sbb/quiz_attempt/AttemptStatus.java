@@ -0,0 +1,10 @@
+package com.mysite.sbb.quiz_attempt;
+
+// 응시 상태 (STARTED -> GRADING -> GRADED)
+// - 제출 시 STARTED -> GRADING 을 조건부 UPDATE 한 번으로 선점 (이미 채점 중 / 채점 끝이면 0건 -> 중복 제출)
+// - 채점 중 오류가 나면 GRADING -> STARTED 로 되돌려 다시 제출할 수 있게 함
+public enum AttemptStatus {
+	STARTED, // 응시 중 (미제출)
+	GRADING, // 채점 중
+	GRADED // 채점 완료
+}
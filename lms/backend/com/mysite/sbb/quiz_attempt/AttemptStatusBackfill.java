@@ -0,0 +1,37 @@
+package com.mysite.sbb.quiz_attempt;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mysite.sbb.user.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// quiz_attempt.status 초기화 (서버 시작 시 한 번)
+// - 컬럼 추가 이전 응시 기록: 점수가 있거나 제출된 답안 행이 있으면 GRADED, 아니면 STARTED ([수정] 0점 제출 포함)
+// - 채점 도중 서버가 내려가 GRADING 으로 남은 응시는 STARTED 로 되돌려 다시 제출할 수 있게 함
+// - [추가] 이전 회원의 site_user.onboarding_status (미제출 레벨 테스트 응시 ID)
+@RequiredArgsConstructor
+@Component
+public class AttemptStatusBackfill {
+
+	private final QuizAttemptRepository qAttemptr;
+	private final UserRepository userr;
+
+	@Transactional
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfill() {
+		int filled = qAttemptr.backfillStatus();
+		int reset = qAttemptr.resetStatus(AttemptStatus.GRADING, AttemptStatus.STARTED);
+		if (filled > 0 || reset > 0) {
+			System.out.println("quiz_attempt.status 초기화: " + filled + "건, 채점 중단 복구: " + reset + "건");
+		}
+		// [추가] 상태가 채워진 뒤에 미제출 레벨 테스트가 있는 회원의 온보딩 단계 채우기
+		int pending = userr.backfillLevelTestPending();
+		if (pending > 0) {
+			System.out.println("site_user.onboarding_status 초기화 (레벨 테스트 대기): " + pending + "건");
+		}
+	}
+}
@@ -10,9 +10,12 @@ import com.mysite.sbb.user.User;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -23,7 +26,10 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "quiz_attempt")
+@Table(name = "quiz_attempt", indexes = {
+		// [추가] 회원의 퀴즈별 미제출 응시 조회 (로그인 시 레벨 테스트 확인 등)
+		@Index(name = "idx_quiz_attempt_uno_quiz_status", columnList = "uno, quiz_id, status")
+})
 public class QuizAttempt {
 	
 	@Id
@@ -51,4 +57,35 @@ public class QuizAttempt {
 	@Column(name = "attempted_cdate", nullable = false)
 	private LocalDateTime attemptedCdate = LocalDateTime.now();
 	
+	// [추가] 응시 상태 (점수 0 = 미제출 규칙 대신) - 기존 행은 AttemptStatusBackfill 이 채움
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", length = 20)
+	private AttemptStatus status = AttemptStatus.STARTED;
+	
+	// [추가] 출제 시드 - 문제 선택과 순서를 이 값으로 다시 계산 (답안 행은 제출할 때 생성)
+	// 이전 방식(시작할 때 빈 답안 20개를 만든) 응시 기록은 null
+	@Column(name = "seed")
+	private Long seed;
+	
+	// [수정] 시작할 때 뽑은 문제 ID (PackedQuestionIds 형식) - 문제 풀이 바뀌어도 출제 문제 고정
+	// 이 컬럼이 생기기 전에 시작한 시드 방식 응시는 null (시드로 다시 계산)
+	@Column(name = "question_ids", columnDefinition = "VARBINARY(512)")
+	private byte[] questionIds;
+	
+	// [추가] 답안 압축 저장 (PackedAnswers 형식, quiz_answer 행 대신) - 행 방식으로 저장된 응시는 null
+	@Column(name = "packed_answers", columnDefinition = "VARBINARY(2048)")
+	private byte[] packedAnswers;
+	
+	// [추가] 제출 마감 시각 (제한 시간 모드에서 시작 시각 + 제한 시간, 제한 없는 응시는 null)
+	@Column(name = "deadline")
+	private LocalDateTime deadline;
+	
+	// [추가] 시험 중 자동 저장된 임시 답안 (문제ID -> 답안 JSON, DraftAnswerBuffer 가 주기적으로 기록 / 채점 후 null)
+	@Column(name = "draft_answers", columnDefinition = "TEXT")
+	private String draftAnswers;
+	
+	// [추가] 라이브 퀴즈 세션에서 저장된 결과면 참가 코드 (일반 응시는 null) - 레벨 / 승급 판단에서 제외
+	@Column(name = "live_code", length = 10)
+	private String liveCode;
+	
 }
@@ -1,13 +1,16 @@
 package com.mysite.sbb.quiz_attempt;
 
-import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,16 +18,21 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.mysite.sbb.DataNotFoundException;
 import com.mysite.sbb.quiz.Quiz;
 import com.mysite.sbb.quiz.QuizService;
+import com.mysite.sbb.quiz_answer.AttemptAnswer;
 import com.mysite.sbb.quiz_answer.QuizAnswer;
 import com.mysite.sbb.quiz_answer.QuizAnswerForm;
 import com.mysite.sbb.quiz_answer.QuizAnswerListForm;
 import com.mysite.sbb.quiz_answer.QuizAnswerRepository;
+import com.mysite.sbb.quiz_question.QuizQuestion;
+import com.mysite.sbb.user.CurrentUser;
 import com.mysite.sbb.user.User;
 import com.mysite.sbb.user.UserService;
 
@@ -40,19 +48,20 @@ public class QuizAttemptController {
 	private final UserService uService;
 	private final QuizService qService;
 	private final QuizAnswerRepository qAnswerr;
+	private final PackedAnswerMigration packedAnswerMigration; // [추가] 답안 압축 저장 이전
+	private final QuizRegradeService regradeService; // [추가] 정답 변경 후 재채점
 	
-	// 퀴즈 응시 시작 처리 (응시 기록 생성 후, 20개의 빈 답안을 미리 만듦)
+	// 퀴즈 응시 시작 처리 ([수정] 응시 기록만 생성, 답안은 제출할 때 생성)
 	// 파라미터 : quizId(시작할 퀴즈 ID), principal(현재 사용자), redirectAttributes(리다이렉트 메시지 전달용)
 	// 리턴 : 퀴즈 풀이 페이지 또는 에러 페이지로
 	@PreAuthorize("isAuthenticated()")
 	@PostMapping("/start/{quizId}")
-	public String startAttempt(Model model, @PathVariable("quizId") Long quizId, Principal principal) {
+	public String startAttempt(Model model, @PathVariable("quizId") Long quizId, @CurrentUser User user) {
 		
 		Quiz quiz = qService.getQuizById(quizId);
-		User user = uService.getUser(principal.getName());
 		
 		try {
-			// [수정] 서비스의 startAttempt 호출 (이 안에서 20개 문제/답안 생성)
+			// [수정] 서비스의 startAttempt 호출 (출제 시드만 저장)
 			QuizAttempt attempt = qAttempts.startAttempt(quiz, user);
 			
 			// 생성된 시도(Attempt)의 응시 페이지로 리다이렉트
@@ -66,33 +75,65 @@ public class QuizAttemptController {
 		}
 	}
 	
+	// [추가] 레벨 테스트 응시 (로그인 후 레벨 테스트 대기 중인 수강생)
+	// 응시가 없으면 이 때 생성 후 풀이 페이지로, 이미 제출했으면 메인 페이지로
+	@PreAuthorize("isAuthenticated()")
+	@GetMapping("/level_test")
+	public String startLevelTest(@CurrentUser User user, RedirectAttributes redirectAttributes) {
+		try {
+			Optional<QuizAttempt> attempt = qAttempts.startLevelTest(user);
+			if (attempt.isPresent()) {
+				return "redirect:/quiz_attempt/exam/" + attempt.get().getAttemptId();
+			}
+		} catch (IllegalStateException e) {
+			redirectAttributes.addFlashAttribute("errorMsg", e.getMessage());
+		}
+		return "redirect:/mainpage";
+	}
+	
 	// 퀴즈 풀이 페이지 (GET) 메소드 추가 (10/28)
 		@PreAuthorize("isAuthenticated()")
 		@GetMapping("/exam/{attemptId}")
-		public String showQuizExam(Model model, @PathVariable("attemptId") Long attemptId, Principal principal) {
+		public String showQuizExam(Model model, @PathVariable("attemptId") Long attemptId, @CurrentUser User currentUser) {
 			
 			// 1. 응시 기록(Attempt) 조회
 			QuizAttempt attempt = qAttempts.getAttemptById(attemptId);
-			User currentUser = uService.getUser(principal.getName());
 			
 			// 2. 본인 확인
 			if (!attempt.getUser().getUno().equals(currentUser.getUno())) {
 				throw new ResponseStatusException(HttpStatus.FORBIDDEN, "응시 권한이 없습니다.");
 			}
 			
-			// 3. 이 시도(Attempt)에 연결된 20개의 'QuizAnswer' 목록을 가져옵니다.
-			List<QuizAnswer> quizAnswers = qAnswerr.findByqAttempt(attempt);
+			// [추가] 이미 채점된 응시 (제한 시간 만료 자동 제출 포함)는 결과 페이지로
+			if (attempt.getStatus() == AttemptStatus.GRADED) {
+				return "redirect:/quiz_attempt/" + attemptId + "/result";
+			}
+			
+			// 3. [수정] 출제된 20개 문제 (시드 방식은 시드로 다시 계산)
+			List<QuizQuestion> questions = qAttempts.getExamQuestions(attempt);
+			
+			// 이전 방식 응시 기록만 시작할 때 만든 답안 행이 있음 (문제 ID -> 답안 ID)
+			Map<Long, Long> answerIdByQuestion = new HashMap<>();
+			if (attempt.getSeed() == null) {
+				for (QuizAnswer ans : qAnswerr.findByqAttempt(attempt)) {
+					answerIdByQuestion.put(ans.getQQuestion().getQuestionId(), ans.getAnswerId());
+				}
+			}
 
 			// 4. 폼을 위한 DTO(QuizAnswerListForm)를 생성합니다.
 			QuizAnswerListForm answerListForm = new QuizAnswerListForm();
 			List<QuizAnswerForm> formList = new ArrayList<>();
 			
-			// 5. 20개의 QuizAnswer 엔티티를 폼 DTO(QuizAnswerForm) 20개로 변환합니다.
-			for (QuizAnswer ans : quizAnswers) {
+			// [추가] 자동 저장된 임시 답안 (새로고침 / 브라우저 재시작 후 이어서 풀기)
+			Map<Long, String> draftAnswers = qAttempts.getDraftAnswers(attempt);
+			
+			// 5. 20개의 문제를 폼 DTO(QuizAnswerForm) 20개로 변환합니다.
+			for (QuizQuestion question : questions) {
 				QuizAnswerForm form = new QuizAnswerForm();
-				// 템플릿 폼(th:field)에서 사용할 ID
-				form.setQAnswerId(ans.getAnswerId()); 
-				form.setQQuestionId(ans.getQQuestion().getQuestionId()); 
+				// 템플릿 폼(th:field)에서 사용할 ID (답안 ID는 이전 방식 응시에만 있음)
+				form.setQAnswerId(answerIdByQuestion.get(question.getQuestionId())); 
+				form.setQQuestionId(question.getQuestionId()); 
+				form.setUserAnswer(draftAnswers.get(question.getQuestionId())); // [추가] 임시 답안이 있으면 선택된 상태로
 				// 'userAnswer'는 템플릿에서 사용자가 입력합니다.
 				formList.add(form);
 			}
@@ -100,12 +141,38 @@ public class QuizAttemptController {
 			answerListForm.setAnswerForms(formList); 
 			
 			model.addAttribute("attempt", attempt);
-			model.addAttribute("quizAnswers", quizAnswers); 
+			model.addAttribute("questions", questions); 
 			model.addAttribute("answerListForm", answerListForm);
+			// [추가] 남은 시간(초) - 서버 시각 기준, 제한 없는 응시는 null
+			if (attempt.getDeadline() != null) {
+				model.addAttribute("remainingSeconds",
+						Math.max(0, Duration.between(LocalDateTime.now(), attempt.getDeadline()).getSeconds()));
+			}
 			
 			return "quiz_exam";
 		}
 	
+		// [추가] 임시 답안 자동 저장 (응시 화면에서 보기를 고를 때마다 호출)
+		@PreAuthorize("isAuthenticated()")
+		@PostMapping("/{attemptId}/draft")
+		@ResponseBody // 화면 이동 없이 데이터만 반환
+		public ResponseEntity<String> saveDraft(
+				@PathVariable("attemptId") Long attemptId,
+				@RequestParam("qQuestionId") Long questionId,
+				@RequestParam(value = "userAnswer", required = false) String userAnswer,
+				@CurrentUser User currentUser) {
+			try {
+				qAttempts.saveDraftAnswer(attemptId, questionId, userAnswer, currentUser);
+				return ResponseEntity.ok("Draft Saved");
+			} catch (DataNotFoundException e) {
+				throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+			} catch (SecurityException e) {
+				throw new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage());
+			} catch (IllegalArgumentException | IllegalStateException e) {
+				throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+			}
+		}
+	
 		// 답안 제출 및 채점 처리 (답안 채점 후 결과 페이지로 이동)
 		// 파라미터 : attemptId(응시 기록ID), answers(사용자 답안 목록), principal(현재 사용자), redirectAttributes(리다이렉트 메시지 전달용)
 		// 리턴 : 결과 페이지로
@@ -114,12 +181,11 @@ public class QuizAttemptController {
 		public String submitAnswers(
 				@PathVariable("attemptId") Long attemptId,
 				@ModelAttribute QuizAnswerListForm answerListForm,
-				Authentication authentication,
+				@CurrentUser User currentUser,
 				RedirectAttributes redirectAttributes,
 				HttpServletRequest request // 이전 페이지 URL 얻기
 				) {
 			try {
-				User currentUser = uService.getUser(authentication.getName());
 				
 				// NullPointException 방지: answerForm 또는 getAnswers()가 null일 경우 빈 리스트 사용
 				List<QuizAnswerForm> submittedForms = Optional.ofNullable(answerListForm)
@@ -152,10 +218,9 @@ public class QuizAttemptController {
 		// 리턴 : 보여줄 뷰 이름
 		@PreAuthorize("isAuthenticated()")
 		@GetMapping("/{attemptId}/result")
-		public String getAttemptResult(@PathVariable("attemptId") Long attemptId, Authentication authentication, Model model) {
+		public String getAttemptResult(@PathVariable("attemptId") Long attemptId, @CurrentUser User currentUser, Model model) {
 			try {
-				// 1. 현재 사용자 정보 가져오기
-				User currentUser = uService.getUser(authentication.getName());
+				// 1. 현재 사용자 정보 ([수정] @CurrentUser)
 				// 2. Service 호출하여 결과 메세지가 포함된 응시 기록 객체 가져오기
 				QuizAttempt attemptResult = qAttempts.getResultAttempt(attemptId, currentUser);
 				// 3. Model 객체에 필요한 데이터를 담아 HTML 페이지로 전달
@@ -164,9 +229,14 @@ public class QuizAttemptController {
 				model.addAttribute("attemptResult", attemptResult);
 				model.addAttribute("resultMessage", resultMessage); // 메시지 별도 전달
 				
-				List<QuizAnswer> answers = qAnswerr.findByqAttempt(attemptResult);
+				List<AttemptAnswer> answers = qAttempts.getAttemptAnswers(attemptResult); // [수정] 압축 저장 / 행 저장 모두 지원
 				model.addAttribute("answers", answers);
 				
+				// [추가] 순위표 (상위 10명, 내 순위 / 백분위)
+				Long quizId = attemptResult.getQuiz().getQuizId();
+				model.addAttribute("leaderboard", qAttempts.getLeaderboard(quizId));
+				model.addAttribute("myRank", qAttempts.getRank(quizId, currentUser.getUno()));
+				
 				// 5. 보여줄 HTML 파일의 이름 반환
 				return "quiz_result";
 			} catch (DataNotFoundException e) {
@@ -182,9 +252,8 @@ public class QuizAttemptController {
 		// 현재 로그인한 사용자의 응시기록 목록 조회 및 화면 표시
 		@PreAuthorize("isAuthenticated()")
 		@GetMapping("/user/attempt")
-		public String getCurrentUserAttempts(Principal principal, Model model) {
+		public String getCurrentUserAttempts(@CurrentUser User currentUser, Model model) {
 			try {
-				User currentUser = uService.getUser(principal.getName());
 				List<QuizAttempt> attempts = qAttempts.getAttemptsByUser(currentUser.getUno());
 				model.addAttribute("attemptList", attempts);
 				return "my_quiz_result";
@@ -229,5 +298,30 @@ public class QuizAttemptController {
             return "redirect:/quiz_attempt/list";
 		}
 	}
+	
+	// [추가] 기존 quiz_answer 행을 응시 행의 압축 저장으로 옮김 (batchSize 건씩, remaining 이 false 가 될 때까지 반복 호출) - 관리자 전용
+	// [수정] 다음 호출의 after 에는 이전 결과의 lastAttemptId 를 넘김
+	@PreAuthorize("hasRole('ROLE_ADMIN')")
+	@PostMapping("/admin/pack-answers")
+	@ResponseBody
+	public PackedAnswerMigration.Result packAnswers(@RequestParam(value = "after", defaultValue = "0") long after,
+			@RequestParam(value = "batchSize", defaultValue = "500") int batchSize) {
+		return packedAnswerMigration.migrateBatch(after, Math.max(1, Math.min(batchSize, 5000)));
+	}
+	
+	// [추가] 퀴즈 재채점 시작 (정답 수정 시 자동으로 시작되며, 실패한 작업을 다시 돌릴 때 사용) - 관리자 전용
+	@PreAuthorize("hasRole('ROLE_ADMIN')")
+	@PostMapping("/admin/regrade/{quizId}")
+	@ResponseBody
+	public RegradeJob startRegrade(@PathVariable("quizId") Long quizId) {
+		return regradeService.start(quizId);
+	}
+	
+	// [추가] 재채점 진행 상황 (최근 작업 20개) - 관리자 전용
+	@PreAuthorize("hasRole('ROLE_ADMIN')")
+	@GetMapping("/admin/regrade")
+	@ResponseBody
+	public List<RegradeJob> regradeJobs() {
+		return regradeService.getRecentJobs();
+	}
 }
-		
@@ -2,12 +2,22 @@ package com.mysite.sbb.quiz_attempt;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.mysite.sbb.quiz.Quiz;
 import com.mysite.sbb.user.User;
 
+import jakarta.persistence.QueryHint;
+
 public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>{
 	// 특정 회원(uno)의 응시 기록 조회
     List<QuizAttempt> findByUserUno(Long uno);
@@ -20,4 +30,59 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>{
     
     // 특정 사용자와 특정 퀴즈 타입으로 응시 기록 존재 여부 확인 (레벨테스트 중복 응시 방지)
     boolean existsByUserAndQuiz_QuizType(User user, String quizType);
-}
\ No newline at end of file
+    
+    // [추가] 회원의 특정 퀴즈 중 해당 상태의 가장 최근 응시 (idx_quiz_attempt_uno_quiz_status 사용)
+    Optional<QuizAttempt> findFirstByUser_UnoAndQuiz_QuizIdAndStatusOrderByAttemptIdDesc(Long uno, Long quizId,
+    		AttemptStatus status);
+    
+    // [추가] 상태 compare-and-set (현재 상태가 from 일 때만 to 로 변경, 변경된 행 수 반환)
+    // 호출한 쪽에 트랜잭션이 없으면 이 UPDATE 만 바로 커밋 -> 다른 요청이 GRADING 상태를 바로 볼 수 있음
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update QuizAttempt a set a.status = :to where a.attemptId = :attemptId and a.status = :from")
+    int compareAndSetStatus(@Param("attemptId") Long attemptId, @Param("from") AttemptStatus from,
+    		@Param("to") AttemptStatus to);
+    
+    // [추가] 특정 상태의 응시를 모두 다른 상태로 (서버 시작 시 채점 중단 복구)
+    @Modifying
+    @Query("update QuizAttempt a set a.status = :to where a.status = :from")
+    int resetStatus(@Param("from") AttemptStatus from, @Param("to") AttemptStatus to);
+    
+    // [추가] status 컬럼 추가 이전 응시 기록 채우기 (점수가 있으면 채점 완료로 간주하던 기존 규칙)
+    // [수정] 0점이어도 제출된 응시는 채점 완료 - 이전 방식은 시작할 때 user_answer 가 NULL 인 답안 행을 만들고
+    //        제출할 때 채움 (미선택도 빈 문자열) -> 채워진 답안 행이 있으면 제출된 응시
+    @Modifying
+    @Query(value = "UPDATE quiz_attempt a SET a.status = CASE WHEN a.score <> 0 OR EXISTS "
+    		+ "(SELECT 1 FROM quiz_answer qa WHERE qa.attempt_id = a.attempt_id AND qa.user_answer IS NOT NULL) "
+    		+ "THEN 'GRADED' ELSE 'STARTED' END "
+    		+ "WHERE a.status IS NULL", nativeQuery = true)
+    int backfillStatus();
+    
+    // [추가] 순위표 생성용 (퀴즈ID, 회원 uno, 이름, 점수, 응시ID) - MySQL 에서 한 행씩 스트리밍 (fetch size MIN_VALUE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select a.quiz.quizId, a.user.uno, a.user.userName, a.score, a.attemptId from QuizAttempt a "
+    		+ "where a.status = :status and a.liveCode is null") // [수정] 라이브 퀴즈 응시 제외
+    Stream<Object[]> streamScores(@Param("status") AttemptStatus status);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select a.quiz.quizId, a.user.uno, a.user.userName, a.score, a.attemptId from QuizAttempt a "
+    		+ "where a.quiz.quizId = :quizId and a.status = :status and a.liveCode is null")
+    Stream<Object[]> streamScoresByQuizId(@Param("quizId") Long quizId, @Param("status") AttemptStatus status);
+    
+    // [추가] 제한 시간 복구용: 채점 안 된 응시 중 마감 시각이 있는 (응시ID, 마감 시각)
+    @Query("select a.attemptId, a.deadline from QuizAttempt a where a.deadline is not null "
+    		+ "and (a.status is null or a.status <> :status)")
+    List<Object[]> findDeadlinesByStatusNot(@Param("status") AttemptStatus status);
+    
+    // [추가] 재채점 대상: 채점된 응시 (응시ID, 회원 uno, 점수, 압축 답안, 라이브 코드) - 응시 ID 오름차순으로 afterId 다음부터
+    @Query("select a.attemptId, a.user.uno, a.score, a.packedAnswers, a.liveCode from QuizAttempt a "
+    		+ "where a.quiz.quizId = :quizId and a.status = :status and a.attemptId > :afterId order by a.attemptId")
+    List<Object[]> findRegradeRows(@Param("quizId") Long quizId, @Param("status") AttemptStatus status,
+    		@Param("afterId") Long afterId, Pageable pageable);
+    
+    long countByQuiz_QuizIdAndStatusAndAttemptIdGreaterThan(Long quizId, AttemptStatus status, Long afterId);
+    
+    // [추가] 같은 회원이 이 응시 말고 합격 점수 이상을 받은 응시가 있는지 (재채점 후 승급 취소 판단, 라이브 결과 제외)
+    boolean existsByUser_UnoAndQuiz_QuizIdAndStatusAndLiveCodeIsNullAndScoreGreaterThanEqualAndAttemptIdNot(Long uno, Long quizId,
+    		AttemptStatus status, Integer score, Long attemptId);
+}
\ No newline at end of file
@@ -1,23 +1,50 @@
 package com.mysite.sbb.quiz_attempt;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.mysite.sbb.DataNotFoundException;
+import com.mysite.sbb.enrollment.LearnerProgressChangedEvent;
 import com.mysite.sbb.level.Level;
 import com.mysite.sbb.level.LevelService;
 import com.mysite.sbb.quiz.Quiz;
+import com.mysite.sbb.quiz.QuizRepository;
+import com.mysite.sbb.quiz_answer.AttemptAnswer;
+import com.mysite.sbb.quiz_answer.GradedAnswer;
+import com.mysite.sbb.quiz_answer.PackedAnswers;
 import com.mysite.sbb.quiz_answer.QuizAnswer;
+import com.mysite.sbb.quiz_answer.QuizAnswerBatchWriter;
 import com.mysite.sbb.quiz_answer.QuizAnswerForm;
 import com.mysite.sbb.quiz_answer.QuizAnswerRepository;
+import com.mysite.sbb.quiz_question.AnswerKey;
+import com.mysite.sbb.quiz_question.AnswerKeyCache;
+import com.mysite.sbb.quiz_question.ItemStatsAccumulator;
 import com.mysite.sbb.quiz_question.QuizQuestion;
 import com.mysite.sbb.quiz_question.QuizQuestionRepository;
+import com.mysite.sbb.reference.QuizRef;
+import com.mysite.sbb.reference.ReferenceDataRegistry;
+import com.mysite.sbb.sampling.RandomSampler;
+import com.mysite.sbb.user.OnboardingStatus;
 import com.mysite.sbb.user.User;
+import com.mysite.sbb.user.UserRepository;
 import com.mysite.sbb.user.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -25,23 +52,57 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 @Service
 public class QuizAttemptService {
+
+	// 한 번에 출제하는 문제 수
+	static final int QUESTION_COUNT = 20;
+	
+	// 결과 화면 순위표 인원
+	static final int LEADERBOARD_SIZE = 10;
+	
+	// 승급 테스트 합격 기준 점수
+	static final int PROMOTION_PASSING_SCORE = 80;
+	
+	// 답안 저장 방식 "packed" : quiz_attempt.packed_answers 한 컬럼 / 그 외 : quiz_answer 행
+	static final String PACKED_STORAGE = "packed";
 	
 	private final QuizAttemptRepository qAttemptr;
 	private final QuizAnswerRepository qAnswerr;
-	private final QuizQuestionRepository qQuestionr;
+	private final QuizAnswerBatchWriter answerWriter; // [추가] 채점 결과 답안 행 일괄 기록
+	private final AnswerKeyCache answerKeys; // [추가] 퀴즈별 채점표
+	private final QuizQuestionRepository qQuestionr; // [추가] 압축 저장 결과 화면용 문제 조회
+	
+	@Value("${lms.quiz.answer-storage:rows}")
+	private String answerStorage; // [추가] 답안 저장 방식 (rows / packed)
+	
+	@Value("${lms.quiz.time-limit-minutes:0}")
+	private int timeLimitMinutes; // [추가] 시험 제한 시간 (0 이하면 제한 없음)
 	
+	@Value("${lms.quiz.timer.grace-seconds:10}")
+	private int graceSeconds; // [추가] 마감 후 제출 허용 여유 시간 (네트워크 지연 등)
+	private final ExamTimerWheel examTimer; // [추가] 마감 시각 자동 제출
+	private final DraftAnswerBuffer draftBuffer; // [추가] 시험 중 임시 답안 자동 저장
+	private final ItemStatsAccumulator itemStats; // [추가] 문항 분석 누적
+	private final QuizLeaderboards leaderboards; // [추가] 퀴즈별 순위표
+	private final RandomSampler sampler; // [추가] 랜덤 문제 추출용
+	private final ApplicationEventPublisher eventPublisher; // [추가] 레벨 변경 시 학습 현황 캐시 갱신용
+	private final TransactionTemplate txTemplate; // [추가] 채점 선점(GRADING) 이후 채점 작업만 한 트랜잭션으로
+	
+	private final ReferenceDataRegistry registry; // [추가] 레벨 테스트 퀴즈 ID 조회
+	private final QuizRepository quizr;
+	private final UserRepository userr; // [추가] 레벨 테스트 응시 생성 시 회원 행 잠금
+
 	@Lazy
 	private final UserService uService; // User 정보 접근 및 수정 위해
 	private final LevelService lService; // Level 정보 접근 위해
 	
 	
 	// 응시 생성 (퀴즈 시작)
+	// [수정] 문제 20개 조회 + 빈 답안 20개 INSERT 대신 시드와 뽑은 문제 ID(question_ids)만 저장 (INSERT 1번)
+	// 출제 문제/순서는 getExamQuestions 에서 저장된 문제 ID로 조회하고, 답안 행은 제출할 때 생성
 	@Transactional
     public QuizAttempt startAttempt(Quiz quiz, User user) {
 		
-		List<QuizQuestion> randomQuestions = qQuestionr.findRandom20QuestionsByQuizId(quiz.getQuizId());
-		
-		if (randomQuestions.isEmpty()) {
+		if (sampler.questionPoolSize(quiz.getQuizId()) == 0) {
 			throw new RuntimeException("이 퀴즈에 등록된 문제가 없습니다. Quiz ID: " + quiz.getQuizId());
 		}
 		
@@ -59,25 +120,48 @@ public class QuizAttemptService {
 		attempt.setUser(user); // 누가 응시하는지
 		attempt.setAttemptedCdate(LocalDateTime.now()); // 지금 시간 기록
 		attempt.setScore(0); // 점수는 0점으로 시작
-		
-		QuizAttempt savedAttempt = qAttemptr.save(attempt);
-		
-		// 20개의 빈 답변 생성
-		for (QuizQuestion question : randomQuestions) {
-			QuizAnswer answer = new QuizAnswer();
-			answer.setQAttempt(savedAttempt); // 방금 생성된 응시와 연결
-			answer.setQQuestion(question); // 랜덤으로 뽑힌 문제와 연결
-			answer.setCorrect(false); // 기본값 (채점 전)
-			qAnswerr.save(answer);
+		attempt.setStatus(AttemptStatus.STARTED); // [추가] 응시 중
+		attempt.setSeed(ThreadLocalRandom.current().nextLong()); // 출제 시드
+		// [수정] 뽑은 문제 ID를 응시에 저장 (이후 문제 추가/삭제와 무관하게 같은 문제로 채점)
+		attempt.setQuestionIds(PackedQuestionIds.encode(
+				sampler.questionIdsForSeed(quiz.getQuizId(), attempt.getSeed(), QUESTION_COUNT)));
+		if (timeLimitMinutes > 0) {
+			attempt.setDeadline(attempt.getAttemptedCdate().plusMinutes(timeLimitMinutes)); // [추가] 제출 마감 시각
 		}
 		
-		return savedAttempt;
+		QuizAttempt saved = qAttemptr.save(attempt);
+		examTimer.schedule(saved.getAttemptId(), saved.getDeadline()); // [추가] 마감(+ 여유 시간) 자동 제출 예약 (제한 없으면 무시)
+		if ("LEVEL_TEST".equalsIgnoreCase(quiz.getQuizType())) {
+			uService.markLevelTestPending(user, saved.getAttemptId()); // [추가] 로그인 시 바로 레벨 테스트로
+		}
+		return saved;
     }
 	
+	// [추가] 응시 화면 / 채점에 쓰는 출제 문제 목록 (출제 순서대로)
+	// 시드 방식은 시작할 때 저장한 문제 ID 기준, 이전 방식 응시 기록은 시작할 때 만든 답안 행 기준
+	public List<QuizQuestion> getExamQuestions(QuizAttempt attempt) {
+		if (attempt.getSeed() == null) {
+			return qAnswerr.findByqAttempt(attempt).stream().map(QuizAnswer::getQQuestion).toList();
+		}
+		return sampler.questionsInOrder(drawnQuestionIds(attempt));
+	}
+	
+	// [추가] 시드 방식 응시의 출제 문제 ID (출제 순서)
+	// 문제 ID가 저장되기 전에 시작한 응시만 시드로 다시 계산
+	private long[] drawnQuestionIds(QuizAttempt attempt) {
+		if (attempt.getQuestionIds() != null) {
+			return PackedQuestionIds.decode(attempt.getQuestionIds());
+		}
+		return sampler.questionIdsForSeed(attempt.getQuiz().getQuizId(), attempt.getSeed(), QUESTION_COUNT);
+	}
+	
 	
 	// 답안 제출 및 채점
-	@Transactional // 답안 저장, 점수 업데이트, 사용자 레벨 업데이트 등 여러 DB 작업을 하므로
 	// 파라미터 : 응시ID, submittedAnswers(사용자가 제출한 답안 목록), 현재사용자, 최종 점수와 결과 메세지가 포함된 객체(QuizAttempt)
+	// [수정] 점수 0 여부로 중복 제출을 막던 방식 대신 상태 compare-and-set 으로 선점
+	// - STARTED -> GRADING UPDATE 가 1건일 때만 채점 (동시에 두 번 제출해도 한 요청만 채점)
+	// - 0건이면 이미 채점 중이거나 채점 끝난 응시 -> 채점 없이 현재 기록 반환
+	// - 채점은 별도 트랜잭션에서 GRADED 까지 함께 커밋, 실패하면 STARTED 로 되돌려 다시 제출 가능
 	public QuizAttempt submitAnswersAndGrade(long attemptId, 
 			List<QuizAnswerForm> submittedForms, User currentUser) {
 		// 1. 응시 기록 찾기
@@ -88,50 +172,96 @@ public class QuizAttemptService {
 			throw new SecurityException("자신의 응시 기록에만 답안을 제출할 수 있습니다.");
 		}
 		
-		// 중복 제출 방지 (score가 0이 아니면 이미 채점된 것으로 간주)
-		if (attempt.getScore() != 0) {
+		// [추가] 제한 시간(+ 여유 시간)이 지난 제출은 답안을 받지 않고 시간 초과로 채점 (서버 시각 기준)
+		List<QuizAnswerForm> forms = submittedForms;
+		if (attempt.getDeadline() != null
+				&& LocalDateTime.now().isAfter(attempt.getDeadline().plusSeconds(graceSeconds))) {
+			System.out.println("제한 시간이 지난 제출입니다. (Attempt ID: " + attemptId + ")");
+			forms = List.of();
+		}
+		
+		// 중복 제출 방지 (채점 선점)
+		QuizAttempt graded = claimAndGrade(attemptId, forms, currentUser);
+		if (graded == null) {
 			System.out.println("이미 제출된 퀴즈입니다. ((Attempt ID: " + attemptId + ")");
-			return attempt; // 이미 채점했다면, 기존 기록을 반환
+			return getAttemptById(attemptId); // 이미 채점했다면 (또는 채점 중이면), 기존 기록을 반환
+		}
+		return graded;
+	}
+	
+	// [추가] 제한 시간 만료 자동 제출 (ExamTimerWheel 에서 호출, 미응답은 오답 처리)
+	// 리턴 : 이번 호출로 채점했으면 true (이미 제출된 응시면 false)
+	public boolean expireAttempt(Long attemptId) {
+		Optional<QuizAttempt> attempt = qAttemptr.findById(attemptId);
+		if (attempt.isEmpty() || attempt.get().getStatus() == AttemptStatus.GRADED) {
+			return false;
 		}
+		return claimAndGrade(attemptId, List.of(), attempt.get().getUser()) != null;
+	}
+	
+	// [추가] STARTED -> GRADING 선점 후 채점, 선점하지 못하면 null
+	private QuizAttempt claimAndGrade(long attemptId, List<QuizAnswerForm> submittedForms, User user) {
+		if (qAttemptr.compareAndSetStatus(attemptId, AttemptStatus.STARTED, AttemptStatus.GRADING) == 0) {
+			return null;
+		}
+		try {
+			QuizAttempt graded = txTemplate.execute(status -> gradeAttempt(attemptId, submittedForms, user));
+			examTimer.cancel(attemptId); // 마감 예약 정리
+			draftBuffer.discard(attemptId); // 채점에 쓴 임시 답안 정리
+			return graded;
+		} catch (RuntimeException e) {
+			// 채점 실패 -> 선점 해제
+			qAttemptr.compareAndSetStatus(attemptId, AttemptStatus.GRADING, AttemptStatus.STARTED);
+			throw e;
+		}
+	}
+	
+	// [추가] 채점 본체 (submitAnswersAndGrade 에서 GRADING 선점 후 트랜잭션 안에서 호출)
+	// 답안 저장, 점수 업데이트, 사용자 레벨 업데이트, GRADED 상태 변경을 한 번에 커밋
+	private QuizAttempt gradeAttempt(long attemptId, List<QuizAnswerForm> submittedForms, User currentUser) {
+		QuizAttempt attempt = getAttemptById(attemptId); // 선점 UPDATE 이후 상태로 다시 조회
 		
-		// 3. 채점 시작
-		int totalScore = 0; // 총점 계산용 변수
+		// 3. 채점 ([수정] 퀴즈별 채점표(AnswerKey)로 메모리에서 채점, 답안 행은 JDBC batch 한 번으로 기록)
+		// 문제 본문/보기는 읽지 않음
 		Quiz quiz = attempt.getQuiz(); // 이 응시에 해당하는 퀴즈 정보 가져오기
+		AnswerKey answerKey = answerKeys.get(quiz.getQuizId());
+		Map<Long, String> submitted = toSubmittedAnswers(submittedForms); // 문제 ID -> 제출 답안
+		// [추가] 제출 폼에서 비어 있는 문제는 자동 저장된 임시 답안으로 채움 (자동 제출은 임시 답안만으로 채점)
+		getDraftAnswers(attempt).forEach((questionId, answer) -> {
+			if (submitted.getOrDefault(questionId, "").isEmpty()) {
+				submitted.put(questionId, answer);
+			}
+		});
+		List<GradedAnswer> graded;
 		
-		// 4. 제출된 답안 목록(List)를 하나씩 확인
-		for (QuizAnswerForm submittedForm : submittedForms) {
-			
-			// 폼의 'qAnswerId'로 DB에 미리 생성된 QuizAnswer 레코드를 찾습니다.
-						QuizAnswer savedAnswer = qAnswerr.findById(submittedForm.getQAnswerId())
-			                    .orElseThrow(() -> new DataNotFoundException("답안 레코드를 찾을 수 없습니다. ID: " + submittedForm.getQAnswerId()));
-						
-						// 이 답안이 현재 attemptId에 속한 것이 맞는지 이중 확인
-						if (!savedAnswer.getQAttempt().getAttemptId().equals(attemptId)) {
-							throw new SecurityException("잘못된 답안이 제출되었습니다. (Attempt ID 불일치)");
-						}
-						
-						// userAnswer가 null인 경우 빈 문자열로 처리 (객관식 미선택 시)
-						String userAnswer = Optional.ofNullable(submittedForm.getUserAnswer()).orElse("");
-						
-						// 사용자가 선택한 답안을 DB 레코드에 '업데이트'
-						savedAnswer.setUserAnswer(userAnswer); 
-						
-						// 답안에 해당하는 문제 정보 가져오기 (이미 연결되어 있음)
-						QuizQuestion question = savedAnswer.getQQuestion();
-						
-						// 정답 비교
-						boolean isCorrect = question.getCorrectAnswer().equalsIgnoreCase(userAnswer);
-						savedAnswer.setCorrect(isCorrect); // 채점 결과(맞음/틀림) '업데이트'
-						
-						// qAttempt와 qQuestion은 startAttempt에서 이미 설정했으므로 다시 설정할 필요 없음
-						
-						qAnswerr.save(savedAnswer); // ★★★ 변경된 답안(userAnswer, isCorrect)을 DB에 '업데이트'
-						
-						// 맞았으면 점수 합산
-						if (isCorrect) {
-							totalScore += question.getScore(); // 문제에 설정된 점수 더하기
-						}
-					}
+		if (attempt.getSeed() != null) {
+			// 시드 방식: 시작할 때 저장한 출제 문제 ID -> 답안 행 INSERT batch (압축 저장이면 응시 행에 함께 저장)
+			List<Long> questionIds = new ArrayList<>();
+			for (long questionId : drawnQuestionIds(attempt)) {
+				questionIds.add(questionId);
+			}
+			graded = grade(answerKey, questionIds, Map.of(), submitted);
+			// [수정] 보기에 없는 답이 있으면 원문을 잃지 않도록 행으로 저장
+			if (PACKED_STORAGE.equalsIgnoreCase(answerStorage)
+					&& graded.stream().allMatch(a -> answerKey.isPackable(a.questionId(), a.userAnswer()))) {
+				attempt.setPackedAnswers(PackedAnswers.encode(graded.stream()
+						.map(a -> new PackedAnswers.Entry(a.questionId(), a.choice(), a.correct())).toList()));
+			} else {
+				answerWriter.insert(attemptId, graded);
+			}
+		} else {
+			// 4. 이전 방식: 시작할 때 만든 (답안ID, 문제ID) 조회 -> 답안 행 UPDATE batch
+			Map<Long, Long> answerIdByQuestion = new LinkedHashMap<>(); // 출제 순서 유지
+			for (Object[] row : qAnswerr.findAnswerIdAndQuestionIdByAttemptId(attemptId)) {
+				answerIdByQuestion.put((Long) row[1], (Long) row[0]);
+			}
+			graded = grade(answerKey, new ArrayList<>(answerIdByQuestion.keySet()), answerIdByQuestion, submitted);
+			answerWriter.update(attemptId, graded);
+		}
+		
+		// 맞은 문제 점수 합산
+		int totalScore = graded.stream().filter(GradedAnswer::correct).mapToInt(GradedAnswer::score).sum();
+		itemStats.record(graded, totalScore); // [추가] 문제별 정답률 / 보기 분포 / 변별도 (커밋 후 반영)
 		// ---- 채점 끝 ----
 		
 		// 5. 계산된 총점을 응시 기록(Attempt)에 업데이트
@@ -143,33 +273,35 @@ public class QuizAttemptService {
 			// 레벨 테스트 결과 처리: 점수에 따라 사용자 레벨 설정
 			Level assignedLevel;
 			// 점수 기준 (80점 이상 고급, 60점 이상 중급, 그 외 초급)
-			if (attempt.getScore() >= 80) assignedLevel = lService.getLevel(3L); // 고급
-			else if (attempt.getScore() >= 60) assignedLevel = lService.getLevel(2L); // 중급
-            else assignedLevel = lService.getLevel(1L); // 초급
+			// [수정] 기준은 levelIdForLevelTest 한 곳에서 (재채점과 공유)
+			assignedLevel = lService.getLevel(levelIdForLevelTest(attempt.getScore()));
 			
 			User userToUpdate = uService.getUser(currentUser.getUno()); // ID로 DB에서 사용자 다시 조회
-            userToUpdate.setLevel(assignedLevel); // 조회한 객체의 레벨을 변경
+            userToUpdate.setLevel(lService.getLevelReference(assignedLevel.getLevelId())); // 조회한 객체의 레벨을 변경 ([수정] 참조로 연결)
+            userToUpdate.setOnboardingStatus(OnboardingStatus.COMPLETED); // [추가] 레벨 테스트 대기 해제
+            userToUpdate.setLevelTestAttemptId(null);
             uService.save(userToUpdate); // 변경된 객체를 저장
+            eventPublisher.publishEvent(new LearnerProgressChangedEvent(userToUpdate.getUno()));
 			
 			resultMessage = "레벨 테스트 결과에 따라 " + assignedLevel.getLevelName() + "단계 학습부터 시작합니다!";
 			
 			// 승급 테스트 타입 확인
 		} else if (quiz.getQuizType() != null && quiz.getQuizType().startsWith("PROMOTION_TEST")) {
 			// 승급 테스트 결과 처리
-			int passingScore = 80; // 합격 기준 점수 80점
+			int passingScore = PROMOTION_PASSING_SCORE; // 합격 기준 점수 80점
 			if (attempt.getScore() >= passingScore) {
 				User userToUpdate = uService.getUser(currentUser.getUno()); // ID로 DB에서 사용자 다시 조회
 				Level currentLevel = quiz.getLevel(); // 현재 레벨
-				Level nextLevel = null; // 다음 레벨
 				
-				// 다음 레벨 결정 (levelId 기준)
-				if (currentLevel.getLevelId() == 1L) nextLevel = lService.getLevel(2L); // 초급 -> 중급
-				else if (currentLevel.getLevelId() == 2L) nextLevel = lService.getLevel(3L); // 중급 -> 고급
+				// 다음 레벨 결정 ([수정] 승급 단계 레지스트리 기준: 초급 -> 중급 -> 고급, 고급이면 null)
+				Level nextLevel = lService.getNextLevel(currentLevel.getLevelId());
 					// 승급 대상인지 확인 코드 추가 (사용자 레벨 정보 DB업데이트)
 				if (nextLevel != null) {
-					if (userToUpdate.getLevel().getLevelId() < nextLevel.getLevelId()) {
-						userToUpdate.setLevel(nextLevel);
+					if (lService.isBelow(userToUpdate.getLevel() != null ? userToUpdate.getLevel().getLevelId() : null,
+							nextLevel.getLevelId())) { // [수정] 승급 순서 기준
+						userToUpdate.setLevel(lService.getLevelReference(nextLevel.getLevelId()));
 						uService.save(userToUpdate);
+						eventPublisher.publishEvent(new LearnerProgressChangedEvent(userToUpdate.getUno()));
 						resultMessage = "축하합니다! 이제 " + nextLevel.getLevelName() + "단계 강의를 수강하실 수 있습니다.";
 					} else {
                         resultMessage = "테스트를 통과했지만, 이미 " + nextLevel.getLevelName() + "단계를 통과하셨습니다.";
@@ -183,8 +315,14 @@ public class QuizAttemptService {
 	    }
 	// --- 결과 처리 끝 ---
 		
-	// 6. 응시 기록(Attempt) DB에 최종 저장
+	// 6. 응시 기록(Attempt) DB에 최종 저장 ([추가] 채점 완료 상태로, 임시 답안은 비움)
+	attempt.setStatus(AttemptStatus.GRADED);
+	attempt.setDraftAnswers(null);
 	QuizAttempt savedAttempt = qAttemptr.save(attempt);
+	if (attempt.getLiveCode() == null) { // [수정] 라이브 퀴즈 응시는 순위표에서 제외
+		leaderboards.record(quiz.getQuizId(), attempt.getUser().getUno(), attempt.getUser().getUserName(),
+				attempt.getScore(), attemptId); // [추가] 커밋 후 순위표 반영
+	}
 	
 	// 7. 결과 메시지를 임시로 담아서 반환
 	System.out.println("퀴즈 결과 메시지: " + resultMessage); // 임시로 콘솔 출력
@@ -192,6 +330,133 @@ public class QuizAttemptService {
 	return savedAttempt; // 최종 점수가 업데이트된 응시 기록 반환	
 }
 	
+	// 레벨 테스트 점수 -> 배정 레벨 ID (80점 이상 고급, 60점 이상 중급, 그 외 초급)
+	static long levelIdForLevelTest(int score) {
+		if (score >= 80) return 3L; // 고급
+		if (score >= 60) return 2L; // 중급
+		return 1L; // 초급
+	}
+	
+	// [추가] 재채점으로 점수가 바뀐 응시의 레벨 결과 다시 반영 (QuizRegradeService 의 청크 트랜잭션 안에서 호출)
+	// - 레벨 테스트: 회원이 아직 이 응시로 배정된 레벨에 있을 때만 새 점수 기준 레벨로 변경 (이후 승급했으면 그대로)
+	// - 승급 테스트: 새로 합격 -> 승급 / 합격 취소 -> 다른 합격 기록이 없고 이 승급 레벨에 머물러 있을 때만 원래 레벨로
+	// 리턴 : 회원 레벨이 바뀌었으면 true
+	public boolean reapplyOutcome(Quiz quiz, Long uno, Long attemptId, int oldScore, int newScore) {
+		String quizType = quiz.getQuizType();
+		User user = uService.getUser(uno);
+		Long currentLevelId = user.getLevel() != null ? user.getLevel().getLevelId() : null;
+		Level newLevel = null;
+		
+		if ("LEVEL_TEST".equalsIgnoreCase(quizType)) {
+			long oldLevelId = levelIdForLevelTest(oldScore);
+			long newLevelId = levelIdForLevelTest(newScore);
+			if (oldLevelId != newLevelId && Long.valueOf(oldLevelId).equals(currentLevelId)) {
+				newLevel = lService.getLevel(newLevelId);
+			}
+		} else if (quizType != null && quizType.startsWith("PROMOTION_TEST") && quiz.getLevel() != null) {
+			boolean passedBefore = oldScore >= PROMOTION_PASSING_SCORE;
+			boolean passedNow = newScore >= PROMOTION_PASSING_SCORE;
+			Level nextLevel = lService.getNextLevel(quiz.getLevel().getLevelId());
+			if (passedBefore == passedNow || nextLevel == null || currentLevelId == null) {
+				return false;
+			}
+			if (passedNow && lService.isBelow(currentLevelId, nextLevel.getLevelId())) {
+				newLevel = nextLevel;
+			} else if (!passedNow && currentLevelId.equals(nextLevel.getLevelId())
+					&& !qAttemptr.existsByUser_UnoAndQuiz_QuizIdAndStatusAndLiveCodeIsNullAndScoreGreaterThanEqualAndAttemptIdNot(uno,
+							quiz.getQuizId(), AttemptStatus.GRADED, PROMOTION_PASSING_SCORE, attemptId)) {
+				newLevel = quiz.getLevel();
+			}
+		}
+		
+		if (newLevel == null) {
+			return false;
+		}
+		user.setLevel(lService.getLevelReference(newLevel.getLevelId())); // [수정] 참조로 연결
+		uService.save(user);
+		eventPublisher.publishEvent(new LearnerProgressChangedEvent(uno));
+		System.out.println("재채점으로 레벨 변경: 회원 " + uno + " -> " + newLevel.getLevelName() + " (Attempt ID: " + attemptId + ")");
+		return true;
+	}
+	
+	// [추가] 임시 답안 자동 저장 (보기 선택 시마다 호출, 버퍼에만 반영하고 DB 는 DraftAnswerBuffer 가 주기적으로)
+	public void saveDraftAnswer(Long attemptId, Long questionId, String userAnswer, User currentUser) {
+		DraftAnswerBuffer.Draft draft = draftBuffer.open(attemptId, () -> loadDraft(attemptId));
+		
+		if (!draft.getUno().equals(currentUser.getUno())) {
+			throw new SecurityException("자신의 응시 기록에만 답안을 저장할 수 있습니다.");
+		}
+		if (!draft.isDrawn(questionId)) {
+			throw new IllegalArgumentException("잘못된 답안입니다. (출제되지 않은 문제)");
+		}
+		draft.put(questionId, userAnswer);
+	}
+	
+	// [추가] 버퍼에 처음 올릴 때 한 번: 소유자, 출제 문제 ID, DB 에 저장돼 있던 임시 답안
+	private DraftAnswerBuffer.Draft loadDraft(Long attemptId) {
+		QuizAttempt attempt = getAttemptById(attemptId);
+		if (attempt.getStatus() != AttemptStatus.STARTED) {
+			throw new IllegalStateException("이미 제출된 퀴즈입니다.");
+		}
+		if (attempt.getDeadline() != null
+				&& LocalDateTime.now().isAfter(attempt.getDeadline().plusSeconds(graceSeconds))) {
+			throw new IllegalStateException("제한 시간이 지났습니다.");
+		}
+		
+		Set<Long> questionIds = new HashSet<>();
+		if (attempt.getSeed() != null) {
+			for (long questionId : drawnQuestionIds(attempt)) {
+				questionIds.add(questionId);
+			}
+		} else {
+			for (Object[] row : qAnswerr.findAnswerIdAndQuestionIdByAttemptId(attemptId)) {
+				questionIds.add((Long) row[1]);
+			}
+		}
+		return new DraftAnswerBuffer.Draft(attempt.getUser().getUno(), questionIds,
+				draftBuffer.fromJson(attempt.getDraftAnswers()));
+	}
+	
+	// [추가] 임시 답안 (문제 ID -> 답안) - 버퍼에 있으면 버퍼, 없으면 마지막으로 DB 에 저장된 스냅샷
+	public Map<Long, String> getDraftAnswers(QuizAttempt attempt) {
+		Map<Long, String> draft = draftBuffer.peek(attempt.getAttemptId());
+		return draft != null ? draft : draftBuffer.fromJson(attempt.getDraftAnswers());
+	}
+	
+	// [추가] 제출 폼 -> 문제 ID 별 답안 (미선택은 빈 문자열)
+	private static Map<Long, String> toSubmittedAnswers(List<QuizAnswerForm> submittedForms) {
+		Map<Long, String> submitted = new HashMap<>();
+		for (QuizAnswerForm form : submittedForms) {
+			if (form.getQQuestionId() != null) {
+				submitted.put(form.getQQuestionId(), Optional.ofNullable(form.getUserAnswer()).orElse(""));
+			}
+		}
+		return submitted;
+	}
+	
+	// [추가] 메모리 채점 (출제된 문제마다 한 개, 미응답은 빈 답안으로 오답 처리)
+	// 파라미터 : answerKey(퀴즈 채점표), questionIds(출제 문제 ID, 출제 순서), answerIdByQuestion(이전 방식의 답안 행 ID),
+	//          submitted(문제 ID -> 제출 답안)
+	private static List<GradedAnswer> grade(AnswerKey answerKey, List<Long> questionIds,
+			Map<Long, Long> answerIdByQuestion, Map<Long, String> submitted) {
+		// [수정] 출제되지 않은 문제의 답안은 거부하지 않고 채점에서 제외 (출제 문제만 돌면서 채점)
+		if (!Set.copyOf(questionIds).containsAll(submitted.keySet())) {
+			System.err.println("출제되지 않은 문제의 답안은 채점에서 제외합니다.");
+		}
+		
+		List<GradedAnswer> graded = new ArrayList<>(questionIds.size());
+		for (Long questionId : questionIds) {
+			if (!answerKey.contains(questionId)) {
+				continue; // 응시 도중 삭제된 문제
+			}
+			String userAnswer = submitted.getOrDefault(questionId, "");
+			boolean isCorrect = answerKey.isCorrect(questionId, userAnswer); // 정답 비교
+			graded.add(new GradedAnswer(answerIdByQuestion.get(questionId), questionId, userAnswer,
+					answerKey.choiceOf(questionId, userAnswer), isCorrect, answerKey.scoreOf(questionId)));
+		}
+		return graded;
+	}
+	
 	// ----- CRUD 메서드들 -----
 	
 	
@@ -223,6 +488,60 @@ public class QuizAttemptService {
     	
     	// 그 다음 QuizAttempt 삭제
         qAttemptr.delete(attempt);
+        uService.clearPendingLevelTest(attempt.getUser(), attemptId); // [추가] 삭제된 응시가 대기 중인 레벨 테스트였다면 해제
+        
+        // [추가] 최고 점수 기록이 지워졌을 수 있으므로 커밋 후 해당 퀴즈 순위표 다시 만들기
+        Long quizId = attempt.getQuiz().getQuizId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        	@Override
+        	public void afterCommit() {
+        		leaderboards.rebuild(quizId);
+        	}
+        });
+    }
+    
+    // [추가] 결과 화면 순위 (상위 10명 + 내 순위)
+    public List<QuizLeaderboard.Entry> getLeaderboard(Long quizId) {
+    	return leaderboards.top(quizId, LEADERBOARD_SIZE);
+    }
+    
+    public QuizLeaderboard.Rank getRank(Long quizId, Long uno) {
+    	return leaderboards.rankOf(quizId, uno);
+    }
+    
+    // [추가] 결과 화면용 답안 목록 (출제 순서)
+    // 압축 저장: 응시 행의 packed_answers + 출제된 문제 컬럼 조회 1번 / 행 저장: 답안 행과 문제 join fetch 1번
+    public List<AttemptAnswer> getAttemptAnswers(QuizAttempt attempt) {
+    	if (attempt.getPackedAnswers() == null) {
+    		return qAnswerr.findWithQuestionByAttemptId(attempt.getAttemptId()).stream()
+    				.map(a -> new AttemptAnswer(a.getQQuestion(), a.getUserAnswer(), a.isCorrect()))
+    				.toList();
+    	}
+    	
+    	// [수정] 압축 저장: 응시 행 하나 + 이 응시에 출제된 문제만 필요한 컬럼으로 조회 (채점표는 정규화된 값만 보관)
+    	// - 선택한 답은 보기 번호로만 저장되므로 보기 원문은 조회 시점의 보기 (이후 보기 문구를 고치면 고친 문구로 보임)
+    	// - 보기에 없는 답이 있던 응시는 채점 / 이관 때 행 저장으로 남겨 원문을 그대로 보여줌
+    	List<PackedAnswers.Entry> entries = PackedAnswers.decode(attempt.getPackedAnswers());
+    	Map<Long, Object[]> rows = new HashMap<>();
+    	for (Object[] row : qQuestionr.findResultRowsByQuestionIdIn(
+    			entries.stream().map(PackedAnswers.Entry::questionId).toList())) {
+    		rows.put((Long) row[0], row);
+    	}
+    	List<AttemptAnswer> answers = new ArrayList<>(entries.size());
+    	for (PackedAnswers.Entry entry : entries) {
+    		Object[] row = rows.get(entry.questionId());
+    		if (row == null) {
+    			continue; // 이후 삭제된 문제
+    		}
+    		// 결과 화면용 문제 (본문, 정답만 채운 조회용 객체, DB 에 연결되지 않음)
+    		QuizQuestion question = new QuizQuestion();
+    		question.setQuestionId(entry.questionId());
+    		question.setQuizContent((String) row[1]);
+    		question.setCorrectAnswer((String) row[2]);
+    		String chosen = entry.choice() >= 1 && entry.choice() <= 4 ? (String) row[2 + entry.choice()] : null;
+    		answers.add(new AttemptAnswer(question, chosen, entry.correct()));
+    	}
+    	return answers;
     }
     
     // 결과를 다시 볼 때 쓰일 메서드
@@ -244,6 +563,47 @@ public class QuizAttemptService {
         return qAttemptr.findFirstByUserAndQuizOrderByAttemptedCdateDesc(user, quiz);
     }
     
+    // [추가] 아직 제출하지 않은 가장 최근 응시 (로그인 시 레벨 테스트 미완료 확인용, 인덱스 조회 한 번)
+    public Optional<QuizAttempt> findUnfinishedAttempt(Long uno, Long quizId) {
+    	return qAttemptr.findFirstByUser_UnoAndQuiz_QuizIdAndStatusOrderByAttemptIdDesc(uno, quizId,
+    			AttemptStatus.STARTED);
+    }
+
+    // [추가] 레벨 테스트 응시 (가입 직후 첫 방문 때 생성)
+    // - 회원가입은 회원 행만 저장하고, 문제 추출 / 응시 생성은 처음 레벨 테스트 화면에 들어올 때 수행
+    // - 이미 미제출 응시가 있으면 그 응시를, 이미 제출했으면 empty
+    // - [수정] GET 요청이라 새로고침 / 탭 여러 개로 동시에 들어올 수 있으므로 회원 행을 잠그고 확인 -> 생성
+    //   (먼저 들어온 요청이 커밋할 때까지 다음 요청은 대기, 이후 만들어진 응시를 보고 새로 만들지 않음)
+    @Transactional
+    public Optional<QuizAttempt> startLevelTest(User user) {
+    	// 트랜잭션의 첫 조회로 잠금 (MySQL REPEATABLE READ 의 읽기 시점이 잠금 이후로 잡히도록)
+    	userr.lockByUno(user.getUno());
+    	
+    	Optional<QuizRef> levelTestRef = registry.findQuizByType(ReferenceDataRegistry.LEVEL_TEST);
+    	if (levelTestRef.isEmpty()) {
+    		System.err.println("레벨 테스트를 찾을 수 없습니다.");
+    		return Optional.empty();
+    	}
+    	Long quizId = levelTestRef.get().quizId();
+
+    	// 1. 미제출 응시가 있으면 이어서 응시 (대기 상태도 그 응시로 맞춤)
+    	Optional<QuizAttempt> unfinished = findUnfinishedAttempt(user.getUno(), quizId);
+    	if (unfinished.isPresent()) {
+    		if (!unfinished.get().getAttemptId().equals(user.getLevelTestAttemptId())) {
+    			uService.markLevelTestPending(user, unfinished.get().getAttemptId());
+    		}
+    		return unfinished;
+    	}
+    	// 2. 이미 제출했으면 새로 만들지 않음
+    	if (qAttemptr.existsByUserAndQuiz_QuizType(user, ReferenceDataRegistry.LEVEL_TEST)) {
+    		return Optional.empty();
+    	}
+    	// 3. 처음이면 응시 생성 (startAttempt 에서 대기 상태에 응시 ID 기록)
+    	Quiz levelTestQuiz = quizr.findById(quizId)
+    			.orElseThrow(() -> new DataNotFoundException("레벨 테스트를 찾을 수 없습니다. Quiz ID: " + quizId));
+    	return Optional.of(startAttempt(levelTestQuiz, user));
+    }
+    
     
    // 결과 메세지를 생성하는 메서드
    public String generateResultMessage(QuizAttempt attempt) {
@@ -255,18 +615,14 @@ public class QuizAttemptService {
     	if ("LEVEL_TEST".equalsIgnoreCase(quiz.getQuizType())) {
             // 레벨 테스트 결과 메시지 생성
             Level assignedLevel;
-            if (attempt.getScore() >= 80) assignedLevel = lService.getLevel(3L); // 고급
-            else if (attempt.getScore() >= 60) assignedLevel = lService.getLevel(2L); // 중급
-            else assignedLevel = lService.getLevel(1L); // 초급
+            assignedLevel = lService.getLevel(levelIdForLevelTest(attempt.getScore())); // [수정] 기준 공유
             resultMessage = "레벨 테스트 결과에 따라 " + assignedLevel.getLevelName() + "단계 학습부터 시작합니다!";
     } else if ("PROMOTION_TEST".equalsIgnoreCase(quiz.getQuizType())) {
         // 승급 테스트 결과 메시지 생성
-        int passingScore = 80; // 합격 기준 점수
+        int passingScore = PROMOTION_PASSING_SCORE; // 합격 기준 점수
         if (attempt.getScore() >= passingScore) {
              Level currentLevel = quiz.getLevel();
-             Level nextLevel = null;
-             if (currentLevel.getLevelId() == 1L) nextLevel = lService.getLevel(2L); // 초급 -> 중급
-             else if (currentLevel.getLevelId() == 2L) nextLevel = lService.getLevel(3L); // 중급 -> 고급
+             Level nextLevel = lService.getNextLevel(currentLevel.getLevelId()); // [수정] 초급 -> 중급 -> 고급
 
              if (nextLevel != null) {
                 resultMessage = "축하합니다! 이제 " + nextLevel.getLevelName() + "단계 강의를 수강하실 수 있습니다.";
@@ -279,4 +635,4 @@ public class QuizAttemptService {
     }
     	return resultMessage;
     }
-}
\ No newline at end of file
+}
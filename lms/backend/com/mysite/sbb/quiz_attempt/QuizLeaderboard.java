@@ -0,0 +1,114 @@
+package com.mysite.sbb.quiz_attempt;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// 퀴즈 하나의 순위표 (회원별 최고 점수)
+// - 순위 정렬: 레드블랙 트리(TreeSet) - 점수 내림차순, 같은 점수면 먼저 달성한 응시(응시 ID 작은 쪽) 먼저 -> 상위 N명 O(log n + N)
+// - 내 순위: 점수별 인원 수 Fenwick 트리 - "나보다 점수 높은 사람 수" 를 O(log 최고점) 으로 계산
+// - 동시 접근은 synchronized (쓰기는 채점 1건당 1번, 읽기는 결과 화면 1번)
+public class QuizLeaderboard {
+
+	public record Entry(Long uno, String userName, int score, Long attemptId) {
+	}
+
+	// percentile : 나보다 점수가 낮은 사람 비율 (%) / topPercent : 상위 몇 % 인지 (1위 = 100/total 올림)
+	public record Rank(int rank, int total, int percentile, int topPercent) {
+	}
+
+	private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::score).reversed()
+			.thenComparing(Entry::attemptId).thenComparing(Entry::uno);
+
+	private final Map<Long, Entry> best = new HashMap<>();
+	private final TreeSet<Entry> ranking = new TreeSet<>(ORDER);
+	private long[] tree = new long[128]; // Fenwick (1-based, 점수 s 는 s + 1 칸)
+
+	// 채점 결과 반영 (회원의 기존 최고 점수보다 높을 때만)
+	public synchronized void offer(Long uno, String userName, int score, Long attemptId) {
+		Entry current = best.get(uno);
+		if (current != null && current.score() >= score) {
+			return;
+		}
+		Entry entry = new Entry(uno, userName, Math.max(0, score), attemptId);
+		if (entry.score() + 1 >= tree.length) {
+			grow(entry.score() + 2); // 최고점이 배열보다 크면 (변경 전에 현재 기록 기준으로) 늘림
+		}
+		if (current != null) {
+			ranking.remove(current);
+			add(current.score(), -1);
+		}
+		best.put(uno, entry);
+		ranking.add(entry);
+		add(entry.score(), 1);
+	}
+
+	// 상위 N명
+	public synchronized List<Entry> top(int n) {
+		List<Entry> result = new ArrayList<>(Math.min(n, ranking.size()));
+		for (Entry entry : ranking) {
+			if (result.size() >= n) {
+				break;
+			}
+			result.add(entry);
+		}
+		return result;
+	}
+
+	// 회원의 순위 (같은 점수는 같은 순위), 기록이 없으면 null
+	public synchronized Rank rankOf(Long uno) {
+		Entry entry = best.get(uno);
+		if (entry == null) {
+			return null;
+		}
+		int total = best.size();
+		int higher = total - (int) prefix(entry.score()); // 점수 > 내 점수
+		int lower = (int) prefix(entry.score() - 1); // 점수 < 내 점수
+		int rank = higher + 1;
+		return new Rank(rank, total, total > 1 ? lower * 100 / (total - 1) : 100,
+				(int) Math.ceil(rank * 100.0 / total));
+	}
+
+	public synchronized int size() {
+		return best.size();
+	}
+
+	// 점수 score 인원 +delta
+	private void add(int score, long delta) {
+		for (int i = score + 1; i < tree.length; i += i & -i) {
+			tree[i] += delta;
+		}
+	}
+
+	// 점수 0 ~ score 인원 수
+	private long prefix(int score) {
+		long sum = 0;
+		for (int i = Math.min(score + 1, tree.length - 1); i > 0; i -= i & -i) {
+			sum += tree[i];
+		}
+		return sum;
+	}
+
+	private void grow(int minLength) {
+		int length = tree.length;
+		while (length < minLength) {
+			length <<= 1;
+		}
+		// 크기가 바뀌면 구간 범위가 달라지므로 점수별 인원 수로 다시 만듦
+		long[] counts = new long[length];
+		for (Entry entry : best.values()) {
+			counts[entry.score() + 1]++;
+		}
+		tree = new long[length];
+		for (int i = 1; i < length; i++) {
+			tree[i] += counts[i];
+			int parent = i + (i & -i);
+			if (parent < length) {
+				tree[parent] += tree[i];
+			}
+		}
+	}
+}
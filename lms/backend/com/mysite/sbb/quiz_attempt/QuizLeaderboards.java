@@ -0,0 +1,85 @@
+package com.mysite.sbb.quiz_attempt;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+// 퀴즈별 순위표 모음 (퀴즈 ID -> QuizLeaderboard)
+// - 서버 시작 시 채점된 응시를 스트리밍으로 한 번 읽어서 채움 (전체 목록을 메모리에 올리지 않음)
+// - 이후에는 채점이 커밋될 때마다 해당 퀴즈 순위표에 반영
+// - 재채점 / 응시 삭제처럼 점수가 내려갈 수 있는 변경은 해당 퀴즈만 다시 만듦
+// - [수정] 라이브 퀴즈 응시(live_code 있음)는 순위표에 넣지 않음 (일반 응시만)
+@RequiredArgsConstructor
+@Component
+public class QuizLeaderboards {
+
+	private final QuizAttemptRepository qAttemptr;
+
+	private final Map<Long, QuizLeaderboard> boards = new ConcurrentHashMap<>();
+
+	// 채점 결과 반영 (트랜잭션 안이면 커밋된 뒤에) - 라이브 응시는 호출하지 않음
+	public void record(Long quizId, Long uno, String userName, int score, Long attemptId) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					board(quizId).offer(uno, userName, score, attemptId);
+				}
+			});
+		} else {
+			board(quizId).offer(uno, userName, score, attemptId);
+		}
+	}
+
+	// 상위 N명
+	public List<QuizLeaderboard.Entry> top(Long quizId, int n) {
+		QuizLeaderboard board = boards.get(quizId);
+		return board == null ? List.of() : board.top(n);
+	}
+
+	// 회원의 순위 (기록이 없으면 null)
+	public QuizLeaderboard.Rank rankOf(Long quizId, Long uno) {
+		QuizLeaderboard board = boards.get(quizId);
+		return board == null ? null : board.rankOf(uno);
+	}
+
+	// 서버 시작 시 전체 순위표 만들기
+	@Transactional(readOnly = true) // 스트리밍 조회는 트랜잭션 안에서
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuildAll() {
+		long[] count = new long[1];
+		try (Stream<Object[]> rows = qAttemptr.streamScores(AttemptStatus.GRADED)) {
+			rows.forEach(row -> {
+				board((Long) row[0]).offer((Long) row[1], (String) row[2], (Integer) row[3], (Long) row[4]);
+				count[0]++;
+			});
+		}
+		System.out.println("퀴즈 순위표 생성: 퀴즈 " + boards.size() + "개, 응시 " + count[0] + "건");
+	}
+
+	// 퀴즈 하나의 순위표 다시 만들기 (새 순위표로 먼저 교체해서 그동안 들어오는 채점도 함께 반영)
+	// afterCommit 에서도 호출되므로 별도 트랜잭션으로
+	@Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+	public void rebuild(Long quizId) {
+		QuizLeaderboard board = new QuizLeaderboard();
+		boards.put(quizId, board);
+		try (Stream<Object[]> rows = qAttemptr.streamScoresByQuizId(quizId, AttemptStatus.GRADED)) {
+			rows.forEach(row -> board.offer((Long) row[1], (String) row[2], (Integer) row[3], (Long) row[4]));
+		}
+	}
+
+	private QuizLeaderboard board(Long quizId) {
+		return boards.computeIfAbsent(quizId, id -> new QuizLeaderboard());
+	}
+}
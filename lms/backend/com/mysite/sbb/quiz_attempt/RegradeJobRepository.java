@@ -0,0 +1,18 @@
+package com.mysite.sbb.quiz_attempt;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RegradeJobRepository extends JpaRepository<RegradeJob, Long> {
+
+	// 퀴즈의 진행 중인 재채점 작업
+	Optional<RegradeJob> findFirstByQuizIdAndStatus(Long quizId, String status);
+
+	// 재시작 시 이어서 진행할 작업
+	List<RegradeJob> findByStatus(String status);
+
+	// 관리자 진행 상황 조회 (최근 작업 순)
+	List<RegradeJob> findTop20ByOrderByJobIdDesc();
+}
@@ -0,0 +1,98 @@
+package com.mysite.sbb.quiz_question;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// 퀴즈 한 개의 채점표 (문제ID -> 정규화된 정답, 배점, 정규화된 보기 4개)
+// - 채점할 때 문제 본문 / 보기 4개(TEXT)를 가진 QuizQuestion 엔티티를 읽지 않도록 필요한 값만 배열로 보관
+// - 보기는 답안 압축 저장(PackedAnswers)에서 선택한 답을 보기 번호로 바꿀 때 사용
+//   [수정] 해시 충돌로 다른 보기가 맞다고 판정되지 않도록 해시 대신 정규화된 문자열을 그대로 비교
+// - 문제 ID 오름차순 배열 + 이진 탐색, 만든 뒤에는 바뀌지 않음 (여러 요청이 락 없이 공유)
+public final class AnswerKey {
+
+	private final long version; // 만들 당시의 퀴즈 문제 버전 (AnswerKeyCache)
+	private final long[] questionIds;
+	private final String[] answers;
+	private final int[] scores;
+	private final String[] options; // 문제당 4칸 (보기1 ~ 보기4)
+
+	// rows : (문제ID, 정답, 배점, 보기1, 보기2, 보기3, 보기4)
+	AnswerKey(long version, List<Object[]> rows) {
+		Object[][] sorted = rows.toArray(new Object[0][]);
+		Arrays.sort(sorted, (a, b) -> Long.compare((Long) a[0], (Long) b[0]));
+		this.version = version;
+		this.questionIds = new long[sorted.length];
+		this.answers = new String[sorted.length];
+		this.scores = new int[sorted.length];
+		this.options = new String[sorted.length * 4];
+		for (int i = 0; i < sorted.length; i++) {
+			questionIds[i] = (Long) sorted[i][0];
+			answers[i] = normalize((String) sorted[i][1]);
+			scores[i] = sorted[i][2] != null ? (Integer) sorted[i][2] : 0;
+			for (int k = 0; k < 4; k++) {
+				options[i * 4 + k] = normalize((String) sorted[i][3 + k]);
+			}
+		}
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	// 이 퀴즈의 문제인지
+	public boolean contains(Long questionId) {
+		return indexOf(questionId) >= 0;
+	}
+
+	// 정답 여부 (대소문자, 앞뒤 공백 무시)
+	public boolean isCorrect(Long questionId, String userAnswer) {
+		int index = indexOf(questionId);
+		return index >= 0 && answers[index].equals(normalize(userAnswer));
+	}
+
+	// 배점 (없는 문제면 0)
+	public int scoreOf(Long questionId) {
+		int index = indexOf(questionId);
+		return index >= 0 ? scores[index] : 0;
+	}
+
+	// 선택한 답이 몇 번 보기인지 (1 ~ 4, 미선택이거나 보기에 없는 답이면 0)
+	public int choiceOf(Long questionId, String userAnswer) {
+		int index = indexOf(questionId);
+		String normalized = normalize(userAnswer);
+		if (index < 0 || normalized.isEmpty()) {
+			return 0;
+		}
+		for (int k = 0; k < 4; k++) {
+			if (options[index * 4 + k].equals(normalized)) {
+				return k + 1;
+			}
+		}
+		return 0;
+	}
+
+	// 압축 저장된 보기 번호가 정답인지 (보기와 정답 비교, 재채점용)
+	public boolean isCorrectChoice(Long questionId, int choice) {
+		int index = indexOf(questionId);
+		return index >= 0 && choice >= 1 && choice <= 4
+				&& options[index * 4 + choice - 1].equals(answers[index]);
+	}
+
+	// [추가] 압축 저장(보기 번호)으로 옮겨도 잃는 내용이 없는 답인지 (미선택이거나 보기 중 하나)
+	public boolean isPackable(Long questionId, String userAnswer) {
+		return normalize(userAnswer).isEmpty() || choiceOf(questionId, userAnswer) != 0;
+	}
+
+	public int size() {
+		return questionIds.length;
+	}
+
+	private int indexOf(Long questionId) {
+		return questionId == null ? -1 : Arrays.binarySearch(questionIds, questionId);
+	}
+
+	static String normalize(String answer) {
+		return answer == null ? "" : answer.trim().toLowerCase(Locale.ROOT);
+	}
+}
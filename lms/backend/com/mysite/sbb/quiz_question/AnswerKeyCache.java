@@ -0,0 +1,71 @@
+package com.mysite.sbb.quiz_question;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+// 퀴즈별 채점표(AnswerKey) 캐시
+// - 처음 채점할 때 (문제ID, 정답, 배점, 보기) 컬럼만 조회해서 만들고, 최대 퀴즈 수를 넘으면 가장 오래 안 쓴 것부터 제거 (LRU)
+// - QuizQuestionService 의 문제 등록 / 수정 / 삭제에서 invalidate -> 퀴즈별 버전 증가
+// - 만드는 도중 버전이 바뀌었으면 (그 사이 문제 수정) 결과를 캐시에 넣지 않음
+@RequiredArgsConstructor
+@Component
+public class AnswerKeyCache {
+
+	private final QuizQuestionRepository qQuestionr;
+
+	@Value("${lms.answer-key-cache.max-quizzes:256}")
+	private int maxQuizzes;
+
+	private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+	// access-order LinkedHashMap -> LRU (접근은 모두 synchronized(cache) 안에서)
+	private final LinkedHashMap<Long, AnswerKey> cache = new LinkedHashMap<>(64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, AnswerKey> eldest) {
+			return size() > maxQuizzes;
+		}
+	};
+
+	public AnswerKey get(Long quizId) {
+		long version = versionOf(quizId).get();
+		synchronized (cache) {
+			AnswerKey cached = cache.get(quizId);
+			if (cached != null && cached.getVersion() == version) {
+				return cached;
+			}
+		}
+
+		// DB 조회는 락 밖에서
+		AnswerKey built = new AnswerKey(version, qQuestionr.findAnswerKeyRowsByQuizId(quizId));
+		synchronized (cache) {
+			if (versionOf(quizId).get() == version) {
+				cache.put(quizId, built);
+			}
+		}
+		return built;
+	}
+
+	// 문제 등록 / 수정 / 삭제 후 호출
+	public void invalidate(Long quizId) {
+		if (quizId == null) {
+			return;
+		}
+		versionOf(quizId).incrementAndGet();
+		synchronized (cache) {
+			cache.remove(quizId);
+		}
+	}
+
+	private AtomicLong versionOf(Long quizId) {
+		return versions.computeIfAbsent(quizId, k -> new AtomicLong());
+	}
+}
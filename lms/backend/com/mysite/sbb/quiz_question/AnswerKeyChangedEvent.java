@@ -0,0 +1,5 @@
+package com.mysite.sbb.quiz_question;
+
+// 문제의 정답 / 배점이 바뀌었을 때 발행 (QuizRegradeService 가 기존 응시를 재채점)
+public record AnswerKeyChangedEvent(Long quizId) {
+}
@@ -0,0 +1,53 @@
+package com.mysite.sbb.quiz_question;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+// 문제별 문항 분석 누적값 (ItemStatsAccumulator 가 채점 때마다 모아서 주기적으로 더함)
+// - 정답률, 보기별 선택 비율, 점이연 상관(변별도)을 누적 합계만으로 계산할 수 있도록 합계 / 제곱합을 보관
+// - 정답 / 배점이 바뀌면 초기화 (바뀐 정답 기준으로 다시 쌓음)
+@Getter
+@Setter
+@Entity
+@Table(name = "question_stats")
+public class QuestionStats {
+
+	@Id
+	@Column(name = "question_id")
+	private Long questionId;
+
+	@Column(name = "attempts")
+	private long attempts; // 이 문제가 채점된 횟수
+
+	@Column(name = "correct_count")
+	private long correctCount;
+
+	@Column(name = "option1_count")
+	private long option1Count;
+
+	@Column(name = "option2_count")
+	private long option2Count;
+
+	@Column(name = "option3_count")
+	private long option3Count;
+
+	@Column(name = "option4_count")
+	private long option4Count;
+
+	@Column(name = "other_count")
+	private long otherCount; // 미선택 또는 보기에 없는 답
+
+	// 응시 총점 합계 / 제곱합 / 이 문제를 맞힌 응시의 총점 합계 (점이연 상관 계산용)
+	@Column(name = "sum_total")
+	private long sumTotal;
+
+	@Column(name = "sum_total_sq")
+	private long sumTotalSq;
+
+	@Column(name = "sum_total_correct")
+	private long sumTotalCorrect;
+}
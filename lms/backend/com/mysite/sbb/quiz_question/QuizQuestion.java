@@ -2,9 +2,11 @@ package com.mysite.sbb.quiz_question;
 
 import com.mysite.sbb.quiz.Quiz;
 import com.mysite.sbb.user.User;
+import com.mysite.sbb.sampling.SamplingPoolListener;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -17,6 +19,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+@EntityListeners(SamplingPoolListener.class) // 랜덤 샘플링 ID 풀 갱신
 @Table(name = "quiz_question")
 public class QuizQuestion {
 	
@@ -56,4 +59,4 @@ public class QuizQuestion {
 	@JoinColumn(name = "author_uno")
     private User author;
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.mysite.sbb.quiz_question;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -15,9 +16,20 @@ public interface QuizQuestionRepository extends JpaRepository<QuizQuestion, Long
 	// 퀴즈 ID로 문제를 찾되, 페이징을 적용하는 메소드
 	Page<QuizQuestion> findByQuizQuizId(Long quizId, Pageable pageable);
 	
-	// 특정 퀴즈(Quiz)에 속한 문제들 중 20개를 랜덤으로 추출합니다.
-	@Query(value = "SELECT * FROM quiz_question WHERE quiz_id = :quizId ORDER BY RAND() LIMIT 20", nativeQuery = true)
-	List<QuizQuestion> findRandom20QuestionsByQuizId(@Param("quizId") Long quizId);
+	// [수정] 랜덤 20문제 추출은 ORDER BY RAND() 대신 RandomSampler 사용
+	// 샘플링 풀 구성용: 특정 퀴즈의 문제 ID만 조회
+	@Query("SELECT q.questionId FROM QuizQuestion q WHERE q.quiz.quizId = :quizId")
+	List<Long> findQuestionIdByQuizId(@Param("quizId") Long quizId);
+	
+	// [추가] 채점표(AnswerKey) 구성용: (문제ID, 정답, 배점, 보기1~4)
+	@Query("SELECT q.questionId, q.correctAnswer, q.score, q.option1, q.option2, q.option3, q.option4 "
+			+ "FROM QuizQuestion q WHERE q.quiz.quizId = :quizId")
+	List<Object[]> findAnswerKeyRowsByQuizId(@Param("quizId") Long quizId);
+	
+	// [추가] 압축 저장된 응시의 결과 화면용: 출제된 문제만 (문제ID, 문제 본문, 정답, 보기1~4) - 작성자 / 퀴즈는 읽지 않음
+	@Query("SELECT q.questionId, q.quizContent, q.correctAnswer, q.option1, q.option2, q.option3, q.option4 "
+			+ "FROM QuizQuestion q WHERE q.questionId IN :questionIds")
+	List<Object[]> findResultRowsByQuestionIdIn(@Param("questionIds") Collection<Long> questionIds);
 	
 	@Query("select q from QuizQuestion q left join q.author a "
 			+ "where q.quiz.quizId = :quizId "
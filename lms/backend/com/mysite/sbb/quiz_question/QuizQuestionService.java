@@ -1,7 +1,10 @@
 package com.mysite.sbb.quiz_question;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,6 +25,9 @@ import lombok.RequiredArgsConstructor;
 public class QuizQuestionService {
 
 	private final QuizQuestionRepository qQuestionr;
+	private final AnswerKeyCache answerKeys; // [추가] 문제 변경 시 채점표 갱신
+	private final ApplicationEventPublisher eventPublisher; // [추가] 정답 변경 시 기존 응시 재채점
+	private final ItemStatsAccumulator itemStats; // [추가] 문항 분석
 	
 	// 문제 생성
     public void createQuestion(Quiz quiz, QuizQuestionForm form, User author) {
@@ -36,6 +42,12 @@ public class QuizQuestionService {
         q.setCorrectAnswer(form.getCorrectAnswer());
         q.setScore(form.getScore());
         qQuestionr.save(q);
+        answerKeys.invalidate(quiz.getQuizId());
+    }
+
+    // [추가] 문제 목록 화면의 문항 분석 (문제 ID -> 정답률, 보기 분포, 변별도)
+    public Map<Long, ItemStats> getItemStats(Page<QuizQuestion> questions) {
+    	return itemStats.getStats(questions.stream().map(QuizQuestion::getQuestionId).toList());
     }
 
     // 특정 퀴즈의 문제 목록 조회
@@ -82,6 +94,10 @@ public class QuizQuestionService {
         // 문제 수정 권한 검사
         checkPermission(q, currentUser);
         
+        // [추가] 정답 / 배점이 바뀌면 이미 채점된 응시도 다시 채점해야 함
+        boolean keyChanged = !AnswerKey.normalize(q.getCorrectAnswer()).equals(AnswerKey.normalize(form.getCorrectAnswer()))
+        		|| !Objects.equals(q.getScore(), form.getScore());
+        
         // 폼 데이터로 엔티티 업데이트
         q.setQuizContent(form.getQuizContent());
         q.setOption1(form.getOption1());
@@ -92,6 +108,11 @@ public class QuizQuestionService {
         q.setScore(form.getScore());
         // 출제자(author)는 수정 시 변경하지 않음
         qQuestionr.save(q);
+        answerKeys.invalidate(q.getQuiz().getQuizId());
+        if (keyChanged) {
+        	itemStats.reset(List.of(questionId)); // 바뀐 정답 기준으로 문항 분석을 다시 쌓음
+        	eventPublisher.publishEvent(new AnswerKeyChangedEvent(q.getQuiz().getQuizId()));
+        }
     }
     
     public void deleteQuestion(Long questionId, User currentUser) {
@@ -101,5 +122,7 @@ public class QuizQuestionService {
         checkPermission(q, currentUser);
         
         qQuestionr.delete(q);
+        answerKeys.invalidate(q.getQuiz().getQuizId());
+        itemStats.reset(List.of(questionId));
     }
 }
@@ -0,0 +1,173 @@
+package com.mysite.sbb.reference;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.mysite.sbb.level.Level;
+import com.mysite.sbb.level.LevelRepository;
+import com.mysite.sbb.quiz.QuizRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// 레벨 / 승급 단계 / 퀴즈 종류 기준 정보 레지스트리
+// - 채점, 회원가입, 승급, 로그인, 메인페이지, 강의 목록에서 매번 하던 level, quiz 조회를 메모리 조회로 대체
+// - 시작할 때 한 번 읽어서 불변 Map 으로 만들고, Level / Quiz 가 바뀌면 (ReferenceDataListener) 통째로 교체
+// - 교체는 volatile 참조 하나만 바꾸므로 읽는 쪽은 락 없이 항상 일관된 스냅샷을 봄
+// - [수정] 레벨은 불변 LevelRef 로 보관하고 조회마다 새 Level 복사본을 돌려줌 (화면 표시 / 비교용)
+//   엔티티에 연결할 때는 복사본 대신 LevelService.getLevelReference (영속성 컨텍스트의 참조) 사용
+// - [수정] 승급 단계는 levelId 가 아니라 level_order 순서
+@RequiredArgsConstructor
+@Component
+public class ReferenceDataRegistry {
+
+	public static final String LEVEL_TEST = "LEVEL_TEST";
+	public static final String PROMOTION_TEST_PREFIX = "PROMOTION_TEST";
+	public static final String PRACTICE = "PRACTICE"; // [추가] 강사가 만든 연습 퀴즈 (레벨에 영향 없음, 라이브 진행용)
+
+	// 승급 테스트 퀴즈에 레벨이 지정되지 않은 경우의 기존 이름 규칙 (초급, 중급)
+	private static final Map<Long, String> DEFAULT_PROMOTION_TEST_TYPES = Map.of(
+			1L, "PROMOTION_TEST_BEGINNER",
+			2L, "PROMOTION_TEST_INTERMEDIATE");
+
+	private final LevelRepository levelr;
+	private final QuizRepository quizr;
+
+	private volatile Snapshot snapshot; // null 이면 다음 조회 때 다시 읽음
+	// [추가] 무효화 횟수 - 읽는 도중 무효화되면 읽은 스냅샷을 보관하지 않음 (변경 전 값이 계속 남지 않도록)
+	private final AtomicLong generation = new AtomicLong();
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		// 순서가 없는 기존 레벨은 levelId 순으로 채움 (벌크 UPDATE 는 리스너를 거치지 않으므로 직접 교체)
+		if (levelr.backfillLevelOrder() > 0) {
+			invalidate();
+		}
+		current();
+	}
+
+	// Level / Quiz 변경 후 호출 (다음 조회 때 새 스냅샷으로 교체)
+	public void invalidate() {
+		generation.incrementAndGet();
+		snapshot = null;
+	}
+
+	// 전체 레벨 (승급 순서)
+	public List<Level> getLevels() {
+		return current().levels().stream().map(LevelRef::toLevel).toList();
+	}
+
+	public Optional<Level> findLevel(Long levelId) {
+		return Optional.ofNullable(levelId == null ? null : current().levelsById().get(levelId)).map(LevelRef::toLevel);
+	}
+
+	// 다음 승급 레벨 (최상위 레벨이면 null)
+	public Level getNextLevel(Long levelId) {
+		Long nextLevelId = levelId == null ? null : current().nextLevelIds().get(levelId);
+		return nextLevelId == null ? null : current().levelsById().get(nextLevelId).toLevel();
+	}
+
+	// [추가] levelId 가 otherLevelId 보다 낮은 단계인지 (레벨이 없으면 가장 낮은 단계로 봄)
+	public boolean isBelow(Long levelId, Long otherLevelId) {
+		LevelRef other = otherLevelId == null ? null : current().levelsById().get(otherLevelId);
+		if (other == null) {
+			return false;
+		}
+		LevelRef level = levelId == null ? null : current().levelsById().get(levelId);
+		return level == null || level.levelOrder() < other.levelOrder();
+	}
+
+	// 퀴즈 종류로 조회 ("LEVEL_TEST", "PROMOTION_TEST_BEGINNER" ...)
+	public Optional<QuizRef> findQuizByType(String quizType) {
+		return Optional.ofNullable(quizType == null ? null : current().quizzesByType().get(quizType));
+	}
+
+	// 해당 레벨에서 다음 레벨로 올라가는 승급 테스트 (고급 등 승급 테스트가 없으면 empty)
+	public Optional<QuizRef> findPromotionQuiz(Long levelId) {
+		return Optional.ofNullable(levelId == null ? null : current().promotionQuizzesByLevel().get(levelId));
+	}
+
+	private Snapshot current() {
+		Snapshot loaded = snapshot;
+		if (loaded != null) {
+			return loaded;
+		}
+		synchronized (this) {
+			loaded = snapshot;
+			if (loaded != null) {
+				return loaded;
+			}
+			long before = generation.get();
+			loaded = load();
+			// [수정] 읽는 동안 invalidate() 가 없었을 때만 보관 (있었으면 이번 조회에만 쓰고 다음 조회 때 다시 읽음)
+			if (generation.get() == before) {
+				snapshot = loaded;
+			}
+			return loaded;
+		}
+	}
+
+	private Snapshot load() {
+		// 영속성 컨텍스트의 엔티티를 그대로 공유하지 않도록 불변 값으로 보관
+		List<LevelRef> levels = new ArrayList<>();
+		for (Level level : levelr.findAll()) {
+			int order = level.getLevelOrder() != null ? level.getLevelOrder() : level.getLevelId().intValue();
+			levels.add(new LevelRef(level.getLevelId(), level.getLevelName(), order));
+		}
+		levels.sort(Comparator.comparingInt(LevelRef::levelOrder).thenComparing(LevelRef::levelId));
+
+		Map<Long, LevelRef> levelsById = new HashMap<>();
+		Map<Long, Long> nextLevelIds = new HashMap<>();
+		for (int i = 0; i < levels.size(); i++) {
+			levelsById.put(levels.get(i).levelId(), levels.get(i));
+			if (i + 1 < levels.size()) {
+				nextLevelIds.put(levels.get(i).levelId(), levels.get(i + 1).levelId());
+			}
+		}
+
+		// 같은 종류가 여러 개면 먼저 등록된(ID가 작은) 퀴즈 사용
+		Map<String, QuizRef> quizzesByType = new HashMap<>();
+		Map<Long, QuizRef> promotionQuizzesByLevel = new HashMap<>();
+		List<QuizRef> quizzes = quizr.findAllRefs().stream()
+				.map(row -> new QuizRef((Long) row[0], (String) row[1], (Long) row[2]))
+				.sorted(Comparator.comparing(QuizRef::quizId))
+				.toList();
+		for (QuizRef quiz : quizzes) {
+			quizzesByType.putIfAbsent(quiz.quizType(), quiz);
+			if (quiz.levelId() != null && quiz.quizType().startsWith(PROMOTION_TEST_PREFIX)) {
+				promotionQuizzesByLevel.putIfAbsent(quiz.levelId(), quiz);
+			}
+		}
+		DEFAULT_PROMOTION_TEST_TYPES.forEach((levelId, quizType) -> {
+			if (!promotionQuizzesByLevel.containsKey(levelId) && quizzesByType.containsKey(quizType)) {
+				promotionQuizzesByLevel.put(levelId, quizzesByType.get(quizType));
+			}
+		});
+
+		return new Snapshot(List.copyOf(levels), Map.copyOf(levelsById), Map.copyOf(nextLevelIds),
+				Map.copyOf(quizzesByType), Map.copyOf(promotionQuizzesByLevel));
+	}
+
+	private record Snapshot(List<LevelRef> levels, Map<Long, LevelRef> levelsById, Map<Long, Long> nextLevelIds,
+			Map<String, QuizRef> quizzesByType, Map<Long, QuizRef> promotionQuizzesByLevel) {
+	}
+
+	private record LevelRef(Long levelId, String levelName, int levelOrder) {
+
+		Level toLevel() {
+			Level level = new Level();
+			level.setLevelId(levelId);
+			level.setLevelName(levelName);
+			level.setLevelOrder(levelOrder);
+			return level;
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package com.mysite.sbb.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 필드별 역색인 + BM25 점수 계산
+// - 문서 ID(Long) 별로 여러 필드(title, content 등)의 텍스트를 NgramTokenizer 로 잘라서 색인
+// - 검색어의 모든 토큰을 포함하는 문서만 결과로 (LIKE '%kw%' 와 같은 AND 의미)
+// - 점수는 검색 대상 필드별 BM25 에 필드 가중치를 곱해서 합산
+public class InvertedIndex {
+
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+
+	private final Map<String, Double> fieldBoosts;
+	private final Map<String, FieldIndex> fields = new HashMap<>();
+	// 삭제/수정 시 이전 토큰을 지우기 위해 문서별 필드 -> (토큰 -> 빈도) 보관
+	private final Map<Long, Map<String, Map<String, Integer>>> documents = new HashMap<>();
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public InvertedIndex(Map<String, Double> fieldBoosts) {
+		this.fieldBoosts = fieldBoosts;
+		fieldBoosts.keySet().forEach(field -> fields.put(field, new FieldIndex()));
+	}
+
+	// 문서 추가 또는 교체
+	public void put(Long id, Map<String, String> fieldTexts) {
+		Map<String, Map<String, Integer>> termCounts = new HashMap<>();
+		fieldTexts.forEach((field, text) -> {
+			if (!fields.containsKey(field)) {
+				throw new IllegalArgumentException("색인되지 않은 필드입니다: " + field);
+			}
+			Map<String, Integer> counts = new HashMap<>();
+			for (String token : NgramTokenizer.tokenizeDocument(text)) {
+				counts.merge(token, 1, Integer::sum);
+			}
+			termCounts.put(field, counts);
+		});
+
+		lock.writeLock().lock();
+		try {
+			removeInternal(id);
+			termCounts.forEach((field, counts) -> fields.get(field).add(id, counts));
+			documents.put(id, termCounts);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			removeInternal(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			documents.clear();
+			fields.replaceAll((field, index) -> new FieldIndex());
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return documents.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// 검색 (점수 높은 순, 같으면 최신 ID 순) 최대 limit 개
+	public List<Long> search(String query, Collection<String> searchFields, int limit) {
+		Set<String> terms = new LinkedHashSet<>(NgramTokenizer.tokenizeQuery(query));
+		if (terms.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		lock.readLock().lock();
+		try {
+			// 1. 토큰별로 (검색 필드 중 하나라도) 포함하는 문서 집합 -> 교집합
+			Set<Long> candidates = null;
+			List<String> sortedTerms = new ArrayList<>(terms);
+			sortedTerms.sort(Comparator.comparingInt(term -> documentFrequency(term, searchFields)));
+			for (String term : sortedTerms) {
+				Set<Long> matched = new HashSet<>();
+				for (String field : searchFields) {
+					Map<Long, Integer> postings = fields.get(field).postings.get(term);
+					if (postings == null) {
+						continue;
+					}
+					if (candidates == null) {
+						matched.addAll(postings.keySet());
+					} else {
+						for (Long id : candidates) {
+							if (postings.containsKey(id)) {
+								matched.add(id);
+							}
+						}
+					}
+				}
+				candidates = matched;
+				if (candidates.isEmpty()) {
+					return new ArrayList<>();
+				}
+			}
+
+			// 2. BM25 점수 계산
+			Map<Long, Double> scores = new HashMap<>();
+			for (String field : searchFields) {
+				FieldIndex index = fields.get(field);
+				double boost = fieldBoosts.get(field);
+				int docCount = index.docLength.size();
+				if (docCount == 0) {
+					continue;
+				}
+				double avgLength = (double) index.totalLength / docCount;
+				for (String term : terms) {
+					Map<Long, Integer> postings = index.postings.get(term);
+					if (postings == null) {
+						continue;
+					}
+					double idf = Math.log(1 + (docCount - postings.size() + 0.5) / (postings.size() + 0.5));
+					for (Long id : candidates) {
+						Integer tf = postings.get(id);
+						if (tf == null) {
+							continue;
+						}
+						double norm = K1 * (1 - B + B * index.docLength.get(id) / avgLength);
+						scores.merge(id, boost * idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+					}
+				}
+			}
+
+			List<Long> ranked = new ArrayList<>(candidates);
+			ranked.sort(Comparator.<Long>comparingDouble(id -> scores.getOrDefault(id, 0.0)).reversed()
+					.thenComparing(Comparator.reverseOrder()));
+			return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private int documentFrequency(String term, Collection<String> searchFields) {
+		int df = 0;
+		for (String field : searchFields) {
+			Map<Long, Integer> postings = fields.get(field).postings.get(term);
+			if (postings != null) {
+				df += postings.size();
+			}
+		}
+		return df;
+	}
+
+	private void removeInternal(Long id) {
+		Map<String, Map<String, Integer>> previous = documents.remove(id);
+		if (previous != null) {
+			previous.forEach((field, counts) -> fields.get(field).remove(id, counts));
+		}
+	}
+
+	// 필드 하나의 역색인 (토큰 -> (문서 ID -> 빈도)) 과 문서 길이
+	private static final class FieldIndex {
+		private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+		private final Map<Long, Integer> docLength = new HashMap<>();
+		private long totalLength;
+
+		void add(Long id, Map<String, Integer> counts) {
+			int length = 0;
+			for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+				postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(id, entry.getValue());
+				length += entry.getValue();
+			}
+			docLength.put(id, length);
+			totalLength += length;
+		}
+
+		void remove(Long id, Map<String, Integer> counts) {
+			for (String term : counts.keySet()) {
+				Map<Long, Integer> postingList = postings.get(term);
+				if (postingList != null) {
+					postingList.remove(id);
+					if (postingList.isEmpty()) {
+						postings.remove(term);
+					}
+				}
+			}
+			Integer length = docLength.remove(id);
+			if (length != null) {
+				totalLength -= length;
+			}
+		}
+	}
+}
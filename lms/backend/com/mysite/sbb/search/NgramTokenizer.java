@@ -0,0 +1,68 @@
+package com.mysite.sbb.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 검색용 n-gram 토크나이저
+// - 한글은 조사/복합어 때문에 공백 단위로 자르면 "자바강의" 에서 "자바" 를 못 찾으므로 글자 2개씩(bigram) 자름
+// - 영문/숫자도 같은 방식으로 잘라서 기존 LIKE '%kw%' 처럼 단어 중간 일치도 찾을 수 있게 함
+// - 문서 쪽은 bigram + 한 글자(unigram)를 모두 색인 -> 한 글자 검색어도 동작
+public final class NgramTokenizer {
+
+	private NgramTokenizer() {
+	}
+
+	// 문서 색인용 토큰 (unigram + bigram)
+	public static List<String> tokenizeDocument(String text) {
+		List<String> tokens = new ArrayList<>();
+		for (String word : words(text)) {
+			for (int i = 0; i < word.length(); i++) {
+				tokens.add(word.substring(i, i + 1));
+				if (i + 1 < word.length()) {
+					tokens.add(word.substring(i, i + 2));
+				}
+			}
+		}
+		return tokens;
+	}
+
+	// 검색어용 토큰 (두 글자 이상 단어는 bigram, 한 글자 단어는 unigram)
+	public static List<String> tokenizeQuery(String text) {
+		List<String> tokens = new ArrayList<>();
+		for (String word : words(text)) {
+			if (word.length() == 1) {
+				tokens.add(word);
+				continue;
+			}
+			for (int i = 0; i + 1 < word.length(); i++) {
+				tokens.add(word.substring(i, i + 2));
+			}
+		}
+		return tokens;
+	}
+
+	// 전각/반각, 조합형 한글 등을 NFKC 로 통일하고 소문자로 바꾼 뒤 글자/숫자 묶음으로 분리
+	private static List<String> words(String text) {
+		List<String> words = new ArrayList<>();
+		if (text == null || text.isBlank()) {
+			return words;
+		}
+		String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+		StringBuilder current = new StringBuilder();
+		for (int i = 0; i < normalized.length(); i++) {
+			char c = normalized.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				current.append(c);
+			} else if (current.length() > 0) {
+				words.add(current.toString());
+				current.setLength(0);
+			}
+		}
+		if (current.length() > 0) {
+			words.add(current.toString());
+		}
+		return words;
+	}
+}
@@ -0,0 +1,218 @@
+package com.mysite.sbb.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.mysite.sbb.board_question.BoardQuestion;
+import com.mysite.sbb.board_question.BoardQuestionRepository;
+import com.mysite.sbb.classes.Classes;
+import com.mysite.sbb.classes.ClassesRepository;
+import com.mysite.sbb.user.User;
+import com.mysite.sbb.user.UserRepository;
+import com.mysite.sbb.user.UserRole;
+
+import lombok.RequiredArgsConstructor;
+
+// 강의 / 질문 게시판 / 회원 검색용 메모리 역색인
+// - LIKE '%kw%' 전체 스캔 대신 n-gram 역색인에서 문서 ID를 찾고 BM25 점수 순으로 정렬
+// - 서버 시작 시 ID + 검색 대상 컬럼만 읽어서 한 번 구성하고,
+//   이후에는 각 Service 의 생성/수정/삭제 메서드에서 해당 문서만 갱신 (트랜잭션 안이면 커밋 후에 반영)
+// - 구성 전(isReady() == false)에는 각 Service 가 기존 LIKE 검색을 그대로 사용
+// - 검색 결과가 MAX_HITS 를 넘으면(isTruncated) 잘린 결과 대신 각 Service 가 DB 검색으로 처리
+// - [수정] 강의 / 질문은 제목만 색인 (화면의 "강의명" / "제목" 검색, LIKE 검색과 같은 범위로 찾도록)
+@RequiredArgsConstructor
+@Service
+public class SearchIndexService {
+
+	// 검색 결과 최대 개수 (이 범위 안에서 필터링 / 페이징, 넘으면 DB 검색)
+	public static final int MAX_HITS = 1000;
+
+	private static final List<String> TITLE_FIELDS = List.of("title");
+	private static final List<String> USER_FIELDS = List.of("name", "userId", "email");
+
+	private final ClassesRepository classesr;
+	private final BoardQuestionRepository bqr;
+	private final UserRepository userr;
+
+	private final InvertedIndex classesIndex = new InvertedIndex(Map.of("title", 1.0));
+	private final InvertedIndex boardIndex = new InvertedIndex(Map.of("title", 1.0));
+	private final InvertedIndex userIndex = new InvertedIndex(Map.of("name", 2.0, "userId", 1.5, "email", 1.0));
+	// 강사 이름만 (강의 목록의 강사명 검색 - 수강생 이름이 섞이지 않도록)
+	private final InvertedIndex instructorIndex = new InvertedIndex(Map.of("name", 1.0));
+
+	private volatile boolean ready = false;
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	// 서버 시작 시 전체 색인 구성
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		ready = false;
+		classesIndex.clear();
+		boardIndex.clear();
+		userIndex.clear();
+		instructorIndex.clear();
+
+		for (Object[] row : classesr.findAllForSearchIndex()) {
+			classesIndex.put((Long) row[0], titleFields((String) row[1]));
+		}
+		for (Object[] row : bqr.findAllForSearchIndex()) {
+			boardIndex.put((Long) row[0], titleFields((String) row[1]));
+		}
+		for (Object[] row : userr.findAllForSearchIndex()) {
+			userIndex.put((Long) row[0], userFields((String) row[1], (String) row[2], (String) row[3]));
+			if (row[4] == UserRole.ROLE_INSTRUCTOR) {
+				instructorIndex.put((Long) row[0], Map.of("name", (String) row[1]));
+			}
+		}
+		ready = true;
+	}
+
+	// --- 검색 (점수 순 ID 목록, 최대 MAX_HITS + 1 개) ---
+
+	// 결과가 MAX_HITS 를 넘어서 잘렸는지 (잘렸으면 호출하는 쪽에서 DB 검색)
+	public static boolean isTruncated(List<Long> hits) {
+		return hits.size() > MAX_HITS;
+	}
+
+	// 강의 제목 (강의 목록의 "강의명", 질문 게시판의 "강의명" 검색)
+	public List<Long> searchClassTitles(String kw) {
+		return classesIndex.search(kw, TITLE_FIELDS, MAX_HITS + 1);
+	}
+
+	// 질문 제목 (질문 게시판의 "제목" 검색)
+	public List<Long> searchBoardTitles(String kw) {
+		return boardIndex.search(kw, TITLE_FIELDS, MAX_HITS + 1);
+	}
+
+	// 회원 이름 + 아이디 + 이메일
+	public List<Long> searchUsers(String kw) {
+		return userIndex.search(kw, USER_FIELDS, MAX_HITS + 1);
+	}
+
+	// 회원 이름만 (질문 게시판 글쓴이 검색 - 수강생도 글을 쓰므로 전체 회원)
+	public List<Long> searchUserNames(String kw) {
+		return userIndex.search(kw, List.of("name"), MAX_HITS + 1);
+	}
+
+	// 강사 이름만 (강의 목록 강사명 검색)
+	public List<Long> searchInstructorNames(String kw) {
+		return instructorIndex.search(kw, List.of("name"), MAX_HITS + 1);
+	}
+
+	// --- 증분 갱신 (각 Service 의 생성/수정/삭제에서 호출, 색인할 값은 호출 시점에 복사) ---
+
+	public void indexClasses(Classes classes) {
+		Long classesId = classes.getClassesId();
+		Map<String, String> fields = titleFields(classes.getTitle());
+		afterCommit(() -> classesIndex.put(classesId, fields));
+	}
+
+	public void removeClasses(Long classesId) {
+		afterCommit(() -> classesIndex.remove(classesId));
+	}
+
+	public void indexBoardQuestion(BoardQuestion question) {
+		Long boardQuesId = question.getBoardQuesId();
+		Map<String, String> fields = titleFields(question.getTitle());
+		afterCommit(() -> boardIndex.put(boardQuesId, fields));
+	}
+
+	public void removeBoardQuestion(Long boardQuesId) {
+		afterCommit(() -> boardIndex.remove(boardQuesId));
+	}
+
+	// 역할이 바뀌었을 수 있으므로 강사 이름 색인은 매번 넣거나 뺌
+	public void indexUser(User user) {
+		Long uno = user.getUno();
+		Map<String, String> fields = userFields(user.getUserName(), user.getUserId(), user.getEmail());
+		boolean instructor = user.getRole() == UserRole.ROLE_INSTRUCTOR;
+		String name = user.getUserName();
+		afterCommit(() -> {
+			userIndex.put(uno, fields);
+			if (instructor) {
+				instructorIndex.put(uno, Map.of("name", name));
+			} else {
+				instructorIndex.remove(uno);
+			}
+		});
+	}
+
+	public void removeUser(Long uno) {
+		afterCommit(() -> {
+			userIndex.remove(uno);
+			instructorIndex.remove(uno);
+		});
+	}
+
+	// 트랜잭션 안이면 커밋 후에 (롤백되면 색인하지 않음), 아니면 바로 실행
+	private static void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	// 점수 순 ID 목록 중 DB 조건을 통과한 ID(matchedIds)만 남겨서 페이징, 현재 페이지 행만 조회
+	public static <T> Page<T> toPage(List<Long> rankedIds, List<Long> matchedIds, Pageable pageable,
+			Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+		Set<Long> matched = new HashSet<>(matchedIds);
+		List<Long> ordered = rankedIds.stream().filter(matched::contains).toList();
+		int from = (int) Math.min(pageable.getOffset(), ordered.size());
+		int to = Math.min(from + pageable.getPageSize(), ordered.size());
+		List<Long> pageIds = ordered.subList(from, to);
+		if (pageIds.isEmpty()) {
+			return new PageImpl<>(new ArrayList<>(), pageable, ordered.size());
+		}
+
+		// IN 조회는 순서를 보장하지 않으므로 점수 순으로 다시 정렬
+		Map<Long, T> byId = new HashMap<>();
+		for (T row : loader.apply(pageIds)) {
+			byId.put(idOf.apply(row), row);
+		}
+		List<T> content = new ArrayList<>(pageIds.size());
+		for (Long id : pageIds) {
+			T row = byId.get(id);
+			if (row != null) {
+				content.add(row);
+			}
+		}
+		return new PageImpl<>(content, pageable, ordered.size());
+	}
+
+	private static Map<String, String> titleFields(String title) {
+		Map<String, String> fields = new HashMap<>();
+		fields.put("title", title);
+		return fields;
+	}
+
+	private static Map<String, String> userFields(String name, String userId, String email) {
+		Map<String, String> fields = new HashMap<>();
+		fields.put("name", name);
+		fields.put("userId", userId);
+		fields.put("email", email);
+		return fields;
+	}
+}
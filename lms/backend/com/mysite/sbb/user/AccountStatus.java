@@ -0,0 +1,10 @@
+package com.mysite.sbb.user;
+
+// [추가] 회원 이용 상태 (site_user.account_status) - AccountStatusJob 이 주기적으로 기록
+// - 관리자 휴면 회원 목록은 이 값으로 조회 (endDate 범위 검색 대신 인덱스 동등 조건)
+// - 실제 수강 가능 여부는 EntitlementCache 가 종료 시각으로 바로 판단 (이 값은 다음 실행까지 늦을 수 있음)
+public enum AccountStatus {
+	ACTIVE, // 이용 중 (결제 회원, 체험 기간 중, 강사 / 관리자)
+	TRIAL_EXPIRED, // 무료체험 종료 (미결제)
+	DORMANT // 무료체험 종료 후 1년 이상 지남 (휴면)
+}
@@ -0,0 +1,62 @@
+package com.mysite.sbb.user;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+// 회원 이용 상태 갱신 작업 (site_user.account_status)
+// - 무료체험 만료 / 휴면 전환 / (결제 등으로) 다시 이용 중 전환 대상을 uno 순서 keyset 으로 나눠 처리
+// - 청크마다 대상 ID 조회 -> UPDATE ... WHERE uno IN (...) 한 번 (각 UPDATE 는 짧은 트랜잭션, 긴 락 없음)
+// - 컬럼이 새로 추가된 직후(기존 회원이 모두 null)에도 바로 채워지도록 서버 시작 시 한 번 실행
+@RequiredArgsConstructor
+@Component
+public class AccountStatusJob {
+
+	private final UserRepository userr;
+
+	@Value("${lms.account-status.batch-size:500}")
+	private int batchSize;
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(cron = "${lms.account-status.cron:0 5 * * * *}") // 기본: 매시 5분
+	public void run() {
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime dormantThreshold = now.minusYears(1); // 1년 이상 미활동
+
+		// 휴면 -> 체험 만료 -> 이용 중 순서 (조건이 서로 겹치지 않음)
+		int dormant = process(AccountStatus.DORMANT,
+				after -> userr.findDormantTargets(after, dormantThreshold, AccountStatus.DORMANT, PageRequest.of(0, batchSize)));
+		int expired = process(AccountStatus.TRIAL_EXPIRED,
+				after -> userr.findTrialExpiredTargets(after, now, dormantThreshold, AccountStatus.TRIAL_EXPIRED,
+						PageRequest.of(0, batchSize)));
+		int active = process(AccountStatus.ACTIVE,
+				after -> userr.findActiveTargets(after, now, AccountStatus.ACTIVE, PageRequest.of(0, batchSize)));
+
+		if (dormant > 0 || expired > 0 || active > 0) {
+			System.out.println("account_status 갱신: 휴면 " + dormant + "명, 체험 만료 " + expired + "명, 이용 중 " + active + "명");
+		}
+	}
+
+	// 마지막으로 처리한 uno 다음부터 batchSize 씩
+	private int process(AccountStatus status, LongFunction<List<Long>> nextChunk) {
+		int total = 0;
+		long after = 0;
+		while (true) {
+			List<Long> unos = nextChunk.apply(after);
+			if (unos.isEmpty()) {
+				return total;
+			}
+			total += userr.updateAccountStatus(unos, status);
+			after = unos.get(unos.size() - 1);
+		}
+	}
+}
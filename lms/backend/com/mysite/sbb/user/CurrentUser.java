@@ -0,0 +1,17 @@
+package com.mysite.sbb.user;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 컨트롤러 메서드의 User 파라미터에 로그인 회원 주입 (CurrentUserArgumentResolver)
+// - 비로그인이면 null
+// - UserCache 의 분리(detached) 복사본이므로 읽기 / 권한 확인 / 서비스 호출 인자로만 사용
+//   (회원 정보를 수정해서 저장하거나 연관 컬렉션이 필요하면 UserService.getUser 사용)
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -0,0 +1,45 @@
+package com.mysite.sbb.user;
+
+import java.security.Principal;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import lombok.RequiredArgsConstructor;
+
+// @CurrentUser User 파라미터 처리
+// - 요청당 한 번만 UserCache 에서 꺼내 request attribute 에 보관 (같은 요청의 다른 파라미터 / forward 에서 재사용)
+@RequiredArgsConstructor
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+	private static final String ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".USER";
+
+	private final UserCache userCache;
+
+	@Override
+	public boolean supportsParameter(MethodParameter parameter) {
+		return parameter.hasParameterAnnotation(CurrentUser.class) && User.class.equals(parameter.getParameterType());
+	}
+
+	@Override
+	public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+			NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+		Principal principal = webRequest.getUserPrincipal();
+		if (principal == null) {
+			return null; // 비로그인
+		}
+		Object resolved = webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (resolved instanceof User user && user.getUserId().equals(principal.getName())) {
+			return user;
+		}
+		User user = userCache.get(principal.getName());
+		webRequest.setAttribute(ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+		return user;
+	}
+}
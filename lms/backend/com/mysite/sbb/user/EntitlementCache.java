@@ -0,0 +1,78 @@
+package com.mysite.sbb.user;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.mysite.sbb.DataNotFoundException;
+
+import lombok.RequiredArgsConstructor;
+
+// 수강 권한 캐시 (uno -> Entitlement)
+// - 강의 시청 / 수강 신청마다 하던 역할, 결제 여부, 종료일 확인을 메모리 조회로
+// - 기한은 기록에 종료 시각으로 들어 있으므로 endDate 가 지나는 순간부터 바로 거부 (TTL 없음)
+// - 결제 / 관리자 수정 / 체험 만료 등으로 값이 바뀌면 UserService 에서 evict (트랜잭션 안이면 커밋 후에 한 번 더)
+// - 없으면 세 컬럼만 DB 에서 읽어 채움, 최대 회원 수를 넘으면 더 채우지 않고 매번 조회
+@RequiredArgsConstructor
+@Component
+public class EntitlementCache {
+
+	private final UserRepository userr;
+
+	@Value("${lms.entitlement-cache.max-users:50000}")
+	private int maxUsers;
+
+	// evict 마다 증가 - 조회하는 사이 바뀐 권한을 캐시에 다시 올리지 않도록
+	private final AtomicLong generation = new AtomicLong();
+
+	private final ConcurrentHashMap<Long, Entitlement> entitlements = new ConcurrentHashMap<>();
+
+	// 현재 시각 기준 수강 가능 여부
+	public boolean canAccess(Long uno) {
+		return get(uno).allows(LocalDateTime.now());
+	}
+
+	public Entitlement get(Long uno) {
+		Entitlement cached = entitlements.get(uno);
+		if (cached != null) {
+			return cached;
+		}
+		long loadedGeneration = generation.get();
+		Entitlement loaded = userr.findEntitlement(uno)
+				.orElseThrow(() -> new DataNotFoundException("사용자를 찾을 수 없습니다. ID: " + uno));
+		if (entitlements.size() < maxUsers) {
+			entitlements.putIfAbsent(uno, loaded);
+			if (generation.get() != loadedGeneration) {
+				entitlements.remove(uno, loaded); // 조회 도중 evict 되었으면 이전 값일 수 있으므로 버림
+			}
+		}
+		return loaded;
+	}
+
+	// 결제 / 역할 / 종료일 변경 후 호출
+	public void evict(Long uno) {
+		if (uno == null) {
+			return;
+		}
+		remove(uno);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			// 커밋 전에 다른 요청이 이전 값을 다시 올렸을 수 있으므로 커밋 후 한 번 더
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					remove(uno);
+				}
+			});
+		}
+	}
+
+	private void remove(Long uno) {
+		generation.incrementAndGet();
+		entitlements.remove(uno);
+	}
+}
@@ -1,6 +1,5 @@
 package com.mysite.sbb.user;
 
-import java.security.Principal;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -58,13 +57,12 @@ public class InstructorController {
 	// 강사 마이페이지 - 내 강의 관리 (페이징 + 검색 적용)
 	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
 	@GetMapping("/classes")
-	public String instructorClasses(Model model, Principal principal,
+	public String instructorClasses(Model model, @CurrentUser User currentUser,
 			@RequestParam(value = "page", defaultValue = "0") int page,
 			@RequestParam(value = "levelId", required = false) Long levelId,
 			@RequestParam(value = "kw", defaultValue = "") String kw) {
 
 		// 1. 현재 로그인한 강사 정보 조회
-		User currentUser = uService.getUser(principal.getName());
 
 		Page<Classes> paging = cService.getInstructorClasses(currentUser, page, levelId, kw);
 
@@ -88,10 +86,9 @@ public class InstructorController {
 	// 강사 마이페이지 - 내 강의 질문 목록
 	@PreAuthorize("hasRole('ROLE_INSTRUCTOR')")
 	@GetMapping("/mypage/questions")
-	public String instructorMyQuestions(Model model, Principal principal,
+	public String instructorMyQuestions(Model model, @CurrentUser User currentUser,
 			@RequestParam(value = "page", defaultValue = "0") int page) {
 
-		User currentUser = uService.getUser(principal.getName());
 
 		// 서비스 호출
 		Page<BoardQuestion> paging = bqService.getQuestionsForInstructor(currentUser, page);
@@ -108,8 +105,7 @@ public class InstructorController {
 	// 강사 전용 '내 수강생 목록' 페이지(
 	@PreAuthorize("hasRole('ROLE_INSTRUCTOR')")
 	@GetMapping("/students")
-	public String instructorStudentList(Model model, Principal principal) {
-		User currentUser = uService.getUser(principal.getName());
+	public String instructorStudentList(Model model, @CurrentUser User currentUser) {
 
 		// 1. 강사의 모든 강의에 대한 수강 내역을 가져옵니다.
 		List<Enrollment> enrollments = eService.getEnrollmentsForInstructor(currentUser.getUno());
@@ -127,9 +123,8 @@ public class InstructorController {
 	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
 	@GetMapping("/student/{studentUno}")
 	public String instructorStudentDetail(@PathVariable("studentUno") Long studentUno, Model model,
-			Principal principal) {
+			@CurrentUser User instructor) {
 		// 1. 현재 로그인한 강사 정보
-		User instructor = uService.getUser(principal.getName());
 		Long instructorUno = instructor.getUno();
 
 		// 2. 조회하려는 학생 정보
@@ -153,14 +148,16 @@ public class InstructorController {
 	// 1. 테스트 관리 목록 페이지 (GET)
 	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
 	@GetMapping("/quiz/list")
-	public String instructorQuizList(Model model) {
+	public String instructorQuizList(Model model, @CurrentUser User currentUser) {
 		model.addAttribute("activeMenu", "quiz");
 		model.addAttribute("currentURI", "/instructor/quiz/list");
 
-		// 레벨 테스트와 승급 테스트만 필터링하여 조회
+		// 레벨 테스트와 승급 테스트만 필터링하여 조회 ([추가] 본인 연습 퀴즈도 - 관리자는 전체)
 		List<Quiz> quizzes = qService.getAllQuiz().stream()
 				.filter(q -> q.getQuizType() != null
-						&& (q.getQuizType().equals("LEVEL_TEST") || q.getQuizType().startsWith("PROMOTION_TEST")))
+						&& (q.getQuizType().equals("LEVEL_TEST") || q.getQuizType().startsWith("PROMOTION_TEST")
+								|| (q.getQuizType().equals("PRACTICE") && (currentUser.getRole() == UserRole.ROLE_ADMIN
+										|| currentUser.getUno().equals(q.getOwnerUno())))))
 				.collect(Collectors.toList());
 		model.addAttribute("quizzes", quizzes);
 
@@ -170,17 +167,17 @@ public class InstructorController {
 	// 2. 퀴즈 문제 목록 페이지 (GET)
 	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
 	@GetMapping("/quiz/{quizId}/questions")
-	public String instructorQuizQuestionList(@PathVariable("quizId") Long quizId, Model model, Principal principal,
+	public String instructorQuizQuestionList(@PathVariable("quizId") Long quizId, Model model, @CurrentUser User currentUser,
 			@RequestParam(value = "page", defaultValue = "0") int page,
 			@RequestParam(value = "kw", defaultValue = "") String kw) {
 
 		Quiz quiz = qService.getQuizById(quizId);
-		User currentUser = uService.getUser(principal.getName());
 
 		Page<QuizQuestion> paging = qqService.getQuestionsByQuiz(quizId, page, kw);
 
 		model.addAttribute("quiz", quiz);
 		model.addAttribute("paging", paging);
+		model.addAttribute("itemStats", qqService.getItemStats(paging)); // [추가] 문항 분석 (정답률, 보기 분포, 변별도)
 		model.addAttribute("kw", kw);
 		model.addAttribute("currentUser", currentUser);
 		model.addAttribute("currentURI", "/instructor/quiz/list");
@@ -208,10 +205,9 @@ public class InstructorController {
 	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
 	@PostMapping("/quiz/{quizId}/question/create")
 	public String createQuizQuestion(@PathVariable("quizId") Long quizId, @Valid QuizQuestionForm quizQuestionForm,
-			BindingResult bindingResult, Model model, Principal principal, RedirectAttributes redirectAttributes) {
+			BindingResult bindingResult, Model model, @CurrentUser User currentUser, RedirectAttributes redirectAttributes) {
 
 		Quiz quiz = qService.getQuizById(quizId);
-		User currentUser = uService.getUser(principal.getName()); // 현재 사용자가 author
 
 		if (bindingResult.hasErrors()) {
 			model.addAttribute("quiz", quiz);
@@ -229,10 +225,9 @@ public class InstructorController {
 	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
 	@GetMapping("/question/edit/{questionId}")
 	public String instructorQuizQuestionEditForm(@PathVariable("questionId") Long questionId,
-			QuizQuestionForm quizQuestionForm, Model model, Principal principal) {
+			QuizQuestionForm quizQuestionForm, Model model, @CurrentUser User currentUser) {
 
 		QuizQuestion q = qqService.getQuestion(questionId);
-		User currentUser = uService.getUser(principal.getName()); // [추가]
 
 		// 관리자(Admin)는 통과
 		if (currentUser.getRole() != UserRole.ROLE_ADMIN && // 관리자가 아니고
@@ -263,10 +258,9 @@ public class InstructorController {
 	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
 	@PostMapping("/question/edit/{questionId}")
 	public String instructorQuizQuestionEdit(@PathVariable("questionId") Long questionId,
-			@Valid QuizQuestionForm quizQuestionForm, BindingResult bindingResult, Model model, Principal principal,
+			@Valid QuizQuestionForm quizQuestionForm, BindingResult bindingResult, Model model, @CurrentUser User currentUser,
 			RedirectAttributes redirectAttributes) {
 
-		User currentUser = uService.getUser(principal.getName());
 		QuizQuestion q = qqService.getQuestion(questionId);
 
 		if (bindingResult.hasErrors()) {
@@ -296,10 +290,9 @@ public class InstructorController {
 	// 퀴즈 문제 *삭제* (GET)
 	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
 	@GetMapping("/question/delete/{questionId}")
-	public String deleteQuizQuestion(@PathVariable("questionId") Long questionId, Principal principal,
+	public String deleteQuizQuestion(@PathVariable("questionId") Long questionId, @CurrentUser User currentUser,
 			RedirectAttributes redirectAttributes) {
 
-		User currentUser = uService.getUser(principal.getName());
 		QuizQuestion q = qqService.getQuestion(questionId); // 퀴즈 ID를 알아내기 위해 먼저 조회
 		Long quizId = q.getQuiz().getQuizId();
 
@@ -0,0 +1,8 @@
+package com.mysite.sbb.user;
+
+// [추가] 수강생 가입 후 온보딩 단계 (site_user.onboarding_status, 강사 / 관리자와 이전 회원은 null)
+// - 로그인 성공 시 이 값만 보고 레벨 테스트 화면으로 보낼지 결정 (퀴즈 / 응시 조회 없음)
+public enum OnboardingStatus {
+	LEVEL_TEST_PENDING, // 레벨 테스트 미제출 (User.levelTestAttemptId 가 응시 ID)
+	COMPLETED // 레벨 테스트 채점 완료
+}
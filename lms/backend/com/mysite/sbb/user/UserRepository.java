@@ -1,26 +1,71 @@
 package com.mysite.sbb.user;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+	// [추가] 레벨 테스트 시작 / 삭제 시 온보딩 단계만 변경 (엔티티를 읽지 않고 UPDATE 한 번)
+	@Transactional
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE User u SET u.onboardingStatus = :status, u.levelTestAttemptId = :attemptId WHERE u.uno = :uno")
+	int updateOnboarding(@Param("uno") Long uno, @Param("status") OnboardingStatus status,
+			@Param("attemptId") Long attemptId);
+
+	// [추가] 회원 행 잠금 (SELECT ... FOR UPDATE, 트랜잭션 끝까지 유지) - 같은 회원의 레벨 테스트 응시 생성을 한 요청씩
+	// 엔티티는 읽지 않음 (로그인 회원 캐시의 User 와 영속성 컨텍스트가 섞이지 않도록)
+	@Query(value = "SELECT u.uno FROM site_user u WHERE u.uno = :uno FOR UPDATE", nativeQuery = true)
+	Long lockByUno(@Param("uno") Long uno);
+
+	// [추가] 삭제된 레벨 테스트 응시를 가리키는 회원만 대기 상태 해제
+	@Transactional
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE User u SET u.onboardingStatus = null, u.levelTestAttemptId = null WHERE u.levelTestAttemptId = :attemptId")
+	int clearLevelTestAttempt(@Param("attemptId") Long attemptId);
+
+	// [추가] 컬럼 추가 이전 회원 채우기: 미제출(STARTED) 레벨 테스트가 있으면 대기 상태로 (서버 시작 시)
+	@Transactional
+	@Modifying
+	@Query(value = "UPDATE site_user u JOIN quiz_attempt a ON a.uno = u.uno JOIN quiz q ON q.quiz_id = a.quiz_id "
+			+ "SET u.onboarding_status = 'LEVEL_TEST_PENDING', u.level_test_attempt_id = a.attempt_id "
+			+ "WHERE u.onboarding_status IS NULL AND q.quiz_type = 'LEVEL_TEST' AND a.status = 'STARTED'",
+			nativeQuery = true)
+	int backfillLevelTestPending();
+
+	// [추가] 수강 권한 판단용 컬럼만 조회 (EntitlementCache)
+	@Query("SELECT new com.mysite.sbb.user.Entitlement(u.role, u.isPaid, u.endDate) FROM User u WHERE u.uno = :uno")
+	Optional<Entitlement> findEntitlement(@Param("uno") Long uno);
+
 	// userId로 회원 조회 (로그인 시 사용)
 	Optional<User> findByUserId(String userId);
 
 	// 이메일 중복 확인용 (회원가입 시 사용)
 	Optional<User> findByEmail(String email);
 
-	// [추가] 특정 역할을 가진 사용자를 랜덤으로 조회하는 쿼리
-	@Query("SELECT u FROM User u WHERE u.role = :role ORDER BY RAND()")
-	Page<User> findRandomByRole(@Param("role") UserRole role, Pageable pageable);
+	// [수정] 랜덤 강사 조회는 ORDER BY RAND() 대신 RandomSampler 사용
+	// 샘플링 풀 구성용: 역할별 회원 번호만 조회
+	@Query("SELECT u.uno FROM User u WHERE u.role = :role")
+	List<Long> findUnoByRole(@Param("role") UserRole role);
+
+	// [추가] 검색 색인 구성용: 회원 번호, 이름, 아이디, 이메일, 역할(강사 이름 색인)만 조회
+	@Query("SELECT u.uno, u.userName, u.userId, u.email, u.role FROM User u")
+	List<Object[]> findAllForSearchIndex();
+
+	// [추가] 색인 검색 결과 중 조건(역할 / 승인 여부 / 이용 상태, null 이면 조건 없음)에 맞는 회원 번호만
+	@Query("SELECT u.uno FROM User u WHERE u.uno IN :ids AND (:role IS NULL OR u.role = :role) "
+			+ "AND (:approved IS NULL OR u.approved = :approved) AND (:status IS NULL OR u.accountStatus = :status)")
+	List<Long> filterSearchHits(@Param("ids") Collection<Long> ids, @Param("role") UserRole role,
+			@Param("approved") Boolean approved, @Param("status") AccountStatus status);
 
 	// [추가] 역할별 회원 조회 (Enum 기반)
 	List<User> findByRole(UserRole role);
@@ -42,12 +87,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	Page<User> searchUnapprovedInstructors(@Param("role") UserRole role, @Param("keyword") String keyword, Pageable pageable);
 
 	// user_list_dormant.html
-	// 휴면 회원 전체 조회 (1년 이상 지난 유저)
-	@Query("SELECT u FROM User u WHERE u.endDate IS NOT NULL AND u.endDate <= :threshold")
-	Page<User> findDormantUsers(@Param("threshold") LocalDateTime threshold, Pageable pageable);
+	// [수정] 휴면 회원 전체 조회 - endDate 범위 검색 대신 AccountStatusJob 이 기록한 상태로 (인덱스 동등 조건)
+	Page<User> findByAccountStatus(AccountStatus accountStatus, Pageable pageable);
 
-	@Query("SELECT u FROM User u WHERE u.endDate IS NOT NULL AND u.endDate <= :threshold AND "
+	@Query("SELECT u FROM User u WHERE u.accountStatus = :status AND "
 			+ "(LOWER(u.userName) LIKE %:keyword% OR LOWER(u.userId) LIKE %:keyword% OR LOWER(u.email) LIKE %:keyword%)")
-	Page<User> findDormantUsersByKeyword(@Param("threshold") LocalDateTime threshold, @Param("keyword") String keyword, Pageable pageable);
+	Page<User> findByAccountStatusAndKeyword(@Param("status") AccountStatus status, @Param("keyword") String keyword, Pageable pageable);
+
+	// [추가] AccountStatusJob - 상태를 바꿔야 하는 회원 uno (uno 순서 keyset, Pageable 로 청크 크기 제한)
+	// 휴면: 미결제 + 종료일이 1년 이상 지남
+	@Query("SELECT u.uno FROM User u WHERE u.uno > :after AND u.isPaid = false AND u.endDate <= :dormantThreshold "
+			+ "AND (u.accountStatus IS NULL OR u.accountStatus <> :status) ORDER BY u.uno")
+	List<Long> findDormantTargets(@Param("after") Long after, @Param("dormantThreshold") LocalDateTime dormantThreshold,
+			@Param("status") AccountStatus status, Pageable pageable);
+
+	// 체험 만료: 미결제 + 종료일이 지났지만 1년은 안 됨
+	@Query("SELECT u.uno FROM User u WHERE u.uno > :after AND u.isPaid = false AND u.endDate <= :now "
+			+ "AND u.endDate > :dormantThreshold AND (u.accountStatus IS NULL OR u.accountStatus <> :status) ORDER BY u.uno")
+	List<Long> findTrialExpiredTargets(@Param("after") Long after, @Param("now") LocalDateTime now,
+			@Param("dormantThreshold") LocalDateTime dormantThreshold, @Param("status") AccountStatus status,
+			Pageable pageable);
+
+	// 이용 중: 결제 회원, 종료일 없음(강사 / 관리자), 종료일 전
+	@Query("SELECT u.uno FROM User u WHERE u.uno > :after AND (u.isPaid = true OR u.endDate IS NULL OR u.endDate > :now) "
+			+ "AND (u.accountStatus IS NULL OR u.accountStatus <> :status) ORDER BY u.uno")
+	List<Long> findActiveTargets(@Param("after") Long after, @Param("now") LocalDateTime now,
+			@Param("status") AccountStatus status, Pageable pageable);
+
+	// [추가] 청크 단위 상태 기록 (청크마다 별도 트랜잭션)
+	@Transactional
+	@Modifying
+	@Query("UPDATE User u SET u.accountStatus = :status WHERE u.uno IN :unos")
+	int updateAccountStatus(@Param("unos") List<Long> unos, @Param("status") AccountStatus status);
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -17,6 +17,7 @@ import lombok.RequiredArgsConstructor;
 public class UserSecurityService implements UserDetailsService {
 
 	private final UserRepository ur;
+	private final UserCache userCache; // [추가] 로그인 직후 요청(로그인 성공 처리, 메인페이지)이 다시 조회하지 않도록
 
 	@Override
 	public UserDetails loadUserByUsername(String userId) throws UsernameNotFoundException {
@@ -27,6 +28,7 @@ public class UserSecurityService implements UserDetailsService {
 		}
 
 		com.mysite.sbb.user.User user = _user.get(); // (우리가 만든 User 엔티티)
+		userCache.put(user);
 
 		// 승인되지 않은 강사 로그인 차단
 		if (user.getRole() == UserRole.ROLE_INSTRUCTOR && !user.isApproved()) {
@@ -41,4 +43,4 @@ public class UserSecurityService implements UserDetailsService {
 
 		return new User(user.getUserId(), user.getPassword(), authorities);
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.mysite.sbb;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Path;
+
+// (작성일, ID) 기준 keyset(seek) 페이징 커서
+// - OFFSET 대신 "마지막으로 본 행보다 오래된 행"을 조건으로 조회하므로 뒤쪽 페이지도 인덱스를 타고 일정한 속도
+// - 화면에는 Base64 로 감싼 문자열(opaque cursor)로만 노출
+// - backward = true 면 이전 페이지(더 최신 행) 방향
+public record KeysetCursor(LocalDateTime createdDate, Long id, boolean backward) {
+
+	private static final String NEXT = "N";
+	private static final String PREV = "P";
+
+	public String encode() {
+		String raw = (backward ? PREV : NEXT) + "|" + createdDate + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// 문자열 커서 -> 객체 (비어 있거나 형식이 잘못되었으면 null = 첫 페이지)
+	public static KeysetCursor decode(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\|");
+			if (parts.length != 3 || !(NEXT.equals(parts[0]) || PREV.equals(parts[0]))) {
+				return null;
+			}
+			return new KeysetCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]), PREV.equals(parts[0]));
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+
+	// 커서 위치 다음(또는 이전) 행만 남기는 조건
+	// (date < :d) OR (date = :d AND id < :id)  -> 다음 페이지
+	// (date > :d) OR (date = :d AND id > :id)  -> 이전 페이지
+	public <T> Specification<T> toSpec(String dateField, String idField) {
+		return (root, query, cb) -> {
+			Path<LocalDateTime> date = root.get(dateField);
+			Path<Long> rowId = root.get(idField);
+			if (backward) {
+				return cb.or(cb.greaterThan(date, createdDate),
+						cb.and(cb.equal(date, createdDate), cb.greaterThan(rowId, id)));
+			}
+			return cb.or(cb.lessThan(date, createdDate), cb.and(cb.equal(date, createdDate), cb.lessThan(rowId, id)));
+		};
+	}
+
+	// 최신순(작성일, ID 내림차순). 이전 페이지는 커서에서 가까운 행부터 읽도록 오름차순으로 조회 후 뒤집음
+	public static Sort sort(KeysetCursor cursor, String dateField, String idField) {
+		Sort.Direction direction = (cursor != null && cursor.backward()) ? Sort.Direction.ASC : Sort.Direction.DESC;
+		return Sort.by(direction, dateField, idField);
+	}
+}
@@ -1,19 +1,22 @@
 package com.mysite.sbb;
 
-import java.security.Principal;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
-import com.mysite.sbb.classes.Classes;
+import com.mysite.sbb.classes.ClassesCard;
 import com.mysite.sbb.classes.ClassesService;
-import com.mysite.sbb.enrollment.EnrollmentService;
+import com.mysite.sbb.enrollment.LearnerDashboard;
+import com.mysite.sbb.enrollment.LearnerDashboardCache;
 import com.mysite.sbb.level.Level;
-import com.mysite.sbb.quiz.Quiz;
-import com.mysite.sbb.quiz.QuizRepository;
+import com.mysite.sbb.user.CurrentUser;
 import com.mysite.sbb.user.User;
 import com.mysite.sbb.user.UserService;
 
@@ -23,10 +26,12 @@ import lombok.RequiredArgsConstructor;
 @Controller
 public class MainController {
 
-	private final EnrollmentService enrollments;
 	private final UserService users;
 	private final ClassesService classess; // 강의 리스트용 추가
-	private final QuizRepository quizr;
+	private final LearnerDashboardCache dashboards; // [추가] 회원별 학습 현황 캐시
+	
+	// [추가] 메인페이지 레벨별 섹션에 한 번에 보여줄 강의 수
+	private static final int SECTION_SIZE = 4;
 
 	// 루트페이지를 메인페이지로 설정
 	@GetMapping("/")
@@ -35,75 +40,31 @@ public class MainController {
 	}
 
 	@GetMapping("/mainpage") // "/mainpage" URL 요청 처리
-	public String mainpage(Principal principal, Model model) {
+	public String mainpage(@CurrentUser User currentUser, Model model) { // [수정] 로그인 회원은 @CurrentUser 로 (비로그인 null)
 
-		List<Classes> classesList;
-		long completedCountForPromotion = 0; // 현재 레벨 완료 개수
-		long totalCount = 10;
-		double progressPercent = 0;
-		User currentUser = null;
-		boolean isGuest = false; // 로그인 안 한 상태 구분
+		boolean isGuest = (currentUser == null); // 로그인 안 한 상태 구분
 
-		boolean promotionTestEligible = false;
-		Long promotionTestQuizId = null;
-
-		// 로그인한 경우
-		if (principal != null) {
-			currentUser = users.getUser(principal.getName());
-
-			// 유저 레벨에 맞는 강의만 보여줌
-			classesList = classess.getClassesForUser(currentUser);
-
-			// 진행 상황 (progressPercent) 계산 기준 변경
-			if (currentUser.getLevel() != null) {
-
-				completedCountForPromotion = enrollments.getCompletedCountByLevel(currentUser, currentUser.getLevel());
-			}
-			progressPercent = (double) completedCountForPromotion / totalCount * 100;
-			if (progressPercent > 100.0) { // 10개가 넘어도 100%
-				progressPercent = 100.0;
-			}
-
-			String promotionTestType = null;
-			if (currentUser.getLevel() != null) {
-				Level currentLevel = currentUser.getLevel();
-
-				if (currentLevel.getLevelId() == 1L) // 초급
-					promotionTestType = "PROMOTION_TEST_BEGINNER";
-				else if (currentLevel.getLevelId() == 2L) // 중급
-					promotionTestType = "PROMOTION_TEST_INTERMEDIATE";
-				if (promotionTestType != null) {
-					promotionTestEligible = (completedCountForPromotion >= 10);
-
-					if (promotionTestEligible) {
-						Optional<Quiz> promotionQuizOpt = quizr.findByQuizType(promotionTestType);
-						if (promotionQuizOpt.isPresent()) {
-							promotionTestQuizId = promotionQuizOpt.get().getQuizId();
-						} else {
-							promotionTestEligible = false;
-							System.err.println(promotionTestType + " 타입의 퀴즈를 찾을 수 없습니다.");
-						}
-					}
-				}
-			}
-		}
-		// 비로그인 시 전체 강의 보여줌
-		else {
-			classesList = classess.getAllClasses();
-			isGuest = true; // 비로그인 표시
+		// [수정] 진행률 / 승급 테스트 자격은 회원별 스냅샷 캐시에서 (강의 목록 페이지와 공용)
+		LearnerDashboard dashboard = dashboards.get(currentUser);
+		
+		// [수정] 전체 강의 목록 대신 볼 수 있는 레벨별 최신 강의 SECTION_SIZE 개씩 (카드용 컬럼만 조회)
+		// 나머지는 "더 보기" 로 /mainpage/sections/{levelId} 에서 이어서 조회
+		Map<Level, Slice<ClassesCard>> levelSections = new LinkedHashMap<>();
+		for (Level level : classess.getVisibleLevels(currentUser)) {
+			levelSections.put(level, classess.getNewestCardsByLevel(currentUser, level.getLevelId(), 0, SECTION_SIZE));
 		}
 
 		model.addAttribute("currentUser", currentUser); // 템플릿에서 ${currentUser} 사용
-		model.addAttribute("classesList", classesList);
-		model.addAttribute("completedCount", completedCountForPromotion);
-		model.addAttribute("totalCount", totalCount);
-		model.addAttribute("progressPercent", progressPercent);
+		model.addAttribute("levelSections", levelSections);
+		model.addAttribute("completedCount", dashboard.completedCount());
+		model.addAttribute("totalCount", dashboard.totalCount());
+		model.addAttribute("progressPercent", dashboard.progressPercent());
 		model.addAttribute("isGuest", isGuest); // 뷰에서 조건분기 가능
-		model.addAttribute("promotionTestEligible", promotionTestEligible);
-		model.addAttribute("promotionTestQuizId", promotionTestQuizId);
+		model.addAttribute("promotionTestEligible", dashboard.promotionTestEligible());
+		model.addAttribute("promotionTestQuizId", dashboard.promotionTestQuizId());
 
 		// [추가] 랜덤 추천 강의 4개 조회
-		List<Classes> randomClasses = classess.getRandomClasses(currentUser, 4);
+		List<ClassesCard> randomClasses = classess.getRandomClasses(currentUser, 4);
 		model.addAttribute("randomClasses", randomClasses);
 
 		// [수정] 랜덤 추천 강사 조회 (이 코드는 기존대로 유지)
@@ -112,5 +73,16 @@ public class MainController {
 		
 		return "mainpage";
 	}
+	
+	// [추가] 메인페이지 레벨별 섹션 "더 보기" (다음 묶음의 강의 카드 HTML 조각만 반환)
+	@GetMapping("/mainpage/sections/{levelId}")
+	public String sectionMore(@CurrentUser User currentUser, Model model, @PathVariable("levelId") Long levelId,
+			@RequestParam(value = "page", defaultValue = "1") int page) {
+		Slice<ClassesCard> slice = classess.getNewestCardsByLevel(currentUser, levelId, page, SECTION_SIZE);
+		
+		model.addAttribute("cards", slice.getContent());
+		model.addAttribute("nextPage", slice.hasNext() ? page + 1 : null);
+		return "mainpage :: sectionCards";
+	}
 
-}
\ No newline at end of file
+}
@@ -1,7 +1,6 @@
 package com.mysite.sbb;
 
 import java.io.IOException;
-import java.util.Optional;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,13 +15,10 @@ import org.springframework.security.web.authentication.AuthenticationSuccessHand
 import org.springframework.security.web.header.writers.frameoptions.XFrameOptionsHeaderWriter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
-import com.mysite.sbb.quiz.Quiz;
-import com.mysite.sbb.quiz.QuizRepository;
-import com.mysite.sbb.quiz_attempt.QuizAttempt;
-import com.mysite.sbb.quiz_attempt.QuizAttemptService;
+import com.mysite.sbb.user.OnboardingStatus;
 import com.mysite.sbb.user.User;
 import com.mysite.sbb.user.UserRole;
-import com.mysite.sbb.user.UserService;
+import com.mysite.sbb.user.UserCache;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -35,9 +31,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-    private final UserService userService;
-    private final QuizRepository quizRepository;
-    private final QuizAttemptService quizAttemptService;
+    private final UserCache userCache; // [수정] UserService 대신 로그인 회원 캐시
 
 	@Bean
 	SecurityFilterChain filterChain(HttpSecurity http) throws Exception{
@@ -80,7 +74,7 @@ public class SecurityConfig {
                                                 Authentication authentication) throws IOException, ServletException {
                 
                 String userId = authentication.getName();
-                User user = userService.getUser(userId);
+                User user = userCache.get(userId); // [수정] 방금 로그인에서 읽은 회원 (다시 조회하지 않음)
 
                 // 1. 강사 또는 관리자는 메인페이지로 이동
                 if (user.getRole() == UserRole.ROLE_INSTRUCTOR || user.getRole() == UserRole.ROLE_ADMIN) {
@@ -91,25 +85,16 @@ public class SecurityConfig {
                 // 2. 수강생(ROLE_LEARNER)인 경우 레벨 테스트 확인
                 if (user.getRole() == UserRole.ROLE_LEARNER) {
                     try {
-                        // 2-1. "LEVEL_TEST" 퀴즈 정보 찾기
-                        Optional<Quiz> levelTestQuizOpt = quizRepository.findByQuizType("LEVEL_TEST");
-                        
-                        if (levelTestQuizOpt.isPresent()) {
-                            Quiz levelTestQuiz = levelTestQuizOpt.get();
-                            
-                            // 2-2. 사용자의 가장 최근 "LEVEL_TEST" 응시 기록 찾기
-                            Optional<QuizAttempt> attemptOpt = quizAttemptService.findLatestAttemptByUserAndQuiz(user, levelTestQuiz);
-
-                            if (attemptOpt.isPresent()) {
-                                QuizAttempt attempt = attemptOpt.get();
-                                // 2-3. 점수가 0점이면 (아직 안 풀었으면) 퀴즈 페이지로 강제 이동
-                                if (attempt.getScore() == 0) { 
-                                    response.sendRedirect("/quiz_attempt/exam/" + attempt.getAttemptId());
-                                    return;
-                                }
-                            }
+                        // 2-1. [수정] 퀴즈 / 응시 조회 대신 인증 때 읽은 온보딩 단계로 판단
+                        // 미제출 레벨 테스트가 있으면 퀴즈 페이지로 강제 이동
+                        // [수정] 가입 직후라 응시가 아직 없으면 응시 생성 화면으로 (첫 방문 때 생성)
+                        if (user.getOnboardingStatus() == OnboardingStatus.LEVEL_TEST_PENDING) {
+                            response.sendRedirect(user.getLevelTestAttemptId() != null
+                                    ? "/quiz_attempt/exam/" + user.getLevelTestAttemptId()
+                                    : "/quiz_attempt/level_test");
+                            return;
                         }
-                        // 2-4. 퀴즈가 없거나, 응시 기록이 없거나, 이미 푼(점수가 0이 아닌) 경우
+                        // 2-2. 레벨 테스트를 이미 제출했거나 대기 중인 응시가 없는 경우
                         response.sendRedirect("/mainpage");
 
                     } catch (Exception e) {
@@ -127,4 +112,4 @@ public class SecurityConfig {
 	AuthenticationManager am (AuthenticationConfiguration ac) throws Exception{
 		return ac.getAuthenticationManager();
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -16,6 +16,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -26,7 +27,9 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "board_question")
+@Table(name = "board_question", indexes = {
+		@Index(name = "idx_board_question_ques_date_id", columnList = "ques_date, board_ques_id") // 커서(keyset) 페이징
+})
 public class BoardQuestion {
 	
 	@Id
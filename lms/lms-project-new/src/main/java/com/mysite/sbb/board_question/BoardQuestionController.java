@@ -1,9 +1,9 @@
 package com.mysite.sbb.board_question;
 
-import java.security.Principal;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -19,6 +19,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.mysite.sbb.CursorPage;
+import com.mysite.sbb.KeysetCursor;
 import com.mysite.sbb.board_answer.BoardAnswer;
 import com.mysite.sbb.board_answer.BoardAnswerForm;
 import com.mysite.sbb.board_answer.BoardAnswerService;
@@ -26,9 +28,9 @@ import com.mysite.sbb.classes.Classes;
 import com.mysite.sbb.classes.ClassesService;
 import com.mysite.sbb.enrollment.Enrollment;
 import com.mysite.sbb.enrollment.EnrollmentService;
+import com.mysite.sbb.user.CurrentUser;
 import com.mysite.sbb.user.User;
 import com.mysite.sbb.user.UserRole;
-import com.mysite.sbb.user.UserService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -40,7 +42,6 @@ public class BoardQuestionController {
 
 	// 필요한 서비스들 주입받기
 	private final BoardQuestionService bqService;
-	private final UserService uService;
 	private final EnrollmentService eService;
 	private final ClassesService cService;
 	private final BoardAnswerService baService; // (10/24)
@@ -51,10 +52,19 @@ public class BoardQuestionController {
 	public String list(Model model,
 			@RequestParam(value = "page", defaultValue = "0") int page,
 			@RequestParam(value = "kw", defaultValue = "") String kw,
-            @RequestParam(value = "searchType", defaultValue = "title") String searchType) {
+            @RequestParam(value = "searchType", defaultValue = "title") String searchType,
+            @RequestParam(value = "cursor", required = false) String cursor) { // [추가] 커서 방식 (파라미터가 있으면 사용, 빈 값 = 첫 페이지)
 		
-		// 서비스 호출 (page, searchType, kw 전달)
-		Page<BoardQuestion> paging = bqService.getList(page, searchType, kw);
+		Page<BoardQuestion> paging;
+		if (cursor != null) {
+			// [추가] keyset 커서 방식: COUNT 없이 이전/다음만
+			CursorPage<BoardQuestion> cursorPage = bqService.getListByCursor(searchType, kw, KeysetCursor.decode(cursor), 10);
+			model.addAttribute("cursorPage", cursorPage);
+			paging = new PageImpl<>(cursorPage.content()); // 목록 렌더링은 기존 템플릿 그대로 사용
+		} else {
+			// 서비스 호출 (page, searchType, kw 전달)
+			paging = bqService.getList(page, searchType, kw);
+		}
 		
 		model.addAttribute("paging", paging);
 		model.addAttribute("kw", kw);
@@ -79,11 +89,10 @@ public class BoardQuestionController {
 	// 질문 등록 폼 (GET)
 	@PreAuthorize("isAuthenticated()") // 추후에 관리자/강사/학생으로 구분해야함.
 	@GetMapping("/create")
-	public String questionCreate(BoardQuestionForm boardQuestionForm, Model model, Principal principal,
+	public String questionCreate(BoardQuestionForm boardQuestionForm, Model model, @CurrentUser User currentUser,
 			Pageable pageable) {
 		// 1. 현재 로그인한 사용자 정보 가져오기
 
-		User currentUser = uService.getUser(principal.getName()); // UserService에 구현 필요
 
 		// 2. 해당 사용자의 수강목록 조회하기 (enrollmentService에 findClassesByUser 구현 필요)
 		Page<Enrollment> myClasses = eService.findAllClassesByUser(currentUser, pageable);
@@ -98,8 +107,7 @@ public class BoardQuestionController {
 	@PreAuthorize("isAuthenticated()") // 추후에 관리자/강사/학생으로 구분해야함.
 	@PostMapping("/create")
 	public String questionCreate(@Valid BoardQuestionForm boardQuestionForm, BindingResult bindingResult, Model model,
-			Principal principal, Pageable pageable) {
-		User currentUser = uService.getUser(principal.getName()); // User 객체 조회
+			@CurrentUser User currentUser, Pageable pageable) {
 		if (bindingResult.hasErrors()) {
 
 			Page<Enrollment> myClasses = eService.findAllClassesByUser(currentUser, pageable);
@@ -118,14 +126,13 @@ public class BoardQuestionController {
 		@PreAuthorize("isAuthenticated()") // 추후에 관리자/강사/학생으로 구분해야함.
 		@GetMapping("/modify/{boardQuesId}")
 		public String questionModify(BoardQuestionForm boardQuestionForm, @PathVariable("boardQuesId") Long boardQuesId,
-				Model model, Principal principal, Pageable pageable) {
+				Model model, @CurrentUser User currentUser, Pageable pageable) {
 
 			BoardQuestion question = bqService.getQuestion(boardQuesId.longValue());
 
-			User currentUser = uService.getUser(principal.getName()); // [추가] 현재 유저 정보 조회
 			
 			// [수정] 본인이 아니고, 관리자도 아니면 권한 없음
-	        if (!question.getUser().getUserId().equals(principal.getName()) 
+	        if (!question.getUser().getUserId().equals(currentUser.getUserId()) 
 	             && currentUser.getRole() != UserRole.ROLE_ADMIN) {
 	            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "수정 권한이 없습니다.");
 	        }
@@ -147,10 +154,9 @@ public class BoardQuestionController {
 		@PreAuthorize("isAuthenticated()")
 		@PostMapping("/modify/{boardQuesId}")
 		public String questionModify(@Valid BoardQuestionForm boardQuestionForm, Model model, BindingResult bindingResult,
-				Principal principal, @PathVariable("boardQuesId") Long boardQuesId, Pageable pageable) {
+				@CurrentUser User currentUser, @PathVariable("boardQuesId") Long boardQuesId, Pageable pageable) {
 			
 			BoardQuestion question = bqService.getQuestion(boardQuesId);
-			User currentUser = uService.getUser(principal.getName());
 			
 			if (bindingResult.hasErrors()) {
 				Page<Enrollment> myClasses = eService.findAllClassesByUser(currentUser, pageable);
@@ -160,7 +166,7 @@ public class BoardQuestionController {
 				return "board_question_form";
 			}
 			
-			if (!question.getUser().getUserId().equals(principal.getName()) 
+			if (!question.getUser().getUserId().equals(currentUser.getUserId()) 
 		             && currentUser.getRole() != UserRole.ROLE_ADMIN) {
 		            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "수정 권한이 없습니다.");
 			}
@@ -172,12 +178,11 @@ public class BoardQuestionController {
 		// 질문 삭제 (GET)
 		@PreAuthorize("isAuthenticated()")
 		@GetMapping("/delete/{boardQuesId}")
-		public String questionDelete(Principal principal, @PathVariable("boardQuesId") Long boardQuesId) {
+		public String questionDelete(@CurrentUser User currentUser, @PathVariable("boardQuesId") Long boardQuesId) {
 			BoardQuestion question = bqService.getQuestion(boardQuesId);
-			User currentUser = uService.getUser(principal.getName());
 			
 			// 권한 체크
-	        if (!question.getUser().getUserId().equals(principal.getName()) 
+	        if (!question.getUser().getUserId().equals(currentUser.getUserId()) 
 	             && currentUser.getRole() != UserRole.ROLE_ADMIN) {
 	            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "삭제 권한이 없습니다.");
 	        }
@@ -189,11 +194,10 @@ public class BoardQuestionController {
 	// 마이페이지 내 답글
 	@PreAuthorize("isAuthenticated()") // 로그인한 사용자만 접근 가능
 	@GetMapping("/my")
-	public String myQuestions(Model model, Principal principal,
+	public String myQuestions(Model model, @CurrentUser User currentUser,
 			@RequestParam(value = "page", defaultValue = "0") int page) {
 
 		// 1. 현재 로그인한 사용자 정보를 가져옵니다.
-		User currentUser = this.uService.getUser(principal.getName());
 
 		// 2. BoardQuestionService를 통해 현재 사용자가 작성한 질문 목록을 조회합니다.
 		Pageable pageable = PageRequest.of(page, 5, Sort.by(Sort.Direction.DESC, "quesDate")); // 5개씩
@@ -2,19 +2,21 @@ package com.mysite.sbb.board_question;
 
 
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.mysite.sbb.classes.Classes;
 import com.mysite.sbb.user.User;
 
-public interface BoardQuestionRepository extends JpaRepository<BoardQuestion, Long> {
+public interface BoardQuestionRepository extends JpaRepository<BoardQuestion, Long>, JpaSpecificationExecutor<BoardQuestion> {
 	
 	// Classes_User_Uno 메서드 수정
 	@Query("SELECT bq FROM BoardQuestion bq WHERE bq.classes.user.uno = :uno")
@@ -23,6 +25,16 @@ public interface BoardQuestionRepository extends JpaRepository<BoardQuestion, Lo
 	//  User 객체로 질문 목록을 페이징하여 조회
     Page<BoardQuestion> findByUserOrderByQuesDateDesc(User user, Pageable pageable);
     
+    // [추가] 검색 색인 구성용: 질문 ID, 제목만 조회 - [수정] 화면의 검색 조건이 제목이므로 내용은 색인하지 않음
+    @Query("SELECT bq.boardQuesId, bq.title FROM BoardQuestion bq")
+    List<Object[]> findAllForSearchIndex();
+    
+    // [추가] 강의명 검색: 색인에서 찾은 강의들의 질문 (페이징)
+    Page<BoardQuestion> findByClasses_ClassesIdIn(Collection<Long> classesIds, Pageable pageable);
+    
+    // [추가] 글쓴이 검색: 색인에서 찾은 회원들의 질문 (페이징)
+    Page<BoardQuestion> findByUser_UnoIn(Collection<Long> unos, Pageable pageable);
+    
     //  특정 사용자가 작성한 질문 (페이징)
     Page<BoardQuestion> findByUser(User user, Pageable pageable);
     //  특정 강사의 강의에 달린 질문 (List - 기존 메소드용)
@@ -10,7 +10,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import com.mysite.sbb.CursorPage;
+import com.mysite.sbb.KeysetCursor;
 import com.mysite.sbb.classes.Classes;
+import com.mysite.sbb.search.SearchIndexService;
 import com.mysite.sbb.user.User;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -26,6 +29,7 @@ import lombok.RequiredArgsConstructor;
 public class BoardQuestionService {
 
 	private final BoardQuestionRepository bqr;
+	private final SearchIndexService searchIndex; // [추가] 질문 검색 색인
 
 	// 전체 질문 목록 조회
 	public List<BoardQuestion> getList() {
@@ -46,9 +50,56 @@ public class BoardQuestionService {
 	//  전체 질문 목록 조회 (페이징) + 검색 기능 포함
 	public Page<BoardQuestion> getList(int page, String searchType, String kw) {
 		Pageable pageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.DESC, "quesDate"));
+		
+		// [추가] 검색어가 있으면 역색인 검색 (색인 구성 전에는 기존 LIKE 검색)
+		if (kw != null && !kw.trim().isEmpty() && searchIndex.isReady()) {
+			return searchList(pageable, searchType, kw);
+		}
+		
         Specification<BoardQuestion> spec = getSpec(searchType, kw);
         return bqr.findAll(spec, pageable);
 	}
+	
+	// [추가] 역색인 검색
+	// [수정] 결과가 MAX_HITS 를 넘으면 잘린 결과 대신 기존 LIKE 검색
+	private Page<BoardQuestion> searchList(Pageable pageable, String searchType, String kw) {
+		List<Long> ids;
+		if ("class".equals(searchType)) {
+			ids = searchIndex.searchClassTitles(kw);
+		} else if ("author".equals(searchType)) {
+			ids = searchIndex.searchUserNames(kw);
+		} else {
+			ids = searchIndex.searchBoardTitles(kw); // [수정] LIKE 검색과 같이 제목만
+		}
+		if (SearchIndexService.isTruncated(ids)) {
+			return bqr.findAll(getSpec(searchType, kw), pageable);
+		}
+		if (ids.isEmpty()) {
+			return Page.empty(pageable);
+		}
+		
+		if ("class".equals(searchType)) {
+			// 1. 강의명: 강의 제목 색인 -> 해당 강의들의 질문 (최신순)
+			return bqr.findByClasses_ClassesIdIn(ids, pageable);
+		} else if ("author".equals(searchType)) {
+			// 2. 글쓴이: 회원 이름 색인 -> 해당 회원들의 질문 (최신순)
+			return bqr.findByUser_UnoIn(ids, pageable);
+		}
+		// 3. 제목 (기본값): 검색 점수 순, 현재 페이지의 질문만 조회
+		return SearchIndexService.toPage(ids, ids, pageable, bqr::findAllById, BoardQuestion::getBoardQuesId);
+	}
+
+	// [추가] keyset(커서) 방식 질문 목록 - (작성일, 질문번호) 기준, COUNT 쿼리 없음
+	// [수정] 검색어가 있어도 DB 조건 + keyset 으로 끝까지 넘길 수 있도록 (색인 결과는 최대 MAX_HITS 개라 사용하지 않음)
+	public CursorPage<BoardQuestion> getListByCursor(String searchType, String kw, KeysetCursor cursor, int size) {
+		Specification<BoardQuestion> spec = getSpec(searchType, kw);
+		if (cursor != null) {
+			spec = spec.and(cursor.toSpec("quesDate", "boardQuesId"));
+		}
+		Sort sort = KeysetCursor.sort(cursor, "quesDate", "boardQuesId");
+		List<BoardQuestion> rows = bqr.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all());
+		return CursorPage.of(rows, size, cursor, BoardQuestion::getQuesDate, BoardQuestion::getBoardQuesId);
+	}
 
 	// 검색 쿼리 생성 메서드 (Specification)
     private Specification<BoardQuestion> getSpec(String searchType, String kw) {
@@ -98,6 +149,7 @@ public class BoardQuestionService {
 		q.setClasses(classes); // 질문 강의 정보
 
 		bqr.save(q);
+		searchIndex.indexBoardQuestion(q); // [추가] 검색 색인 반영
 	}
 
 	// 질문 수정
@@ -105,11 +157,13 @@ public class BoardQuestionService {
 		question.setTitle(title);
 		question.setQuesContent(quesContent);
 		bqr.save(question);
+		searchIndex.indexBoardQuestion(question); // [추가] 검색 색인 반영
 	}
 
 	// 질문 삭제
 	public void delete(BoardQuestion question) {
 		bqr.delete(question);
+		searchIndex.removeBoardQuestion(question.getBoardQuesId()); // [추가] 검색 색인에서 제거
 	}
 
 	// 강사 ID로 질문 목록 조회
@@ -124,13 +178,11 @@ public class BoardQuestionService {
     
     // 특정 강사의 모든 강의에 달린 질문들을 페이징하여 조회
     public Page<BoardQuestion> getQuestionsForInstructor(User instructor, int page) {
-    	// 강사의 강의 목록 가져오기 
-    	List<Classes> instructorClasses = instructor.getClasses();
-    	
     	// 페이징 설정 (10개씩, 최신순)
     	Pageable pageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.DESC, "quesDate"));
     	
-    	// 레포지터리 메서드 호출
-    	return bqr.findByClassesInOrderByQuesDateDesc(instructorClasses, pageable);
+    	// [수정] 강사의 강의 목록(instructor.getClasses()) 대신 강사 번호로 조회
+    	// (@CurrentUser 는 연관 컬렉션이 없는 캐시 복사본이라 getClasses() 가 null)
+    	return bqr.findByInstructorUno(instructor.getUno(), pageable);
     }
 }
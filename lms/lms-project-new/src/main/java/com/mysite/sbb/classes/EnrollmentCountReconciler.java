@@ -0,0 +1,30 @@
+package com.mysite.sbb.classes;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+// classes.enrollment_count 보정 작업
+// - 수강신청/취소는 원자적 +1/-1 로 유지하지만, 회원 탈퇴 cascade 삭제나 DB 직접 수정 등으로 어긋날 수 있음
+// - 주기적으로 실제 enrollment 수와 비교해서 다른 강의만 다시 계산
+// - 컬럼이 새로 추가된 직후(기존 강의가 모두 0)에도 바로 맞춰지도록 서버 시작 시 한 번 실행
+@RequiredArgsConstructor
+@Component
+public class EnrollmentCountReconciler {
+
+	private final ClassesRepository classesr;
+
+	@Transactional
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(cron = "${lms.enrollment-count.reconcile-cron:0 30 4 * * *}") // 기본: 매일 새벽 4시 30분
+	public void reconcile() {
+		int fixed = classesr.reconcileEnrollmentCounts();
+		if (fixed > 0) {
+			System.out.println("enrollment_count 보정: " + fixed + "개 강의");
+		}
+	}
+}
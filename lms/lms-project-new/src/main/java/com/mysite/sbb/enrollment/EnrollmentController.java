@@ -1,8 +1,8 @@
 package com.mysite.sbb.enrollment;
 
-import java.security.Principal;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -22,7 +22,10 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.mysite.sbb.CursorPage;
 import com.mysite.sbb.DataNotFoundException;
+import com.mysite.sbb.KeysetCursor;
+import com.mysite.sbb.user.CurrentUser;
 import com.mysite.sbb.user.User;
 import com.mysite.sbb.user.UserService;
 
@@ -35,14 +38,14 @@ public class EnrollmentController {
 
 	private final EnrollmentService enrollments;
 	private final UserService uService;
+	private final ProgressWriteBuffer progressBuffer;
 
 	// 수강신청 (학생 전용)
 	@PreAuthorize("isAuthenticated()")
 	@PostMapping("/create/{classesId}")
-	public String enroll(@PathVariable("classesId") Long classesId, Principal principal,
+	public String enroll(@PathVariable("classesId") Long classesId, @CurrentUser User currentUser,
 			RedirectAttributes redirectAttributes) { // [수정] RedirectAttributes 파라미터 추가
 
-		User currentUser = uService.getUser(principal.getName());
 		// [수정] 에러/성공 메시지를 보여주기 위해 강의 상세 페이지로 리다이렉트
 		String redirectUrl = "redirect:/classes/" + classesId;
 		
@@ -76,16 +79,24 @@ public class EnrollmentController {
 	// [수정] 내 강의실 (학생 본인만) (페이징)
 	@PreAuthorize("isAuthenticated()")
 	@GetMapping("/user")
-	public String getUserEnrollments(Principal principal, Model model,
+	public String getUserEnrollments(@CurrentUser User currentUser, Model model,
 			// [수정] status 파라미터 받기 (기본값 "active")
 			@RequestParam(value = "status", defaultValue = "active") String status,
-			@RequestParam(value = "page", defaultValue = "0") int page) {
+			@RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "cursor", required = false) String cursor) { // [추가] 커서 방식 (파라미터가 있으면 사용, 빈 값 = 첫 페이지)
 
-		User currentUser = uService.getUser(principal.getName());
 
 		// 사용자의 전체 수강 목록을 가져옵니다.
-		Pageable pageable = PageRequest.of(page, 5, Sort.by(Sort.Direction.DESC, "enrollmentDate")); // 5개씩
-		Page<Enrollment> paging = enrollments.findClassesByUser(currentUser, status, pageable);
+		Page<Enrollment> paging;
+		if (cursor != null) {
+			// [추가] keyset 커서 방식: COUNT 없이 이전/다음만
+			CursorPage<Enrollment> cursorPage = enrollments.findClassesByUser(currentUser, status, KeysetCursor.decode(cursor), 5);
+			model.addAttribute("cursorPage", cursorPage);
+			paging = new PageImpl<>(cursorPage.content()); // 목록 렌더링은 기존 템플릿 그대로 사용
+		} else {
+			Pageable pageable = PageRequest.of(page, 5, Sort.by(Sort.Direction.DESC, "enrollmentDate")); // 5개씩
+			paging = enrollments.findClassesByUser(currentUser, status, pageable);
+		}
 
 		model.addAttribute("paging", paging);
 		model.addAttribute("currentStatus", status); // "active" 또는 "completed"
@@ -129,7 +140,7 @@ public class EnrollmentController {
 	public String markAsCompleted(@PathVariable("classesId") Long classesId,
 			    				// [신규] 폼에서 전송된 시청 시간(초) 받기
 								@RequestParam(value = "watch_duration", defaultValue = "0") int watchDuration,
-								Principal principal,
+								@CurrentUser User currentUser,
 								RedirectAttributes redirectAttributes) {
 				
 		// [신규] 10분(600초) 시청 시간 검증
@@ -144,7 +155,6 @@ public class EnrollmentController {
 		}
 
 		try {
-			User currentUser = uService.getUser(principal.getName());
 			enrollments.markAsCompleted(currentUser, classesId);
 					
 			// [수정] 성공 메시지와 함께 LocalStorage 초기화 신호 전송
@@ -185,9 +195,8 @@ public class EnrollmentController {
     public ResponseEntity<String> updateRealtimeProgress(
             @PathVariable("classesId") Long classesId,
             @RequestParam("watched_seconds") int watchedSeconds, // 클라이언트가 보낸 시청 시간
-            Principal principal) {
+            @CurrentUser User currentUser) {
         
-        User currentUser = uService.getUser(principal.getName());
         
         // 위에서 만든 'Fixed' 서비스 메서드 호출
         enrollments.updateRealtimeProgressFixed(currentUser, classesId, watchedSeconds);
@@ -195,4 +204,12 @@ public class EnrollmentController {
         return ResponseEntity.ok("Progress Updated");
     }
 
-}
\ No newline at end of file
+    // [추가] 실시간 진도율 버퍼 상태 (flush 지연, batch 크기 등) 확인 - 관리자 전용
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/progress/metrics")
+    @ResponseBody
+    public ProgressWriteBuffer.ProgressBufferStats progressMetrics() {
+        return progressBuffer.getStats();
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.mysite.sbb.enrollment;
+
+// 메인페이지 / 강의 목록 상단의 학습 현황 (승급 테스트 진행 바) 스냅샷
+// - levelId : 스냅샷을 계산할 당시의 회원 레벨 (레벨이 바뀌면 다시 계산)
+public record LearnerDashboard(Long levelId, long completedCount, long totalCount, double progressPercent,
+		boolean promotionTestEligible, Long promotionTestQuizId) {
+
+	// 승급 테스트 응시에 필요한 현재 레벨 수료 강의 수
+	public static final long PROMOTION_REQUIRED_COUNT = 10L;
+
+	// 비로그인 / 레벨 없는 회원(강사, 관리자)용 빈 값
+	public static LearnerDashboard empty() {
+		return new LearnerDashboard(null, 0, PROMOTION_REQUIRED_COUNT, 0, false, null);
+	}
+}
@@ -0,0 +1,7 @@
+package com.mysite.sbb.enrollment;
+
+// 학습자의 대시보드 값(현재 레벨 수료 강의 수, 레벨)이 바뀌었음을 알리는 이벤트
+// - 수료 처리 / 수료 취소 / 수강 취소 / 실시간 진도율 수료 / 레벨테스트, 승급 테스트로 레벨 변경 시 발행
+// - LearnerDashboardCache 가 받아서 해당 회원의 스냅샷을 지움
+public record LearnerProgressChangedEvent(Long uno) {
+}
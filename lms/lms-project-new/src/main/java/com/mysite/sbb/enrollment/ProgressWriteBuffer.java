@@ -0,0 +1,162 @@
+package com.mysite.sbb.enrollment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+// 실시간 시청 진도율(heartbeat) 쓰기 지연 버퍼
+// - 시청 페이지가 1초마다 보내는 진도율 요청을 DB에 바로 쓰지 않고 (uno, classesId) 별 최대 시청 시간만 메모리에 보관
+// - 주기적으로 enrollment 테이블에 JDBC batch UPDATE 로 한 번에 반영 (요청당 SELECT 2번 + UPDATE 1번 -> 0번)
+// - 서버 정상 종료 시 남은 값을 모두 flush
+// - [수정] 수료는 is_completed 가 실제로 0 -> 1 로 바뀐 강의만 LearnerProgressChangedEvent 발행 (학습 현황 캐시 갱신)
+//   (이미 수료한 강의를 계속 보는 heartbeat 로 매 flush 마다 이벤트가 나가지 않도록)
+@RequiredArgsConstructor
+@Component
+public class ProgressWriteBuffer {
+
+	// 진도율 100% 기준 시간 (EnrollmentService의 20초 기준과 동일)
+	static final int TARGET_SECONDS = 20;
+
+	// GREATEST 로 진도율 하락을 DB 쪽에서 막음
+	private static final String UPDATE_SQL = "UPDATE enrollment "
+			+ "SET progress = GREATEST(progress, ?) "
+			+ "WHERE uno = ? AND classes_id = ?";
+
+	// [추가] 수료 처리는 따로 한 건씩 - 바뀐 행 수(1)로 이번에 처음 수료된 강의인지 확인
+	// (rewriteBatchedStatements 배치는 행 수를 돌려주지 않으므로 batch 에 넣지 않음, 수료 순간에만 실행)
+	private static final String COMPLETE_SQL = "UPDATE enrollment SET is_completed = 1 "
+			+ "WHERE uno = ? AND classes_id = ? AND is_completed = 0";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+
+	@Value("${lms.progress.flush-batch-size:500}")
+	private int batchSize;
+
+	// ConcurrentHashMap 은 내부적으로 bin 단위 락을 쓰므로 키별로 경합이 분산됨
+	private final Map<ProgressKey, PendingProgress> pending = new ConcurrentHashMap<>();
+
+	// --- 지표(metrics) ---
+	private final AtomicLong recordedCount = new AtomicLong(); // 받은 heartbeat 수
+	private final AtomicLong flushedRows = new AtomicLong(); // DB에 반영된 row 수 (누적)
+	private final AtomicLong flushCount = new AtomicLong(); // flush 실행 횟수
+	private final AtomicLong lastBatchSize = new AtomicLong(); // 마지막 flush 의 row 수
+	private final AtomicLong maxBatchSize = new AtomicLong(); // 가장 컸던 flush 의 row 수
+	private final AtomicLong lastFlushLagMillis = new AtomicLong(); // 마지막 flush 시점에 가장 오래 기다린 값의 대기 시간
+	private final AtomicLong lastFlushAt = new AtomicLong(); // 마지막 flush 시각 (epoch ms)
+
+	// heartbeat 기록 (같은 키는 최대 시청 시간만 남김)
+	// [수정] completes : 아직 수료 전인 강의가 이번 heartbeat 로 수료 기준을 넘었는지 (EnrollmentService 가 수강 상태 캐시로 판단)
+	public void record(Long uno, Long classesId, int watchedSeconds, boolean completes) {
+		if (uno == null || classesId == null || watchedSeconds <= 0) {
+			return;
+		}
+		recordedCount.incrementAndGet();
+		pending.merge(new ProgressKey(uno, classesId),
+				new PendingProgress(watchedSeconds, System.currentTimeMillis(), completes), ProgressWriteBuffer::merge);
+	}
+
+	private static PendingProgress merge(PendingProgress oldValue, PendingProgress newValue) {
+		return new PendingProgress(Math.max(oldValue.watchedSeconds(), newValue.watchedSeconds()),
+				Math.min(oldValue.firstSeenAt(), newValue.firstSeenAt()), oldValue.completes() || newValue.completes());
+	}
+
+	// 주기적으로 버퍼를 비우고 DB에 반영
+	@Scheduled(fixedDelayString = "${lms.progress.flush-interval-ms:5000}")
+	public void flush() {
+		if (pending.isEmpty()) {
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		long oldest = now;
+		Map<ProgressKey, PendingProgress> drained = new HashMap<>();
+
+		// remove() 로 꺼낸 값만 반영하므로, flush 도중 들어온 heartbeat 는 다음 flush 로 넘어감
+		for (ProgressKey key : pending.keySet()) {
+			PendingProgress value = pending.remove(key);
+			if (value != null) {
+				drained.put(key, value);
+				oldest = Math.min(oldest, value.firstSeenAt());
+			}
+		}
+		if (drained.isEmpty()) {
+			return;
+		}
+
+		List<Object[]> rows = new ArrayList<>(drained.size());
+		drained.forEach((key, value) -> rows.add(new Object[] { toProgress(value.watchedSeconds()), key.uno(), key.classesId() }));
+
+		Set<Long> completedUnos = new HashSet<>(); // 이번 flush 로 실제 수료된 회원
+		try {
+			for (int from = 0; from < rows.size(); from += batchSize) {
+				jdbcTemplate.batchUpdate(UPDATE_SQL, rows.subList(from, Math.min(from + batchSize, rows.size())));
+			}
+			for (Map.Entry<ProgressKey, PendingProgress> entry : drained.entrySet()) {
+				if (entry.getValue().completes() && entry.getValue().watchedSeconds() >= TARGET_SECONDS
+						&& jdbcTemplate.update(COMPLETE_SQL, entry.getKey().uno(), entry.getKey().classesId()) > 0) {
+					completedUnos.add(entry.getKey().uno());
+				}
+			}
+		} catch (DataAccessException e) {
+			// 실패하면 꺼낸 값을 다시 버퍼에 넣고 다음 flush 때 재시도 (GREATEST / is_completed = 0 조건이라 중복 반영돼도 안전)
+			// 실패 전에 이미 수료 처리된 회원은 다시 실행해도 0건이므로 여기서 알림
+			drained.forEach((key, value) -> pending.merge(key, value, ProgressWriteBuffer::merge));
+			completedUnos.forEach(uno -> eventPublisher.publishEvent(new LearnerProgressChangedEvent(uno)));
+			throw e;
+		}
+
+		flushCount.incrementAndGet();
+		flushedRows.addAndGet(rows.size());
+		lastBatchSize.set(rows.size());
+		maxBatchSize.accumulateAndGet(rows.size(), Math::max);
+		lastFlushLagMillis.set(now - oldest);
+		lastFlushAt.set(now);
+
+		// DB 반영이 끝난 뒤에 알려야 학습 현황을 다시 계산할 때 수료가 포함됨
+		completedUnos.forEach(uno -> eventPublisher.publishEvent(new LearnerProgressChangedEvent(uno)));
+	}
+
+	// 정상 종료 시 남은 진도율 반영
+	@PreDestroy
+	public void drain() {
+		flush();
+	}
+
+	// 시청 시간(초) -> 진도율(%) (최대 100)
+	static int toProgress(int watchedSeconds) {
+		int progress = (int) ((double) watchedSeconds / TARGET_SECONDS * 100);
+		return Math.min(progress, 100);
+	}
+
+	// 관리자용 지표 조회
+	public ProgressBufferStats getStats() {
+		return new ProgressBufferStats(pending.size(), recordedCount.get(), flushCount.get(), flushedRows.get(),
+				lastBatchSize.get(), maxBatchSize.get(), lastFlushLagMillis.get(), lastFlushAt.get());
+	}
+
+	record ProgressKey(Long uno, Long classesId) {
+	}
+
+	record PendingProgress(int watchedSeconds, long firstSeenAt, boolean completes) {
+	}
+
+	public record ProgressBufferStats(int pendingKeys, long recordedHeartbeats, long flushCount, long flushedRows,
+			long lastBatchSize, long maxBatchSize, long lastFlushLagMillis, long lastFlushAt) {
+	}
+}
@@ -3,7 +3,20 @@ package com.mysite.sbb.level;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface LevelRepository extends JpaRepository<Level, Long> {
 	Optional<Level> findByLevelName(String levelName);
+	
+	// [추가] 승급 순서가 비어 있는 기존 레벨은 levelId 순서로 채움 (초급 1, 중급 2, 고급 3)
+	@Transactional
+	@Modifying
+	@Query("UPDATE Level l SET l.levelOrder = l.levelId WHERE l.levelOrder IS NULL")
+	int backfillLevelOrder();
+	
+	// [추가] 새 레벨은 마지막 단계 다음 순서로
+	@Query("SELECT COALESCE(MAX(l.levelOrder), 0) FROM Level l")
+	int findMaxLevelOrder();
 }
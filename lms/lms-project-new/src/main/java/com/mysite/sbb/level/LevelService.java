@@ -2,6 +2,9 @@ package com.mysite.sbb.level;
 
 import java.util.List;
 import org.springframework.stereotype.Service;
+
+import com.mysite.sbb.reference.ReferenceDataRegistry;
+
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
@@ -9,28 +12,52 @@ import lombok.RequiredArgsConstructor;
 public class LevelService {
 	
 	private final LevelRepository levelr;
+	private final ReferenceDataRegistry registry; // [추가] 레벨은 메모리 레지스트리에서 조회
 	
 	// 전체 레벨 조회
 	public List<Level> getAllLevel(){
-		return levelr.findAll();
+		return registry.getLevels();
 	}
 	
 	// 레벨 생성
 	public Level createLevel(Level level) {
+		if (level.getLevelOrder() == null) {
+			level.setLevelOrder(levelr.findMaxLevelOrder() + 1); // [추가] 순서를 안 주면 마지막 단계로
+		}
 		return levelr.save(level);
 	}
 	
-	//단일 조회 (필요 시 FK 연결용)
+	// 단일 조회 ([수정] 레지스트리의 복사본 - 화면 표시 / 비교용)
 	public Level getLevel(Long levelId) {
-	    return levelr.findById(levelId)
+	    return registry.findLevel(levelId)
 	    .orElseThrow(() -> new IllegalArgumentException("해당 레벨을 찾을 수 없습니다. ID: " + levelId));
 	}
 
+	// [추가] FK 연결용: 존재 여부만 레지스트리에서 확인하고 영속성 컨텍스트의 참조를 돌려줌
+	public Level getLevelReference(Long levelId) {
+		getLevel(levelId);
+		return levelr.getReferenceById(levelId);
+	}
+
+	// [추가] levelId 가 otherLevelId 보다 낮은 단계인지 (승급 순서 기준)
+	public boolean isBelow(Long levelId, Long otherLevelId) {
+		return registry.isBelow(levelId, otherLevelId);
+	}
+
+	// [추가] 다음 승급 레벨 (최상위 레벨이면 null)
+	public Level getNextLevel(Long levelId) {
+		return registry.getNextLevel(levelId);
+	}
 
 	// 수정
     public Level updateLevel(Long levelId, Level updatedLevel) {
-        Level existing = getLevel(levelId);
+        // 레지스트리의 공유 객체를 바꾸지 않도록 DB에서 조회해서 수정 (저장 후 레지스트리는 리스너가 교체)
+        Level existing = levelr.findById(levelId)
+        		.orElseThrow(() -> new IllegalArgumentException("해당 레벨을 찾을 수 없습니다. ID: " + levelId));
         existing.setLevelName(updatedLevel.getLevelName());
+        if (updatedLevel.getLevelOrder() != null) {
+        	existing.setLevelOrder(updatedLevel.getLevelOrder());
+        }
         return levelr.save(existing);
     }
     
@@ -0,0 +1,139 @@
+package com.mysite.sbb.live;
+
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import com.mysite.sbb.quiz.Quiz;
+import com.mysite.sbb.quiz.QuizService;
+import com.mysite.sbb.user.CurrentUser;
+import com.mysite.sbb.user.User;
+
+import lombok.RequiredArgsConstructor;
+
+// [추가] 라이브 퀴즈 (강사 진행 화면 / 수강생 참여 화면 / SSE 이벤트 스트림)
+@RequiredArgsConstructor
+@Controller
+@RequestMapping("/live")
+public class LiveQuizController {
+
+	private final LiveQuizService liveService;
+	private final QuizService qService;
+
+	// 라이브 세션 생성 (instructor_quiz_list.html 의 '라이브 진행')
+	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
+	@PostMapping("/create/{quizId}")
+	public String create(@PathVariable("quizId") Long quizId, @CurrentUser User user,
+			RedirectAttributes redirectAttributes) {
+		Quiz quiz = qService.getQuizById(quizId);
+		try {
+			LiveSession session = liveService.create(quiz, user);
+			return "redirect:/live/" + session.getCode() + "/host";
+		} catch (IllegalStateException e) {
+			redirectAttributes.addFlashAttribute("errorMsg", e.getMessage());
+			return "redirect:/instructor/quiz/list";
+		}
+	}
+
+	// 진행 화면 (참가 코드, 보기별 분포, 순위)
+	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
+	@GetMapping("/{code}/host")
+	public String host(@PathVariable("code") String code, Model model, @CurrentUser User user) {
+		model.addAttribute("live", hostedSession(code, user));
+		return "live_host";
+	}
+
+	// 다음 문제 / 정답 공개 / 종료 (진행 화면에서 fetch 로 호출)
+	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
+	@PostMapping("/{code}/next")
+	@ResponseBody
+	public ResponseEntity<String> next(@PathVariable("code") String code, @CurrentUser User user) {
+		try {
+			liveService.next(hostedSession(code, user));
+			return ResponseEntity.ok("OK");
+		} catch (IllegalStateException e) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+		}
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
+	@PostMapping("/{code}/reveal")
+	@ResponseBody
+	public ResponseEntity<String> reveal(@PathVariable("code") String code, @CurrentUser User user) {
+		try {
+			liveService.reveal(hostedSession(code, user));
+			return ResponseEntity.ok("OK");
+		} catch (IllegalStateException e) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+		}
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
+	@PostMapping("/{code}/end")
+	@ResponseBody
+	public ResponseEntity<String> end(@PathVariable("code") String code, @CurrentUser User user) {
+		int saved = liveService.finish(hostedSession(code, user));
+		return ResponseEntity.ok(String.valueOf(saved)); // 저장된 결과 수
+	}
+
+	// 참가 코드 입력
+	@PreAuthorize("isAuthenticated()")
+	@GetMapping("/join")
+	public String joinByCode(@RequestParam("code") String code) {
+		return "redirect:/live/" + code.trim();
+	}
+
+	// 참여 화면 (수강생)
+	@PreAuthorize("isAuthenticated()")
+	@GetMapping("/{code}")
+	public String play(@PathVariable("code") String code, Model model) {
+		model.addAttribute("live", session(code));
+		return "live_play";
+	}
+
+	// 이벤트 스트림 (state: 문제 / 단계 변경, stats: tick 마다 분포 + 순위)
+	@PreAuthorize("isAuthenticated()")
+	@GetMapping(value = "/{code}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter stream(@PathVariable("code") String code, @CurrentUser User user) {
+		return liveService.join(session(code), user);
+	}
+
+	// 답안 제출 (보기 번호 1 ~ 4, 문제당 한 번)
+	@PreAuthorize("isAuthenticated()")
+	@PostMapping("/{code}/answer")
+	@ResponseBody
+	public ResponseEntity<String> answer(@PathVariable("code") String code, @RequestParam("choice") int choice,
+			@CurrentUser User user) {
+		boolean accepted = liveService.answer(session(code), user, choice);
+		if (!accepted) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, "답안을 받을 수 없습니다. (마감되었거나 이미 답함)");
+		}
+		return ResponseEntity.ok("Answer Saved");
+	}
+
+	// 없는 코드는 DataNotFoundException (404)
+	private LiveSession session(String code) {
+		return liveService.getSession(code);
+	}
+
+	private LiveSession hostedSession(String code, User user) {
+		try {
+			return liveService.getHostedSession(code, user);
+		} catch (SecurityException e) {
+			throw new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package com.mysite.sbb.live;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.Getter;
+
+// 라이브 퀴즈 세션 하나 (강사가 문제를 넘기고, 접속한 수강생이 동시에 답함)
+// - 답안 집계는 락 없이: 현재 문제(Round)의 보기별 AtomicLongArray + 참가자별 AtomicIntegerArray CAS (문제당 한 번만)
+// - 강사 조작(다음 문제, 정답 공개, 종료)만 LiveQuizService 에서 세션 단위로 synchronized
+@Getter
+public class LiveSession {
+
+	public enum Phase {
+		WAITING, // 시작 전 (참가자 입장)
+		QUESTION, // 문제 진행 중 (답안 받는 중)
+		REVEAL, // 정답 공개 (답안 마감)
+		FINISHED // 종료 (결과 저장 완료)
+	}
+
+	// 출제 문제 (정답은 보기 번호로만 보관, 공개 전에는 내보내지 않음)
+	public record LiveQuestion(Long questionId, String content, List<String> options, int score, int correctChoice) {
+	}
+
+	// 현재 문제 번호 + 보기별 답안 수 (문제가 바뀌면 통째로 교체 -> 이전 문제 답안이 섞이지 않음)
+	public record Round(int index, AtomicLongArray counts, boolean open) {
+	}
+
+	public static final class Participant {
+		private final Long uno;
+		private final String userName;
+		private final AtomicIntegerArray choices; // 문제별 선택 보기 (0 = 미응답)
+		private final AtomicInteger score = new AtomicInteger();
+
+		Participant(Long uno, String userName, int questionCount) {
+			this.uno = uno;
+			this.userName = userName;
+			this.choices = new AtomicIntegerArray(questionCount);
+		}
+
+		public Long getUno() {
+			return uno;
+		}
+
+		public String getUserName() {
+			return userName;
+		}
+
+		public int getScore() {
+			return score.get();
+		}
+
+		public int choiceAt(int index) {
+			return choices.get(index);
+		}
+	}
+
+	private final String code;
+	private final Long quizId;
+	private final String quizTitle;
+	private final Long hostUno;
+	private final List<LiveQuestion> questions;
+	private final LocalDateTime startedAt = LocalDateTime.now();
+
+	private final Map<Long, Participant> participants = new ConcurrentHashMap<>();
+	private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+	private volatile Phase phase = Phase.WAITING;
+	private volatile Round round = new Round(-1, new AtomicLongArray(5), false);
+	private volatile boolean dirty; // 마지막 브로드캐스트 이후 변경 여부
+	private volatile long lastActivityAt = System.currentTimeMillis();
+
+	LiveSession(String code, Long quizId, String quizTitle, Long hostUno, List<LiveQuestion> questions) {
+		this.code = code;
+		this.quizId = quizId;
+		this.quizTitle = quizTitle;
+		this.hostUno = hostUno;
+		this.questions = questions;
+	}
+
+	Participant join(Long uno, String userName) {
+		touch();
+		return participants.computeIfAbsent(uno, id -> new Participant(id, userName, questions.size()));
+	}
+
+	// 답안 제출 (진행 중인 문제에 한 번만) - 반영되었으면 true
+	boolean answer(Long uno, int choice) {
+		Round current = round;
+		Participant participant = participants.get(uno);
+		if (!current.open() || participant == null || choice < 1 || choice > 4) {
+			return false;
+		}
+		if (!participant.choices.compareAndSet(current.index(), 0, choice)) {
+			return false; // 이미 답함
+		}
+		current.counts().incrementAndGet(choice);
+		LiveQuestion question = questions.get(current.index());
+		if (question.correctChoice() == choice) {
+			participant.score.addAndGet(question.score());
+		}
+		dirty = true;
+		touch();
+		return true;
+	}
+
+	// 아래는 LiveQuizService 가 세션 락 안에서 호출
+	void open(int index) {
+		round = new Round(index, new AtomicLongArray(5), true);
+		phase = Phase.QUESTION;
+		dirty = true;
+		touch();
+	}
+
+	void close() {
+		Round current = round;
+		round = new Round(current.index(), current.counts(), false);
+		phase = Phase.REVEAL;
+		dirty = true;
+		touch();
+	}
+
+	void finish() {
+		phase = Phase.FINISHED;
+		dirty = true;
+		touch();
+	}
+
+	boolean takeDirty() {
+		if (!dirty) {
+			return false;
+		}
+		dirty = false;
+		return true;
+	}
+
+	private void touch() {
+		lastActivityAt = System.currentTimeMillis();
+	}
+}
@@ -2,6 +2,7 @@ package com.mysite.sbb.payment;
 
 import com.mysite.sbb.level.Level;
 import com.mysite.sbb.level.LevelRepository;
+import com.mysite.sbb.reference.ReferenceDataRegistry;
 import com.mysite.sbb.user.User;
 import com.mysite.sbb.user.UserService;
 
@@ -16,15 +17,17 @@ import java.time.LocalDateTime;
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
-    private final LevelRepository levelRepository;
+    private final ReferenceDataRegistry registry; // [수정] 레벨은 메모리 레지스트리에서 조회
+    private final LevelRepository levelr;
     private final UserService userService;
 
     @Transactional // [추가] DB 변경이 일어나므로 트랜잭션 처리
     public Payment confirm(String paymentKey, String orderId, int amount, User user, Long levelId) {
 
         // 1. 결제 정보 저장 (기존 로직)
-        Level level = levelRepository.findById(levelId)
+        registry.findLevel(levelId)
                 .orElseThrow(() -> new RuntimeException("레벨을 찾을 수 없습니다."));
+        Level level = levelr.getReferenceById(levelId); // [수정] 레지스트리 복사본 대신 영속성 컨텍스트의 참조
 
         Payment payment = new Payment();
         payment.setPaymentKey(paymentKey);
@@ -47,4 +50,4 @@ public class PaymentService {
     public boolean hasPaid(User user, Long levelId) {
         return paymentRepository.existsByUserAndLevel_LevelId(user, levelId);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -5,10 +5,12 @@ import java.util.List;
 import com.mysite.sbb.level.Level;
 import com.mysite.sbb.quiz_attempt.QuizAttempt;
 import com.mysite.sbb.quiz_question.QuizQuestion;
+import com.mysite.sbb.reference.ReferenceDataListener;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -21,6 +23,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+@EntityListeners(ReferenceDataListener.class) // 퀴즈 종류 기준 정보 레지스트리 갱신
 public class Quiz {
 	
 	@Id
@@ -39,7 +42,11 @@ public class Quiz {
 	private int totalScore = 100; // 총점은 100점으로 기본 설정
 	
 	@Column(name = "quiz_type", length = 50, nullable = false)
-	private String quizType; // "LEVEL_TEST", "PROMOTION_TEST_BEGINNER", "PROMOTION_TEST_INTERMEDIATE"
+	private String quizType; // "LEVEL_TEST", "PROMOTION_TEST_BEGINNER", "PROMOTION_TEST_INTERMEDIATE", "PRACTICE"
+	
+	// [추가] 연습 퀴즈를 만든 강사 (레벨 / 승급 테스트는 null)
+	@Column(name = "owner_uno")
+	private Long ownerUno;
 	
 	// Quiz와 Quiz_question 간의 관계 설정 (1:N)
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -48,4 +55,4 @@ public class Quiz {
     // Quiz와 Quiz_attempt 간의 관계 설정 (1:N)
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<QuizAttempt> quizAttempts;
-}
\ No newline at end of file
+}
\ No newline at end of file
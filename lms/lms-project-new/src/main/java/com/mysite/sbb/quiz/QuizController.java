@@ -15,6 +15,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import com.mysite.sbb.DataNotFoundException;
+import com.mysite.sbb.user.CurrentUser;
+import com.mysite.sbb.user.User;
 
 import lombok.RequiredArgsConstructor;
 
@@ -27,7 +29,9 @@ public class QuizController {
 		
 		// 퀴즈 생성
 	    @PostMapping("/create")
-	    public Quiz createQuiz(@RequestBody Quiz quiz) {
+	    public Quiz createQuiz(@RequestBody Quiz quiz, @CurrentUser User currentUser) {
+	    	// [추가] 만든 사람은 요청 값이 아니라 로그인 회원으로 (연습 퀴즈의 라이브 진행 권한 확인용)
+	    	quiz.setOwnerUno(currentUser != null ? currentUser.getUno() : null);
 	        return qService.createQuiz(quiz);
 	    }
 
@@ -1,11 +1,17 @@
 package com.mysite.sbb.quiz;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
 	
 	// quizType으로 퀴즈 조회 (UserService에서 사용)
 	Optional<Quiz> findByQuizType(String quizType); // quizType으로 퀴즈 조회
-}
\ No newline at end of file
+
+	// [추가] 기준 정보 레지스트리용 (퀴즈ID, 종류, 레벨ID) - 문제/응시 컬렉션 없이 세 컬럼만
+	@Query("select q.quizId, q.quizType, l.levelId from Quiz q left join q.level l")
+	List<Object[]> findAllRefs();
+}
\ No newline at end of file
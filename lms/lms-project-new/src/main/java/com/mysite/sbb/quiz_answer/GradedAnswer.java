@@ -0,0 +1,7 @@
+package com.mysite.sbb.quiz_answer;
+
+// 메모리에서 채점한 답안 한 개 (JDBC batch 로 quiz_answer 에 기록할 값)
+// - answerId : 이전 방식 응시에서 미리 만들어 둔 답안 행 ID (시드 방식은 null -> INSERT)
+// - choice : 선택한 보기 번호 (1 ~ 4, 미선택 / 보기에 없는 답은 0) - 압축 저장용
+public record GradedAnswer(Long answerId, Long questionId, String userAnswer, int choice, boolean correct, int score) {
+}
@@ -0,0 +1,57 @@
+package com.mysite.sbb.quiz_answer;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+// 채점 결과 답안 행 일괄 기록 (답안마다 save 하던 것을 JDBC batch 한 번으로)
+// - 호출한 쪽의 트랜잭션(JpaTransactionManager)과 같은 커넥션을 사용하므로 점수 / 레벨 갱신과 함께 커밋, 롤백됨
+// - IDENTITY 키라 Hibernate 는 INSERT 를 batch 로 묶지 못하므로 JdbcTemplate 사용
+@RequiredArgsConstructor
+@Component
+public class QuizAnswerBatchWriter {
+
+	private static final String INSERT_SQL = "INSERT INTO quiz_answer (attempt_id, question_id, user_answer, is_correct) "
+			+ "VALUES (?, ?, ?, ?)";
+
+	// attempt_id 조건으로 다른 응시의 답안 행은 바뀌지 않도록
+	private static final String UPDATE_SQL = "UPDATE quiz_answer SET user_answer = ?, is_correct = ? "
+			+ "WHERE answer_id = ? AND attempt_id = ?";
+
+	// 재채점: 정답 여부만 (응시 + 문제로 찾음)
+	private static final String UPDATE_CORRECT_SQL = "UPDATE quiz_answer SET is_correct = ? "
+			+ "WHERE attempt_id = ? AND question_id = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	// 시드 방식 응시: 제출 시점에 답안 행 생성
+	public void insert(Long attemptId, List<GradedAnswer> answers) {
+		if (answers.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(INSERT_SQL, answers.stream()
+				.map(a -> new Object[] { attemptId, a.questionId(), a.userAnswer(), a.correct() })
+				.toList());
+	}
+
+	// 이전 방식 응시: 시작할 때 만든 답안 행 갱신
+	public void update(Long attemptId, List<GradedAnswer> answers) {
+		if (answers.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(UPDATE_SQL, answers.stream()
+				.map(a -> new Object[] { a.userAnswer(), a.correct(), a.answerId(), attemptId })
+				.toList());
+	}
+
+	// 재채점으로 정답 여부가 바뀐 행 갱신 (rows : 정답 여부, 응시ID, 문제ID)
+	public void updateCorrect(List<Object[]> rows) {
+		if (rows.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(UPDATE_CORRECT_SQL, rows);
+	}
+}
@@ -9,10 +9,9 @@ import lombok.Setter;
 public class QuizAnswerForm {
 	
     /**
-     * 설명: startAttempt에서 미리 생성된 20개 QuizAnswer 레코드의 고유 ID입니다.
-     * 이 ID를 기준으로 어떤 레코드를 업데이트할지 식별합니다.
+     * 설명: (이전 방식 응시) startAttempt에서 미리 생성된 QuizAnswer 레코드의 고유 ID입니다.
+     * 시드 방식 응시는 제출할 때 답안 레코드를 만들므로 null 이고, qQuestionId 로 문제를 식별합니다.
      */
-	@NotNull(message = "답안 ID는 필수입니다.")
     private Long qAnswerId;
 
     /**
@@ -26,4 +25,4 @@ public class QuizAnswerForm {
      */
     private String userAnswer;
 
-}
\ No newline at end of file
+}
\ No newline at end of file
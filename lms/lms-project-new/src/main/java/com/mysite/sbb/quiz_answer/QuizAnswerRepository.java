@@ -1,11 +1,41 @@
 package com.mysite.sbb.quiz_answer;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.mysite.sbb.quiz_attempt.QuizAttempt;
 
 public interface QuizAnswerRepository extends JpaRepository<QuizAnswer, Long>{
 	List<QuizAnswer> findByqAttempt(QuizAttempt qAttempt);
+	
+	// [추가] 채점용: 응시의 (답안ID, 문제ID) 만 조회 (정답/배점은 AnswerKeyCache 에서)
+	@Query("select a.answerId, a.qQuestion.questionId from QuizAnswer a where a.qAttempt.attemptId = :attemptId order by a.answerId")
+	List<Object[]> findAnswerIdAndQuestionIdByAttemptId(@Param("attemptId") Long attemptId);
+	
+	// [추가] 결과 화면용: 답안 행과 문제를 한 번에 조회 (문제별 지연 로딩 없이)
+	@Query("select a from QuizAnswer a join fetch a.qQuestion where a.qAttempt.attemptId = :attemptId order by a.answerId")
+	List<QuizAnswer> findWithQuestionByAttemptId(@Param("attemptId") Long attemptId);
+	
+	// [추가] 압축 저장 이전용: 아직 행으로 저장된 채점 끝난(GRADED) 응시 ID (아직 안 푼 응시는 제외)
+	// [수정] afterAttemptId 다음부터 응시ID 순 (행 저장으로 남겨 둔 응시를 다시 조회하지 않도록)
+	@Query("select distinct a.qAttempt.attemptId from QuizAnswer a where a.qAttempt.attemptId > :afterAttemptId "
+			+ "and a.qAttempt.packedAnswers is null "
+			+ "and a.qAttempt.status = com.mysite.sbb.quiz_attempt.AttemptStatus.GRADED order by a.qAttempt.attemptId")
+	List<Long> findUnpackedAttemptIds(@Param("afterAttemptId") Long afterAttemptId, Pageable pageable);
+	
+	// [추가] 압축 저장 이전용: (응시ID, 문제ID, 사용자 답, 정답 여부)
+	@Query("select a.qAttempt.attemptId, a.qQuestion.questionId, a.userAnswer, a.isCorrect from QuizAnswer a "
+			+ "where a.qAttempt.attemptId in :attemptIds order by a.answerId")
+	List<Object[]> findPackingRowsByAttemptIds(@Param("attemptIds") Collection<Long> attemptIds);
+	
+	// [추가] 압축 저장으로 옮긴 응시의 답안 행 삭제
+	@Modifying
+	@Query("delete from QuizAnswer a where a.qAttempt.attemptId in :attemptIds")
+	int deleteByAttemptIds(@Param("attemptIds") Collection<Long> attemptIds);
 }
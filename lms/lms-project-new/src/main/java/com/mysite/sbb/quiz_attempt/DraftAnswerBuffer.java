@@ -0,0 +1,164 @@
+package com.mysite.sbb.quiz_attempt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+// 시험 중 임시 답안(draft) 자동 저장 버퍼
+// - 응시 화면에서 보기를 고를 때마다 오는 요청을 DB에 바로 쓰지 않고 응시별 (문제ID -> 답안) 맵에만 반영 (같은 문제는 마지막 값만)
+// - 주기적으로 변경된 응시만 quiz_attempt.draft_answers 에 JSON 스냅샷으로 JDBC batch UPDATE (응시당 flush 주기에 최대 1번)
+// - 최종 제출 / 자동 제출 시 QuizAttemptService 가 버퍼의 답안을 그대로 채점에 사용하고 discard 로 정리
+// - 한동안 변경 없는 응시는 메모리에서 내림 (다음 요청 때 DB 스냅샷에서 다시 읽음)
+@RequiredArgsConstructor
+@Component
+public class DraftAnswerBuffer {
+
+	// 채점이 시작된(GRADING / GRADED) 응시에는 쓰지 않음
+	private static final String UPDATE_SQL = "UPDATE quiz_attempt SET draft_answers = ? "
+			+ "WHERE attempt_id = ? AND status = 'STARTED'";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+
+	@Value("${lms.quiz.draft.flush-batch-size:500}")
+	private int batchSize;
+
+	@Value("${lms.quiz.draft.idle-evict-ms:600000}")
+	private long idleEvictMillis;
+
+	private final Map<Long, Draft> drafts = new ConcurrentHashMap<>();
+
+	// 응시의 임시 답안 (버퍼에 없으면 loader 로 한 번 읽어서 올림)
+	public Draft open(Long attemptId, Supplier<Draft> loader) {
+		Draft draft = drafts.computeIfAbsent(attemptId, id -> loader.get());
+		draft.lastTouchedAt = System.currentTimeMillis();
+		return draft;
+	}
+
+	// 버퍼에 있는 임시 답안 (없으면 null)
+	public Map<Long, String> peek(Long attemptId) {
+		Draft draft = drafts.get(attemptId);
+		return draft == null ? null : draft.snapshot();
+	}
+
+	// 채점이 끝난 응시 정리
+	public void discard(Long attemptId) {
+		drafts.remove(attemptId);
+	}
+
+	// 변경된 임시 답안만 주기적으로 DB에 반영
+	@Scheduled(fixedDelayString = "${lms.quiz.draft.flush-interval-ms:10000}")
+	public void flush() {
+		long now = System.currentTimeMillis();
+		List<Object[]> rows = new ArrayList<>();
+		List<Draft> flushed = new ArrayList<>();
+
+		for (Map.Entry<Long, Draft> entry : drafts.entrySet()) {
+			Draft draft = entry.getValue();
+			if (draft.dirty) {
+				draft.dirty = false; // 이후 변경은 다음 flush 로
+				rows.add(new Object[] { toJson(draft.snapshot()), entry.getKey() });
+				flushed.add(draft);
+			} else if (now - draft.lastTouchedAt > idleEvictMillis) {
+				drafts.remove(entry.getKey(), draft); // DB 에 반영된 상태로 오래 안 쓴 응시
+			}
+		}
+		if (rows.isEmpty()) {
+			return;
+		}
+
+		try {
+			for (int from = 0; from < rows.size(); from += batchSize) {
+				jdbcTemplate.batchUpdate(UPDATE_SQL, rows.subList(from, Math.min(from + batchSize, rows.size())));
+			}
+		} catch (DataAccessException e) {
+			// 실패하면 다음 flush 때 다시 (스냅샷 전체를 덮어쓰므로 중복 반영돼도 안전)
+			flushed.forEach(draft -> draft.dirty = true);
+			throw e;
+		}
+	}
+
+	// 정상 종료 시 남은 임시 답안 반영
+	@PreDestroy
+	public void drain() {
+		flush();
+	}
+
+	// (문제ID -> 답안) <-> JSON
+	public String toJson(Map<Long, String> answers) {
+		try {
+			return objectMapper.writeValueAsString(answers);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("임시 답안 변환 실패", e);
+		}
+	}
+
+	public Map<Long, String> fromJson(String json) {
+		if (json == null || json.isBlank()) {
+			return new HashMap<>();
+		}
+		try {
+			return objectMapper.readValue(json, new TypeReference<HashMap<Long, String>>() {
+			});
+		} catch (JsonProcessingException e) {
+			System.err.println("임시 답안을 읽을 수 없어 무시합니다: " + e.getMessage());
+			return new HashMap<>();
+		}
+	}
+
+	// 응시 하나의 임시 답안 (소유자, 출제 문제 ID 는 처음 올릴 때 한 번만 조회)
+	public static final class Draft {
+		private final Long uno;
+		private final Set<Long> questionIds;
+		private final Map<Long, String> answers;
+		private volatile boolean dirty;
+		private volatile long lastTouchedAt = System.currentTimeMillis();
+
+		public Draft(Long uno, Set<Long> questionIds, Map<Long, String> answers) {
+			this.uno = uno;
+			this.questionIds = questionIds;
+			this.answers = Collections.synchronizedMap(new HashMap<>(answers));
+		}
+
+		public Long getUno() {
+			return uno;
+		}
+
+		public boolean isDrawn(Long questionId) {
+			return questionIds.contains(questionId);
+		}
+
+		public void put(Long questionId, String answer) {
+			if (answer == null || answer.isEmpty()) {
+				answers.remove(questionId);
+			} else {
+				answers.put(questionId, answer);
+			}
+			dirty = true;
+		}
+
+		Map<Long, String> snapshot() {
+			synchronized (answers) {
+				return new HashMap<>(answers);
+			}
+		}
+	}
+}
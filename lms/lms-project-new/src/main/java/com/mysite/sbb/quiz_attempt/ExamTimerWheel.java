@@ -0,0 +1,187 @@
+package com.mysite.sbb.quiz_attempt;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+// 시험 제한 시간 타이머 (hashed timing wheel)
+// - 응시마다 예약 작업을 만들지 않고, 마감 시각을 tick 단위로 나눠 고정 크기 버킷 배열(바퀴)에 넣어둠
+// - 스케줄러가 tick 마다 지나간 버킷만 확인해서 마감된 응시를 꺼냄 (예약 / 취소 O(1), 동시 응시 수와 무관한 tick 비용)
+// - 꺼낸 응시는 한 tick 에 최대 max-batch 건씩 QuizAttemptService.expireAttempt 로 자동 채점 (나머지는 다음 tick)
+// - 서버 재시작 시 미제출 응시의 마감 시각을 DB에서 다시 읽어 예약
+// - [수정] 자동 채점이 실패한 응시는 버리지 않고 바퀴에 다시 넣음 (실패할 때마다 2배씩, 최대 max-retry-delay-ms 뒤)
+@RequiredArgsConstructor
+@Component
+public class ExamTimerWheel {
+
+	private final QuizAttemptRepository qAttemptr;
+	private final ObjectProvider<QuizAttemptService> qAttemptsProvider; // 서로 참조하므로 지연 조회
+
+	@Value("${lms.quiz.timer.tick-ms:1000}")
+	private long tickMillis;
+
+	@Value("${lms.quiz.timer.wheel-size:512}")
+	private int wheelSize;
+
+	@Value("${lms.quiz.timer.max-batch:200}")
+	private int maxBatch;
+
+	@Value("${lms.quiz.timer.max-retry-delay-ms:60000}")
+	private long maxRetryDelayMillis;
+
+	// [추가] 마감 후 제출 허용 여유 시간 (QuizAttemptService 와 같은 값)
+	// 자동 제출이 여유 시간 안에 들어온 실제 제출보다 먼저 채점하지 않도록 마감 + 여유 시간에 예약
+	@Value("${lms.quiz.timer.grace-seconds:10}")
+	private int graceSeconds;
+
+	private Queue<Timeout>[] buckets;
+	private int mask;
+
+	// 응시 ID -> 현재 예약 (취소 / 재예약 시 교체, 버킷에 남은 이전 항목은 꺼낼 때 버림)
+	private final Map<Long, Timeout> scheduled = new ConcurrentHashMap<>();
+	// 마감되어 자동 채점을 기다리는 응시 ID
+	private final Queue<Long> due = new ConcurrentLinkedQueue<>();
+	// 자동 채점에 연속으로 실패한 횟수 (다시 시도할 간격 계산용)
+	private final Map<Long, Integer> failures = new ConcurrentHashMap<>();
+	// 마지막으로 처리한 tick (epoch ms / tickMillis)
+	private volatile long processedTick;
+
+	@PostConstruct
+	@SuppressWarnings("unchecked")
+	void init() {
+		// 버킷 수는 2의 거듭제곱으로 맞춰서 나머지 연산 대신 비트 AND 사용
+		int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+		buckets = new Queue[size];
+		for (int i = 0; i < size; i++) {
+			buckets[i] = new ConcurrentLinkedQueue<>();
+		}
+		mask = size - 1;
+		processedTick = System.currentTimeMillis() / tickMillis;
+	}
+
+	// 마감 시각 예약 (같은 응시를 다시 예약하면 이전 예약은 무시됨)
+	// [수정] 시작 / 재시작 복구 모두 마감 + 여유 시간에 자동 제출
+	public void schedule(Long attemptId, LocalDateTime deadline) {
+		if (attemptId == null || deadline == null) {
+			return;
+		}
+		long deadlineMillis = deadline.plusSeconds(graceSeconds).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+		long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis); // 올림
+		scheduleAt(attemptId, deadlineTick);
+	}
+
+	private void scheduleAt(Long attemptId, long deadlineTick) {
+		Timeout timeout = new Timeout(attemptId, deadlineTick);
+		scheduled.put(attemptId, timeout);
+
+		// 이미 지나간 tick 이면 다음 tick 버킷에 넣음
+		// (advance 와 동시에 실행되어 한 바퀴 늦게 꺼내지는 경우가 있어도 마감 시각 검사로 처리됨)
+		long tick = Math.max(deadlineTick, processedTick + 1);
+		buckets[(int) (tick & mask)].add(timeout);
+	}
+
+	// 제출 완료 등으로 예약 취소
+	public void cancel(Long attemptId) {
+		if (attemptId != null) {
+			scheduled.remove(attemptId);
+			failures.remove(attemptId);
+		}
+	}
+
+	// 예약된 응시 수 (관리자 확인용)
+	public int getScheduledCount() {
+		return scheduled.size();
+	}
+
+	// tick 마다 지나간 버킷을 확인하고 마감된 응시를 자동 채점
+	@Scheduled(fixedDelayString = "${lms.quiz.timer.tick-ms:1000}")
+	public void advance() {
+		long nowTick = System.currentTimeMillis() / tickMillis;
+		// 밀린 tick 은 최대 한 바퀴까지만 확인 (그 이상은 같은 버킷을 다시 보는 것)
+		for (long tick = Math.max(processedTick + 1, nowTick - mask); tick <= nowTick; tick++) {
+			Iterator<Timeout> it = buckets[(int) (tick & mask)].iterator();
+			while (it.hasNext()) {
+				Timeout timeout = it.next();
+				if (scheduled.get(timeout.attemptId()) != timeout) {
+					it.remove(); // 취소 / 재예약된 항목
+				} else if (timeout.deadlineTick() <= nowTick) {
+					it.remove();
+					scheduled.remove(timeout.attemptId(), timeout);
+					due.add(timeout.attemptId());
+				}
+				// 마감이 더 남은 항목(다음 바퀴)은 그대로 둠
+			}
+		}
+		processedTick = nowTick;
+
+		expireDue();
+	}
+
+	private void expireDue() {
+		if (due.isEmpty()) {
+			return;
+		}
+		List<Long> batch = new ArrayList<>();
+		Long attemptId;
+		while (batch.size() < maxBatch && (attemptId = due.poll()) != null) {
+			batch.add(attemptId);
+		}
+
+		QuizAttemptService qAttempts = qAttemptsProvider.getObject();
+		int expired = 0;
+		for (Long id : batch) {
+			try {
+				if (qAttempts.expireAttempt(id)) {
+					expired++;
+				}
+				failures.remove(id);
+			} catch (RuntimeException e) {
+				// 한 건 실패가 나머지 자동 채점을 막지 않도록 (응시는 STARTED 로 돌아가 있음 -> 간격을 두고 다시 예약)
+				long delayMillis = retryDelayMillis(failures.merge(id, 1, Integer::sum));
+				System.err.println("시험 시간 만료 처리 실패 (Attempt ID: " + id + "), " + delayMillis + "ms 뒤 다시 시도: "
+						+ e.getMessage());
+				scheduleAt(id, Math.floorDiv(System.currentTimeMillis() + delayMillis + tickMillis - 1, tickMillis));
+			}
+		}
+		if (expired > 0) {
+			System.out.println("시험 시간 만료 자동 제출: " + expired + "건 (대기 " + due.size() + "건)");
+		}
+	}
+
+	// 실패 횟수에 따른 재시도 간격 (tick, 2 tick, 4 tick ... 최대 maxRetryDelayMillis)
+	private long retryDelayMillis(int failureCount) {
+		long delay = tickMillis << Math.min(failureCount - 1, 20);
+		return Math.min(delay, Math.max(maxRetryDelayMillis, tickMillis));
+	}
+
+	// 서버 시작 시 미제출 응시의 마감 시각 복구 (이미 지난 응시는 첫 tick 에 자동 채점)
+	@EventListener(ApplicationReadyEvent.class)
+	public void recover() {
+		List<Object[]> rows = qAttemptr.findDeadlinesByStatusNot(AttemptStatus.GRADED);
+		for (Object[] row : rows) {
+			schedule((Long) row[0], (LocalDateTime) row[1]);
+		}
+		if (!rows.isEmpty()) {
+			System.out.println("시험 제한 시간 복구: " + rows.size() + "건");
+		}
+	}
+
+	record Timeout(Long attemptId, long deadlineTick) {
+	}
+}
@@ -0,0 +1,78 @@
+package com.mysite.sbb.quiz_attempt;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mysite.sbb.quiz_answer.PackedAnswers;
+import com.mysite.sbb.quiz_answer.QuizAnswerRepository;
+import com.mysite.sbb.quiz_question.AnswerKey;
+import com.mysite.sbb.quiz_question.AnswerKeyCache;
+
+import lombok.RequiredArgsConstructor;
+
+// 기존 quiz_answer 행 -> quiz_attempt.packed_answers 이전 작업 (관리자가 batch 단위로 실행)
+// - 응시 batchSize 건씩 (응시ID 순, afterAttemptId 다음부터): 답안 행 조회 -> 사용자 답을 보기 번호로 변환해 압축 -> 응시 행에 저장 -> 답안 행 삭제
+// - 한 batch 는 한 트랜잭션이라 중간에 실패하면 그 batch 는 그대로 행 저장으로 남음 (다시 실행하면 이어서 진행)
+// - [수정] 보기에 없는 답(문제 수정 전의 보기 등)이 하나라도 있는 응시는 원문을 잃지 않도록 행 저장 그대로 둠
+//   (그런 응시가 계속 다시 조회되지 않도록 다음 호출은 결과의 lastAttemptId 다음부터)
+@RequiredArgsConstructor
+@Service
+public class PackedAnswerMigration {
+
+	private final QuizAttemptRepository qAttemptr;
+	private final QuizAnswerRepository qAnswerr;
+	private final AnswerKeyCache answerKeys;
+
+	public record Result(int packedAttempts, int keptAsRows, int deletedRows, Long lastAttemptId, boolean remaining) {
+	}
+
+	@Transactional
+	public Result migrateBatch(long afterAttemptId, int batchSize) {
+		List<Long> attemptIds = qAnswerr.findUnpackedAttemptIds(afterAttemptId, PageRequest.of(0, batchSize));
+		if (attemptIds.isEmpty()) {
+			return new Result(0, 0, 0, afterAttemptId, false);
+		}
+
+		// 응시ID -> 출제 순서대로의 (문제ID, 사용자 답, 정답 여부)
+		Map<Long, List<Object[]>> rowsByAttempt = new LinkedHashMap<>();
+		for (Object[] row : qAnswerr.findPackingRowsByAttemptIds(attemptIds)) {
+			rowsByAttempt.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add(row);
+		}
+
+		Map<Long, AnswerKey> keysByQuiz = new HashMap<>();
+		List<Long> packedIds = new ArrayList<>();
+		for (QuizAttempt attempt : qAttemptr.findAllById(attemptIds)) {
+			AnswerKey answerKey = keysByQuiz.computeIfAbsent(attempt.getQuiz().getQuizId(), answerKeys::get);
+			List<PackedAnswers.Entry> entries = new ArrayList<>();
+			boolean packable = true;
+			for (Object[] row : rowsByAttempt.getOrDefault(attempt.getAttemptId(), List.of())) {
+				Long questionId = (Long) row[1];
+				if (!answerKey.isPackable(questionId, (String) row[2])) {
+					packable = false; // 보기에 없는 답 -> 이 응시는 행 저장 유지
+					break;
+				}
+				entries.add(new PackedAnswers.Entry(questionId, answerKey.choiceOf(questionId, (String) row[2]),
+						Boolean.TRUE.equals(row[3])));
+			}
+			if (packable) {
+				attempt.setPackedAnswers(PackedAnswers.encode(entries));
+				packedIds.add(attempt.getAttemptId());
+			}
+		}
+		qAttemptr.flush(); // 응시 행을 먼저 반영한 뒤 답안 행 삭제
+		int deletedRows = packedIds.isEmpty() ? 0 : qAnswerr.deleteByAttemptIds(packedIds);
+
+		int keptAsRows = attemptIds.size() - packedIds.size();
+		Long lastAttemptId = attemptIds.get(attemptIds.size() - 1);
+		System.out.println("답안 압축 저장 이전: 응시 " + packedIds.size() + "건, 답안 행 " + deletedRows + "개 삭제, 행 저장 유지 "
+				+ keptAsRows + "건 (마지막 응시 ID: " + lastAttemptId + ")");
+		return new Result(packedIds.size(), keptAsRows, deletedRows, lastAttemptId, attemptIds.size() == batchSize);
+	}
+}
@@ -0,0 +1,38 @@
+package com.mysite.sbb.quiz_attempt;
+
+import java.nio.ByteBuffer;
+
+// 응시 시작 때 뽑은 문제 ID 목록을 quiz_attempt.question_ids 한 컬럼에 담는 바이너리 형식
+// - [형식 버전 1바이트] + 문제마다 [문제ID 8바이트], 출제 순서대로
+// - 20문제 = 161바이트, 이후 문제 풀이 바뀌어도 출제된 문제는 그대로
+final class PackedQuestionIds {
+
+	static final byte FORMAT_V1 = 1;
+
+	private PackedQuestionIds() {
+	}
+
+	static byte[] encode(long[] questionIds) {
+		ByteBuffer buffer = ByteBuffer.allocate(1 + questionIds.length * Long.BYTES);
+		buffer.put(FORMAT_V1);
+		for (long questionId : questionIds) {
+			buffer.putLong(questionId);
+		}
+		return buffer.array();
+	}
+
+	static long[] decode(byte[] packed) {
+		if (packed == null || packed.length == 0) {
+			return new long[0];
+		}
+		if (packed[0] != FORMAT_V1 || (packed.length - 1) % Long.BYTES != 0) {
+			throw new IllegalStateException("지원하지 않는 출제 문제 저장 형식입니다. (버전: " + packed[0] + ")");
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(packed, 1, packed.length - 1);
+		long[] questionIds = new long[(packed.length - 1) / Long.BYTES];
+		for (int i = 0; i < questionIds.length; i++) {
+			questionIds[i] = buffer.getLong();
+		}
+		return questionIds;
+	}
+}
@@ -0,0 +1,355 @@
+package com.mysite.sbb.quiz_attempt;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mysite.sbb.DataNotFoundException;
+import com.mysite.sbb.quiz.Quiz;
+import com.mysite.sbb.quiz.QuizRepository;
+import com.mysite.sbb.quiz_answer.PackedAnswers;
+import com.mysite.sbb.quiz_answer.QuizAnswerBatchWriter;
+import com.mysite.sbb.quiz_answer.QuizAnswerRepository;
+import com.mysite.sbb.quiz_question.AnswerKey;
+import com.mysite.sbb.quiz_question.AnswerKeyCache;
+import com.mysite.sbb.quiz_question.AnswerKeyChangedEvent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+// 정답 / 배점 변경 시 이미 채점된 응시 재채점
+// - 퀴즈별 RegradeJob 한 개: 채점된 응시를 응시 ID 순으로 chunk-size 건씩 읽어 (keyset 페이지) 끝까지 진행
+// - 청크마다 현재 채점표로 점수 / 정답 여부를 ForkJoinPool 에서 병렬 계산 -> 점수가 바뀐 응시만
+//   답안 / 점수 / 레벨 결과 / 작업 진행 위치를 한 트랜잭션으로 커밋
+// - 진행 위치가 결과와 함께 커밋되므로 도중에 서버가 내려가도 재시작 시 다음 청크부터 이어서 진행 (다시 계산해도 결과는 같음)
+// - 진행 중에 정답이 또 바뀌면 같은 작업을 처음부터 다시 (청크마다 최신 채점표 사용)
+@RequiredArgsConstructor
+@Service
+public class QuizRegradeService {
+
+	private static final String UPDATE_SCORE_SQL = "UPDATE quiz_attempt SET score = ? WHERE attempt_id = ?";
+	private static final String UPDATE_PACKED_SQL = "UPDATE quiz_attempt SET packed_answers = ? WHERE attempt_id = ?";
+
+	private final RegradeJobRepository jobr;
+	private final QuizAttemptRepository qAttemptr;
+	private final QuizAnswerRepository qAnswerr;
+	private final QuizRepository quizr;
+	private final QuizAnswerBatchWriter answerWriter;
+	private final AnswerKeyCache answerKeys;
+	private final QuizAttemptService qAttempts;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate txTemplate;
+	private final QuizLeaderboards leaderboards;
+
+	@Value("${lms.regrade.chunk-size:500}")
+	private int chunkSize;
+
+	@Value("${lms.regrade.parallelism:0}")
+	private int parallelism; // 0 이하면 CPU 코어 수
+
+	// 작업은 한 번에 하나씩 (DB 부하 제한), 청크 안의 채점 계산만 병렬
+	private final ExecutorService jobRunner = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "quiz-regrade");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private volatile ForkJoinPool gradingPool;
+
+	// 실행 대기 / 실행 중인 작업 ID (같은 작업을 중복 제출하지 않도록)
+	private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+	// 진행 중에 정답이 다시 바뀐 작업 ID (다음 청크 전에 처음부터 다시)
+	private final Set<Long> restartRequested = ConcurrentHashMap.newKeySet();
+
+	// 문제 수정이 커밋된 뒤에 재채점 시작
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onAnswerKeyChanged(AnswerKeyChangedEvent event) {
+		start(event.quizId());
+	}
+
+	// 재채점 시작 (이미 진행 중이면 처음부터 다시)
+	// [수정] 조회 후 저장 사이에 다른 요청이 같은 퀴즈의 작업을 만들 수 있으므로 active_quiz_id UNIQUE 로 선점
+	// - INSERT 가 UNIQUE 위반이면 먼저 만들어진 작업을 처음부터 다시 (작업은 퀴즈마다 하나)
+	public RegradeJob start(Long quizId) {
+		RegradeJob job = jobr.findFirstByQuizIdAndStatus(quizId, RegradeJob.RUNNING).orElse(null);
+		if (job == null) {
+			RegradeJob created = new RegradeJob();
+			created.setQuizId(quizId);
+			created.setActiveQuizId(quizId);
+			created.setTotalAttempts(qAttemptr.countByQuiz_QuizIdAndStatusAndAttemptIdGreaterThan(quizId,
+					AttemptStatus.GRADED, 0L));
+			try {
+				job = newTransaction().execute(status -> jobr.saveAndFlush(created));
+			} catch (DataIntegrityViolationException e) {
+				job = jobr.findFirstByQuizIdAndStatus(quizId, RegradeJob.RUNNING).orElseThrow(() -> e);
+				restartRequested.add(job.getJobId());
+			}
+		} else {
+			restartRequested.add(job.getJobId());
+		}
+		submit(job.getJobId());
+		return job;
+	}
+
+	// 커밋이 끝난 이벤트 리스너(afterCommit)에서도 바로 커밋되도록 새 트랜잭션
+	private TransactionTemplate newTransaction() {
+		TransactionTemplate template = new TransactionTemplate(txTemplate.getTransactionManager());
+		template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		return template;
+	}
+
+	// 관리자 진행 상황 조회
+	public List<RegradeJob> getRecentJobs() {
+		return jobr.findTop20ByOrderByJobIdDesc();
+	}
+
+	// 서버 재시작 시 끝나지 않은 작업 이어서 진행
+	@EventListener(ApplicationReadyEvent.class)
+	public void resume() {
+		// [추가] active_quiz_id 가 생기기 전에 만든 작업은 여기서 채움 (같은 퀴즈의 작업이 여러 개면 먼저 만든 것만 남김)
+		Set<Long> activeQuizIds = new HashSet<>();
+		for (RegradeJob job : jobr.findByStatus(RegradeJob.RUNNING)) {
+			if (!activeQuizIds.add(job.getQuizId())) {
+				txTemplate.executeWithoutResult(status -> finish(job.getJobId(), RegradeJob.FAILED, "같은 퀴즈의 중복 재채점 작업"));
+			} else if (job.getActiveQuizId() == null) {
+				job.setActiveQuizId(job.getQuizId());
+				jobr.save(job);
+			}
+		}
+		for (RegradeJob job : jobr.findByStatus(RegradeJob.RUNNING)) {
+			System.out.println("재채점 이어서 진행: Job " + job.getJobId() + " (Quiz ID: " + job.getQuizId()
+					+ ", " + job.getProcessedAttempts() + "/" + job.getTotalAttempts() + ")");
+			submit(job.getJobId());
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		jobRunner.shutdownNow(); // 진행 위치는 청크마다 커밋되어 있으므로 재시작 시 이어서 진행
+		if (gradingPool != null) {
+			gradingPool.shutdownNow();
+		}
+	}
+
+	private void submit(Long jobId) {
+		if (queued.add(jobId)) {
+			jobRunner.execute(() -> {
+				try {
+					run(jobId);
+				} finally {
+					queued.remove(jobId);
+				}
+			});
+		}
+	}
+
+	private void run(Long jobId) {
+		RegradeJob job = jobr.findById(jobId).orElse(null);
+		if (job == null || !RegradeJob.RUNNING.equals(job.getStatus())) {
+			return;
+		}
+		try {
+			Long quizId = job.getQuizId();
+			if (!quizr.existsById(quizId)) {
+				throw new DataNotFoundException("퀴즈를 찾을 수 없습니다. ID: " + quizId);
+			}
+			long cursor = job.getLastAttemptId();
+			while (!Thread.currentThread().isInterrupted()) {
+				if (restartRequested.remove(jobId)) {
+					cursor = 0L;
+					txTemplate.executeWithoutResult(status -> resetProgress(jobId));
+				}
+				List<Object[]> rows = qAttemptr.findRegradeRows(quizId, AttemptStatus.GRADED, cursor,
+						PageRequest.of(0, chunkSize));
+				if (rows.isEmpty()) {
+					break;
+				}
+				List<Regraded> results = regradeChunk(quizId, rows);
+				long lastAttemptId = (Long) rows.get(rows.size() - 1)[0];
+				txTemplate.executeWithoutResult(status -> commitChunk(jobId, quizId, results, rows.size(), lastAttemptId));
+				cursor = lastAttemptId;
+			}
+			if (!Thread.currentThread().isInterrupted()) {
+				txTemplate.executeWithoutResult(status -> finish(jobId, RegradeJob.DONE, null));
+				leaderboards.rebuild(quizId); // 점수가 내려간 응시가 있을 수 있으므로 순위표 다시 만들기
+			}
+		} catch (RuntimeException e) {
+			if (Thread.currentThread().isInterrupted()) {
+				return; // 서버 종료로 중단 -> RUNNING 그대로 두고 재시작 시 이어서
+			}
+			System.err.println("재채점 실패: Job " + jobId + " - " + e.getMessage());
+			txTemplate.executeWithoutResult(status -> finish(jobId, RegradeJob.FAILED, e.getMessage()));
+		}
+	}
+
+	// 청크 한 개 재채점 계산 (DB 쓰기 없음) - 점수 / 정답 여부가 바뀐 응시만 반환
+	private List<Regraded> regradeChunk(Long quizId, List<Object[]> rows) {
+		AnswerKey answerKey = answerKeys.get(quizId); // 청크마다 최신 채점표
+
+		// 행 저장 방식 응시의 답안 (응시ID -> (문제ID, 사용자 답, 정답 여부) 목록)
+		List<Long> rowAttemptIds = rows.stream().filter(row -> row[3] == null).map(row -> (Long) row[0]).toList();
+		Map<Long, List<Object[]>> answerRows = new HashMap<>();
+		if (!rowAttemptIds.isEmpty()) {
+			for (Object[] answer : qAnswerr.findPackingRowsByAttemptIds(rowAttemptIds)) {
+				answerRows.computeIfAbsent((Long) answer[0], id -> new ArrayList<>()).add(answer);
+			}
+		}
+
+		try {
+			return pool().submit(() -> rows.parallelStream()
+					.map(row -> regrade(answerKey, row, answerRows.getOrDefault((Long) row[0], List.of())))
+					.filter(Regraded::changed)
+					.toList()).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("재채점이 중단되었습니다.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("재채점 계산 실패", e.getCause());
+		}
+	}
+
+	// 응시 한 개 재채점 (row : 응시ID, 회원 uno, 점수, 압축 답안, 라이브 코드)
+	private static Regraded regrade(AnswerKey answerKey, Object[] row, List<Object[]> answerRows) {
+		Long attemptId = (Long) row[0];
+		int oldScore = row[2] != null ? (Integer) row[2] : 0;
+		byte[] packed = (byte[]) row[3];
+		int newScore = 0;
+		List<Object[]> correctUpdates = new ArrayList<>();
+		byte[] newPacked = null;
+
+		if (packed != null) {
+			List<PackedAnswers.Entry> entries = PackedAnswers.decode(packed);
+			List<PackedAnswers.Entry> regraded = new ArrayList<>(entries.size());
+			boolean flagChanged = false;
+			for (PackedAnswers.Entry entry : entries) {
+				// 보기 번호 0 은 미선택이거나 보기에 없던 답 (답 원문이 없으므로 기존 정답 여부 유지)
+				boolean correct = entry.choice() == 0 ? entry.correct()
+						: answerKey.isCorrectChoice(entry.questionId(), entry.choice());
+				flagChanged |= correct != entry.correct();
+				regraded.add(new PackedAnswers.Entry(entry.questionId(), entry.choice(), correct));
+				if (correct) {
+					newScore += answerKey.scoreOf(entry.questionId());
+				}
+			}
+			if (flagChanged) {
+				newPacked = PackedAnswers.encode(regraded);
+			}
+		} else {
+			for (Object[] answer : answerRows) {
+				Long questionId = (Long) answer[1];
+				boolean correct = answerKey.isCorrect(questionId, (String) answer[2]);
+				if (correct != Boolean.TRUE.equals(answer[3])) {
+					correctUpdates.add(new Object[] { correct, attemptId, questionId });
+				}
+				if (correct) {
+					newScore += answerKey.scoreOf(questionId);
+				}
+			}
+		}
+		return new Regraded(attemptId, (Long) row[1], oldScore, newScore, correctUpdates, newPacked, row[4] != null);
+	}
+
+	// 청크 결과 + 진행 위치를 한 트랜잭션으로
+	private void commitChunk(Long jobId, Long quizId, List<Regraded> results, int processed, long lastAttemptId) {
+		List<Object[]> correctUpdates = new ArrayList<>();
+		List<Object[]> scoreUpdates = new ArrayList<>();
+		List<Object[]> packedUpdates = new ArrayList<>();
+		for (Regraded r : results) {
+			correctUpdates.addAll(r.correctUpdates());
+			if (r.scoreChanged()) {
+				scoreUpdates.add(new Object[] { r.newScore(), r.attemptId() });
+			}
+			if (r.newPacked() != null) {
+				packedUpdates.add(new Object[] { r.newPacked(), r.attemptId() });
+			}
+		}
+		answerWriter.updateCorrect(correctUpdates);
+		if (!scoreUpdates.isEmpty()) {
+			jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, scoreUpdates);
+		}
+		if (!packedUpdates.isEmpty()) {
+			jdbcTemplate.batchUpdate(UPDATE_PACKED_SQL, packedUpdates);
+		}
+
+		// 점수가 바뀐 응시의 레벨 / 승급 결과 다시 판단 (위 점수 UPDATE 이후라 다른 합격 기록 조회에 반영됨, 라이브 결과는 제외)
+		int levelChanges = 0;
+		Quiz quiz = scoreUpdates.isEmpty() ? null : quizr.findById(quizId).orElseThrow();
+		for (Regraded r : results) {
+			if (r.scoreChanged() && !r.live() && qAttempts.reapplyOutcome(quiz, r.uno(), r.attemptId(), r.oldScore(), r.newScore())) {
+				levelChanges++;
+			}
+		}
+
+		RegradeJob job = jobr.findById(jobId).orElseThrow();
+		job.setLastAttemptId(lastAttemptId);
+		job.setProcessedAttempts(job.getProcessedAttempts() + processed);
+		job.setChangedAttempts(job.getChangedAttempts() + scoreUpdates.size());
+		job.setLevelChanges(job.getLevelChanges() + levelChanges);
+		job.setUpdatedAt(LocalDateTime.now());
+	}
+
+	private void resetProgress(Long jobId) {
+		RegradeJob job = jobr.findById(jobId).orElseThrow();
+		job.setLastAttemptId(0L);
+		job.setProcessedAttempts(0);
+		job.setTotalAttempts(qAttemptr.countByQuiz_QuizIdAndStatusAndAttemptIdGreaterThan(job.getQuizId(),
+				AttemptStatus.GRADED, 0L));
+		job.setUpdatedAt(LocalDateTime.now());
+	}
+
+	private void finish(Long jobId, String status, String errorMessage) {
+		jobr.findById(jobId).ifPresent(job -> {
+			job.setStatus(status);
+			job.setActiveQuizId(null); // [추가] 퀴즈의 다음 작업을 만들 수 있도록 해제
+			job.setErrorMessage(errorMessage != null && errorMessage.length() > 500 ? errorMessage.substring(0, 500)
+					: errorMessage);
+			job.setUpdatedAt(LocalDateTime.now());
+			System.out.println("재채점 " + status + ": Job " + jobId + " (처리 " + job.getProcessedAttempts() + "건, 점수 변경 "
+					+ job.getChangedAttempts() + "건, 레벨 변경 " + job.getLevelChanges() + "건)");
+		});
+	}
+
+	private ForkJoinPool pool() {
+		if (gradingPool == null) {
+			synchronized (this) {
+				if (gradingPool == null) {
+					gradingPool = new ForkJoinPool(
+							parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+				}
+			}
+		}
+		return gradingPool;
+	}
+
+	// 재채점 결과 (correctUpdates : 정답 여부, 응시ID, 문제ID / newPacked : 압축 답안이 바뀐 경우만)
+	record Regraded(Long attemptId, Long uno, int oldScore, int newScore, List<Object[]> correctUpdates,
+			byte[] newPacked, boolean live) {
+
+		boolean scoreChanged() {
+			return oldScore != newScore;
+		}
+
+		boolean changed() {
+			return scoreChanged() || !correctUpdates.isEmpty() || newPacked != null;
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.mysite.sbb.quiz_attempt;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+// 재채점 작업 (퀴즈 정답 / 배점 변경 시 QuizRegradeService 가 생성)
+// - lastAttemptId 까지 처리 완료 (응시 ID 오름차순), 청크마다 재채점 결과와 같은 트랜잭션으로 갱신
+// - 서버가 도중에 내려가도 RUNNING 작업은 재시작 시 lastAttemptId 다음부터 이어서 진행
+// - [추가] 진행 중(RUNNING)인 작업만 active_quiz_id 에 퀴즈 ID (UNIQUE) -> 퀴즈마다 진행 중인 작업은 DB 기준 하나
+@Getter
+@Setter
+@Entity
+@Table(name = "regrade_job")
+public class RegradeJob {
+
+	public static final String RUNNING = "RUNNING";
+	public static final String DONE = "DONE";
+	public static final String FAILED = "FAILED";
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "job_id")
+	private Long jobId;
+
+	@Column(name = "quiz_id", nullable = false)
+	private Long quizId;
+
+	@Column(name = "status", length = 20, nullable = false)
+	private String status = RUNNING;
+
+	// 진행 중이면 quizId, 끝나면(DONE / FAILED) null - MySQL UNIQUE 는 NULL 중복을 허용
+	@Column(name = "active_quiz_id", unique = true)
+	private Long activeQuizId;
+
+	@Column(name = "last_attempt_id", nullable = false)
+	private Long lastAttemptId = 0L; // 처리 완료된 마지막 응시 ID
+
+	@Column(name = "total_attempts")
+	private long totalAttempts; // 시작 시점의 대상 응시 수
+
+	@Column(name = "processed_attempts")
+	private long processedAttempts; // 다시 채점한 응시 수
+
+	@Column(name = "changed_attempts")
+	private long changedAttempts; // 점수가 바뀐 응시 수
+
+	@Column(name = "level_changes")
+	private long levelChanges; // 레벨이 바뀐 회원 수
+
+	@Column(name = "error_message", length = 500)
+	private String errorMessage;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt = LocalDateTime.now();
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+}
@@ -0,0 +1,45 @@
+package com.mysite.sbb.quiz_question;
+
+import java.util.List;
+
+// 문제 목록 화면에 보여줄 문항 분석 결과 (QuestionStats 누적값으로 계산)
+// - discrimination : 점이연 상관계수 (맞힌 응시자 총점 평균 - 틀린 응시자 총점 평균) / 총점 표준편차 * sqrt(p(1-p)),
+//   모두 맞히거나 모두 틀렸으면 null
+// - flag : 표본이 충분할 때만 (너무 쉬움 / 너무 어려움 / 변별도 낮음 / 정답 확인 필요), 없으면 null
+public record ItemStats(long attempts, int correctPercent, List<Integer> optionPercents, Double discrimination,
+		String flag) {
+
+	static ItemStats of(QuestionStats s, long minAttempts) {
+		long n = s.getAttempts();
+		if (n == 0) {
+			return new ItemStats(0, 0, List.of(0, 0, 0, 0), null, null);
+		}
+		double p = (double) s.getCorrectCount() / n;
+		List<Integer> optionPercents = List.of(percent(s.getOption1Count(), n), percent(s.getOption2Count(), n),
+				percent(s.getOption3Count(), n), percent(s.getOption4Count(), n));
+
+		Double discrimination = null;
+		long correct = s.getCorrectCount();
+		double mean = (double) s.getSumTotal() / n;
+		double variance = (double) s.getSumTotalSq() / n - mean * mean;
+		if (correct > 0 && correct < n && variance > 0) {
+			double meanCorrect = (double) s.getSumTotalCorrect() / correct;
+			double meanWrong = (double) (s.getSumTotal() - s.getSumTotalCorrect()) / (n - correct);
+			discrimination = Math.round((meanCorrect - meanWrong) / Math.sqrt(variance) * Math.sqrt(p * (1 - p)) * 100)
+					/ 100.0;
+		}
+
+		String flag = null;
+		if (n >= minAttempts) {
+			if (discrimination != null && discrimination < 0) flag = "정답 확인 필요"; // 잘하는 응시자가 더 틀림
+			else if (p >= 0.9) flag = "너무 쉬움";
+			else if (p <= 0.2) flag = "너무 어려움";
+			else if (discrimination != null && discrimination < 0.2) flag = "변별도 낮음";
+		}
+		return new ItemStats(n, percent(correct, n), optionPercents, discrimination, flag);
+	}
+
+	private static int percent(long count, long total) {
+		return (int) Math.round(count * 100.0 / total);
+	}
+}
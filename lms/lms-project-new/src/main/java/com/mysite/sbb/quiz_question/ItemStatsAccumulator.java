@@ -0,0 +1,142 @@
+package com.mysite.sbb.quiz_question;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.mysite.sbb.quiz_answer.GradedAnswer;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+// 문항 분석(정답률, 보기 분포, 변별도) 누적기
+// - 채점이 커밋될 때마다 문제별 증분(응시 수, 정답 수, 보기별 선택 수, 총점 합계 / 제곱합)을 메모리에 더해두고
+// - 주기적으로 question_stats 에 INSERT ... ON DUPLICATE KEY UPDATE 로 한 번에 더함 (quiz_answer 전체를 다시 집계하지 않음)
+// - 화면 조회는 question_stats 만 읽음 (flush 주기만큼 늦게 반영됨)
+@RequiredArgsConstructor
+@Component
+public class ItemStatsAccumulator {
+
+	private static final String UPSERT_SQL = "INSERT INTO question_stats (question_id, attempts, correct_count, "
+			+ "option1_count, option2_count, option3_count, option4_count, other_count, "
+			+ "sum_total, sum_total_sq, sum_total_correct) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+			+ "ON DUPLICATE KEY UPDATE attempts = attempts + VALUES(attempts), "
+			+ "correct_count = correct_count + VALUES(correct_count), "
+			+ "option1_count = option1_count + VALUES(option1_count), "
+			+ "option2_count = option2_count + VALUES(option2_count), "
+			+ "option3_count = option3_count + VALUES(option3_count), "
+			+ "option4_count = option4_count + VALUES(option4_count), "
+			+ "other_count = other_count + VALUES(other_count), "
+			+ "sum_total = sum_total + VALUES(sum_total), "
+			+ "sum_total_sq = sum_total_sq + VALUES(sum_total_sq), "
+			+ "sum_total_correct = sum_total_correct + VALUES(sum_total_correct)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final QuestionStatsRepository statsr;
+
+	@Value("${lms.item-stats.min-attempts:20}")
+	private long minAttempts;
+
+	// 문제 ID -> 아직 반영 안 된 증분 (불변 값, merge 로 교체하므로 flush 의 remove 와 섞여도 유실 없음)
+	private final Map<Long, Delta> pending = new ConcurrentHashMap<>();
+
+	// 채점 결과 한 건 반영 (트랜잭션 안이면 커밋된 뒤에, 롤백되면 반영하지 않음)
+	public void record(List<GradedAnswer> graded, int totalScore) {
+		if (graded.isEmpty()) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					add(graded, totalScore);
+				}
+			});
+		} else {
+			add(graded, totalScore);
+		}
+	}
+
+	private void add(List<GradedAnswer> graded, int totalScore) {
+		for (GradedAnswer answer : graded) {
+			pending.merge(answer.questionId(), Delta.of(answer.choice(), answer.correct(), totalScore), Delta::plus);
+		}
+	}
+
+	// 정답이 바뀌었거나 삭제된 문제는 처음부터 다시 쌓음
+	public void reset(Collection<Long> questionIds) {
+		for (Long questionId : questionIds) {
+			pending.remove(questionId);
+			if (statsr.existsById(questionId)) {
+				statsr.deleteById(questionId);
+			}
+		}
+	}
+
+	// 문제 목록 화면용 (누적값이 없는 문제는 포함하지 않음)
+	public Map<Long, ItemStats> getStats(Collection<Long> questionIds) {
+		Map<Long, ItemStats> result = new HashMap<>();
+		for (QuestionStats stats : statsr.findAllById(questionIds)) {
+			result.put(stats.getQuestionId(), ItemStats.of(stats, minAttempts));
+		}
+		return result;
+	}
+
+	@Scheduled(fixedDelayString = "${lms.item-stats.flush-interval-ms:30000}")
+	public void flush() {
+		if (pending.isEmpty()) {
+			return;
+		}
+		Map<Long, Delta> drained = new HashMap<>();
+		for (Long questionId : pending.keySet()) {
+			Delta delta = pending.remove(questionId);
+			if (delta != null) {
+				drained.put(questionId, delta);
+			}
+		}
+
+		List<Object[]> rows = new ArrayList<>(drained.size());
+		drained.forEach((questionId, d) -> rows.add(new Object[] { questionId, d.attempts(), d.correct(),
+				d.option1(), d.option2(), d.option3(), d.option4(), d.other(), d.sumTotal(), d.sumTotalSq(),
+				d.sumTotalCorrect() }));
+		try {
+			jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+		} catch (DataAccessException e) {
+			// 실패하면 다시 버퍼에 더해서 다음 flush 때 재시도
+			drained.forEach((questionId, delta) -> pending.merge(questionId, delta, Delta::plus));
+			throw e;
+		}
+	}
+
+	@PreDestroy
+	public void drain() {
+		flush();
+	}
+
+	record Delta(long attempts, long correct, long option1, long option2, long option3, long option4, long other,
+			long sumTotal, long sumTotalSq, long sumTotalCorrect) {
+
+		static Delta of(int choice, boolean correct, int totalScore) {
+			long total = totalScore;
+			return new Delta(1, correct ? 1 : 0, choice == 1 ? 1 : 0, choice == 2 ? 1 : 0, choice == 3 ? 1 : 0,
+					choice == 4 ? 1 : 0, choice == 0 ? 1 : 0, total, total * total, correct ? total : 0);
+		}
+
+		Delta plus(Delta o) {
+			return new Delta(attempts + o.attempts, correct + o.correct, option1 + o.option1, option2 + o.option2,
+					option3 + o.option3, option4 + o.option4, other + o.other, sumTotal + o.sumTotal,
+					sumTotalSq + o.sumTotalSq, sumTotalCorrect + o.sumTotalCorrect);
+		}
+	}
+}
@@ -0,0 +1,6 @@
+package com.mysite.sbb.quiz_question;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface QuestionStatsRepository extends JpaRepository<QuestionStats, Long> {
+}
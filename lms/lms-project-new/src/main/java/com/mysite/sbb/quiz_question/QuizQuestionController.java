@@ -1,6 +1,5 @@
 package com.mysite.sbb.quiz_question;
 
-import java.security.Principal;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -19,9 +18,9 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.mysite.sbb.quiz.Quiz;
 import com.mysite.sbb.quiz.QuizService;
+import com.mysite.sbb.user.CurrentUser;
 import com.mysite.sbb.user.User;
 import com.mysite.sbb.user.UserRole;
-import com.mysite.sbb.user.UserService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -33,12 +32,11 @@ public class QuizQuestionController {
 	
 	private final QuizQuestionService qqService;
 	private final QuizService qService;
-	private final UserService uService;
 	
 	// 퀴즈의 문제 목록 (instructor_quiz_list.html에서 '문제 관리' 클릭 시 이동)
 	@GetMapping("/list/{quizId}")
 	public String list(Model model, @PathVariable("quizId") Long quizId, 
-		                  QuizQuestionForm quizQuestionForm, Principal principal,
+		                  QuizQuestionForm quizQuestionForm, @CurrentUser User currentUser,
 		                  @RequestParam(value = "page", defaultValue = "0") int page,
 		                  @RequestParam(value = "kw", defaultValue = "") String kw) {
 		
@@ -48,12 +46,13 @@ public class QuizQuestionController {
 		
 		model.addAttribute("quiz", quiz);	
 		model.addAttribute("paging", paging);
+		model.addAttribute("itemStats", qqService.getItemStats(paging)); // [추가] 문항 분석
 		model.addAttribute("quizQuestionForm", quizQuestionForm);
 		model.addAttribute("kw", kw);
 			
 		// (출제자 폼에 표시용)
-	    if (principal != null) {
-	        model.addAttribute("currentUser", uService.getUser(principal.getName()));
+	    if (currentUser != null) {
+	        model.addAttribute("currentUser", currentUser);
 	    }
 			
 		return "instructor_quiz_question_list";
@@ -64,11 +63,10 @@ public class QuizQuestionController {
 	@PostMapping("/create/{quizId}")
 	public String createQuestion(Model model, @PathVariable("quizId") Long quizId,
 								 @Valid QuizQuestionForm quizQuestionForm, 
-								 BindingResult bindingResult, Principal principal,
+								 BindingResult bindingResult, @CurrentUser User currentUser,
 								 RedirectAttributes redirectAttributes) {
 			
 		Quiz quiz = qService.getQuizById(quizId);
-		User currentUser = uService.getUser(principal.getName());	
 		
 		if (bindingResult.hasErrors()) {
 			List<QuizQuestion> questionList = qqService.getQuestionsByQuiz(quizId);
@@ -101,12 +99,11 @@ public class QuizQuestionController {
  	@PreAuthorize("hasRole('ROLE_INSTRUCTOR') or hasRole('ROLE_ADMIN')")
  	@GetMapping("/modify/{id}")
  	public String modifyQuestion(QuizQuestionForm quizQuestionForm, @PathVariable("id") Long id, 
- 	                             Model model, Principal principal) { 
+ 	                             Model model, @CurrentUser User currentUser) { 
  		
  		QuizQuestion qq = qqService.getQuestion(id);
  		
  		// 권한 확인
- 		User currentUser = uService.getUser(principal.getName());
  		
          if (currentUser.getRole() != UserRole.ROLE_ADMIN && (qq.getAuthor() == null || !qq.getAuthor().getUno().equals(currentUser.getUno()))) {
              throw new ResponseStatusException(HttpStatus.FORBIDDEN, "수정 권한이 없습니다.");
@@ -133,10 +130,9 @@ public class QuizQuestionController {
  	@PreAuthorize("hasRole('ROLE_INSTRUCTOR') or hasRole('ROLE_ADMIN')")
  	@PostMapping("/modify/{id}")
  	public String modifyQuestion(@Valid QuizQuestionForm quizQuestionForm, BindingResult bindingResult,
- 								 @PathVariable("id") Long id, Model model, Principal principal,
+ 								 @PathVariable("id") Long id, Model model, @CurrentUser User currentUser,
  								 RedirectAttributes redirectAttributes) { 
  		
- 		User currentUser = uService.getUser(principal.getName());
  		QuizQuestion qq = qqService.getQuestion(id);
  		
  		if (bindingResult.hasErrors()) {
@@ -167,11 +163,10 @@ public class QuizQuestionController {
  	// 퀴즈 문제 삭제
   	@PreAuthorize("hasRole('ROLE_INSTRUCTOR') or hasRole('ROLE_ADMIN')")
   	@GetMapping("/delete/{id}")
-  	public String deleteQuestion(@PathVariable("id") Long id, Principal principal,
+  	public String deleteQuestion(@PathVariable("id") Long id, @CurrentUser User currentUser,
   								 RedirectAttributes redirectAttributes) { 
   		
   		QuizQuestion qq = qqService.getQuestion(id);
-  		User currentUser = uService.getUser(principal.getName());
   		
   		try {
  	 		// 서비스 호출을 새 시그니처로 변경 (ID와 currentUser 전달)
@@ -0,0 +1,6 @@
+package com.mysite.sbb.reference;
+
+// 퀴즈 기준 정보 (ID / 종류 / 승급 테스트 대상 레벨)
+// - Quiz 엔티티는 문제, 응시 기록 컬렉션을 갖고 있어서 레지스트리에는 필요한 세 값만 보관
+public record QuizRef(Long quizId, String quizType, Long levelId) {
+}
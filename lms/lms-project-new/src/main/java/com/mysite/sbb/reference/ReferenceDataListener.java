@@ -0,0 +1,37 @@
+package com.mysite.sbb.reference;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+// Level / Quiz 변경 시 ReferenceDataRegistry 스냅샷 교체
+// - 커밋 후에 무효화 (커밋 전 데이터로 스냅샷을 다시 만들지 않도록)
+// - 엔티티 리스너는 EntityManagerFactory 생성 중에 만들어지므로 레지스트리는 ObjectProvider 로 지연 조회
+@RequiredArgsConstructor
+@Component
+public class ReferenceDataListener {
+
+	private final ObjectProvider<ReferenceDataRegistry> registryProvider;
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void onChange(Object entity) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					registryProvider.getObject().invalidate();
+				}
+			});
+		} else {
+			registryProvider.getObject().invalidate();
+		}
+	}
+}
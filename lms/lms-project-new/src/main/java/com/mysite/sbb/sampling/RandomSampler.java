@@ -0,0 +1,231 @@
+package com.mysite.sbb.sampling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mysite.sbb.classes.ClassesRepository;
+import com.mysite.sbb.quiz_question.QuizQuestion;
+import com.mysite.sbb.quiz_question.QuizQuestionRepository;
+import com.mysite.sbb.user.User;
+import com.mysite.sbb.user.UserRepository;
+import com.mysite.sbb.user.UserRole;
+
+import lombok.RequiredArgsConstructor;
+
+// 랜덤 추천/출제용 샘플링 엔진 (ORDER BY RAND() 대체)
+// - 강의 ID(전체/레벨별), 강사 ID, 퀴즈별 문제 ID 배열만 메모리에 보관
+// - 배열에서 Fisher–Yates 부분 셔플로 k개를 균등하게 뽑고, 뽑힌 ID의 행만 조회
+// - 엔티티 변경 시 SamplingPoolListener 가 해당 풀을 무효화 -> 다음 조회 때 ID만 다시 읽어서 재구성
+// - DB 직접 수정 등에 대비해 주기적으로 전체 풀도 무효화
+// - 퀴즈 문제는 (시드, 풀 버전)으로 같은 문제/순서를 다시 뽑을 수 있음 (응시 기록에는 시드와 풀 버전만 저장)
+@RequiredArgsConstructor
+@Component
+public class RandomSampler {
+
+	private final ClassesRepository classesr;
+	private final UserRepository userr;
+	private final QuizQuestionRepository qQuestionr;
+
+	// 무효화할 때마다 증가. 재구성 도중에 변경이 있었으면 그 결과는 저장하지 않음
+	private final AtomicLong classesGeneration = new AtomicLong();
+	private final AtomicLong instructorGeneration = new AtomicLong();
+	private final AtomicLong questionGeneration = new AtomicLong();
+
+	private volatile ClassesPool classesPool;
+	private volatile IdPool instructorPool;
+	private final Map<Long, IdPool> questionPools = new ConcurrentHashMap<>();
+
+	// 전체 강의 중 랜덤 limit 개의 ID (강의 카드는 ClassesService 에서 필요한 컬럼만 조회)
+	public List<Long> sampleClassIds(int limit) {
+		return toList(sample(classesPool().all(), limit));
+	}
+
+	// 특정 레벨의 강의 중 랜덤 limit 개의 ID
+	public List<Long> sampleClassIdsByLevel(Long levelId, int limit) {
+		return toList(sample(classesPool().byLevel().getOrDefault(levelId, new long[0]), limit));
+	}
+
+	// 강사 중 랜덤 limit 명
+	public List<User> sampleInstructors(int limit) {
+		return loadInOrder(sample(instructorPool().ids(), limit), userr::findAllById, User::getUno);
+	}
+
+	// [추가] 퀴즈 문제 풀 크기 (응시 시작 시 문제가 있는지 확인용, 문제 행은 조회하지 않음)
+	public int questionPoolSize(Long quizId) {
+		return questionPool(quizId).ids().length;
+	}
+
+	// [추가] 시드로 문제 limit 개 선택 (같은 시드 + 같은 풀 버전이면 항상 같은 문제, 같은 순서)
+	public List<QuizQuestion> questionsForSeed(Long quizId, long seed, int limit) {
+		return loadInOrder(questionIdsForSeed(quizId, seed, limit), qQuestionr::findAllById,
+				QuizQuestion::getQuestionId);
+	}
+
+	// [추가] 시드로 뽑은 문제 ID만 (채점처럼 문제 행을 따로 조회하는 곳에서 사용)
+	public long[] questionIdsForSeed(Long quizId, long seed, int limit) {
+		return sample(questionPool(quizId).ids(), limit, new SplittableRandom(seed));
+	}
+
+	// [추가] 응시에 저장해 둔 문제 ID 순서대로 문제 조회 (그 사이 삭제된 문제는 빠짐)
+	public List<QuizQuestion> questionsInOrder(long[] questionIds) {
+		return loadInOrder(questionIds, qQuestionr::findAllById, QuizQuestion::getQuestionId);
+	}
+
+	// --- 무효화 (SamplingPoolListener, 주기 작업에서 호출) ---
+
+	public void invalidateClasses() {
+		classesGeneration.incrementAndGet();
+		classesPool = null;
+	}
+
+	public void invalidateInstructors() {
+		instructorGeneration.incrementAndGet();
+		instructorPool = null;
+	}
+
+	public void invalidateQuestions(Long quizId) {
+		questionGeneration.incrementAndGet();
+		if (quizId == null) {
+			questionPools.clear();
+		} else {
+			questionPools.remove(quizId);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${lms.sampling.refresh-interval-ms:600000}")
+	public void invalidateAll() {
+		invalidateClasses();
+		invalidateInstructors();
+		invalidateQuestions(null);
+	}
+
+	// --- 풀 조회 / 재구성 ---
+
+	private ClassesPool classesPool() {
+		ClassesPool pool = classesPool;
+		if (pool != null) {
+			return pool;
+		}
+		long generation = classesGeneration.get();
+		Map<Long, List<Long>> grouped = new HashMap<>();
+		List<Long> all = new ArrayList<>();
+		for (Object[] row : classesr.findAllIdAndLevelId()) {
+			Long classesId = (Long) row[0];
+			all.add(classesId);
+			if (row[1] != null) {
+				grouped.computeIfAbsent((Long) row[1], k -> new ArrayList<>()).add(classesId);
+			}
+		}
+		Map<Long, long[]> byLevel = new HashMap<>();
+		grouped.forEach((levelId, ids) -> byLevel.put(levelId, toArray(ids)));
+		pool = new ClassesPool(toArray(all), byLevel);
+		if (classesGeneration.get() == generation) {
+			classesPool = pool;
+		}
+		return pool;
+	}
+
+	private IdPool instructorPool() {
+		IdPool pool = instructorPool;
+		if (pool != null) {
+			return pool;
+		}
+		long generation = instructorGeneration.get();
+		pool = new IdPool(toArray(userr.findUnoByRole(UserRole.ROLE_INSTRUCTOR)));
+		if (instructorGeneration.get() == generation) {
+			instructorPool = pool;
+		}
+		return pool;
+	}
+
+	private IdPool questionPool(Long quizId) {
+		IdPool pool = questionPools.get(quizId);
+		if (pool != null) {
+			return pool;
+		}
+		long generation = questionGeneration.get();
+		// 시드로 같은 문제를 다시 뽑으려면 풀의 순서가 항상 같아야 하므로 ID 순으로 정렬
+		long[] ids = toArray(qQuestionr.findQuestionIdByQuizId(quizId));
+		Arrays.sort(ids);
+		pool = new IdPool(ids);
+		if (questionGeneration.get() == generation) {
+			questionPools.put(quizId, pool);
+		}
+		return pool;
+	}
+
+	// 부분 Fisher–Yates: 앞에서부터 k번만 교환하므로 O(k)
+	// 원본 배열은 건드리지 않고, 교환된 자리만 Map 에 기록
+	static long[] sample(long[] ids, int k) {
+		return sample(ids, k, ThreadLocalRandom.current());
+	}
+
+	static long[] sample(long[] ids, int k, RandomGenerator random) {
+		int n = ids.length;
+		int size = Math.max(0, Math.min(k, n));
+		long[] result = new long[size];
+		Map<Integer, Long> swapped = new HashMap<>();
+		for (int i = 0; i < size; i++) {
+			int j = random.nextInt(i, n);
+			long picked = swapped.getOrDefault(j, ids[j]);
+			swapped.put(j, swapped.getOrDefault(i, ids[i]));
+			result[i] = picked;
+		}
+		return result;
+	}
+
+	// findAllById 는 순서를 보장하지 않으므로 뽑힌 순서대로 다시 정렬 (삭제된 ID는 건너뜀)
+	private static <T> List<T> loadInOrder(long[] ids, Function<List<Long>, List<T>> loader,
+			Function<T, Long> idOf) {
+		if (ids.length == 0) {
+			return Collections.emptyList();
+		}
+		List<Long> idList = new ArrayList<>(ids.length);
+		for (long id : ids) {
+			idList.add(id);
+		}
+		Map<Long, T> byId = new HashMap<>();
+		for (T entity : loader.apply(idList)) {
+			byId.put(idOf.apply(entity), entity);
+		}
+		List<T> result = new ArrayList<>(ids.length);
+		for (Long id : idList) {
+			T entity = byId.get(id);
+			if (entity != null) {
+				result.add(entity);
+			}
+		}
+		return result;
+	}
+
+	private static List<Long> toList(long[] ids) {
+		List<Long> list = new ArrayList<>(ids.length);
+		for (long id : ids) {
+			list.add(id);
+		}
+		return list;
+	}
+
+	private static long[] toArray(List<Long> ids) {
+		return ids.stream().mapToLong(Long::longValue).toArray();
+	}
+
+	record ClassesPool(long[] all, Map<Long, long[]> byLevel) {
+	}
+
+	record IdPool(long[] ids) {
+	}
+}
@@ -0,0 +1,53 @@
+package com.mysite.sbb.sampling;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.mysite.sbb.classes.Classes;
+import com.mysite.sbb.quiz_question.QuizQuestion;
+import com.mysite.sbb.user.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+// Classes / User / QuizQuestion 변경 시 RandomSampler 의 ID 풀 무효화
+// - 커밋 전에 무효화하면 다른 요청이 커밋 전 데이터로 풀을 다시 만들 수 있으므로 커밋 후에 무효화
+// - 엔티티 리스너는 EntityManagerFactory 생성 중에 만들어지므로 RandomSampler 는 ObjectProvider 로 지연 조회
+@RequiredArgsConstructor
+@Component
+public class SamplingPoolListener {
+
+	private final ObjectProvider<RandomSampler> samplerProvider;
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void onChange(Object entity) {
+		if (entity instanceof Classes) {
+			afterCommit(() -> samplerProvider.getObject().invalidateClasses());
+		} else if (entity instanceof User) {
+			// 역할 변경(강사 <-> 수강생)도 있으므로 User 변경은 모두 반영
+			afterCommit(() -> samplerProvider.getObject().invalidateInstructors());
+		} else if (entity instanceof QuizQuestion question) {
+			Long quizId = question.getQuiz() != null ? question.getQuiz().getQuizId() : null;
+			afterCommit(() -> samplerProvider.getObject().invalidateQuestions(quizId));
+		}
+	}
+
+	private void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+}
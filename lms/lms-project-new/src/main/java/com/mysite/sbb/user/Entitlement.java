@@ -0,0 +1,16 @@
+package com.mysite.sbb.user;
+
+import java.time.LocalDateTime;
+
+// 수강 권한 projection (역할, 결제 여부, 무료체험 종료 시각)
+// User 엔티티 전체 대신 권한 판단에 필요한 컬럼만 조회해서 EntitlementCache 에 보관
+public record Entitlement(UserRole role, boolean paid, LocalDateTime accessUntil) {
+
+	// 관리자 / 강사 / 결제 회원은 기한 없음, 그 외에는 종료 시각 이전까지만
+	public boolean allows(LocalDateTime now) {
+		if (role == UserRole.ROLE_ADMIN || role == UserRole.ROLE_INSTRUCTOR || paid) {
+			return true;
+		}
+		return accessUntil != null && now.isBefore(accessUntil);
+	}
+}
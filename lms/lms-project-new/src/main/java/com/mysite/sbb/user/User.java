@@ -11,15 +11,18 @@ import com.mysite.sbb.classes.Classes;
 import com.mysite.sbb.enrollment.Enrollment;
 import com.mysite.sbb.level.Level;
 import com.mysite.sbb.quiz_attempt.QuizAttempt;
+import com.mysite.sbb.sampling.SamplingPoolListener;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -30,7 +33,10 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "site_user") // DB 예약어 'user' 회피를 위해 테이블명 변경 권장
+@EntityListeners(SamplingPoolListener.class) // 랜덤 샘플링 ID 풀 갱신
+@Table(name = "site_user", indexes = { // DB 예약어 'user' 회피를 위해 테이블명 변경 권장
+		@Index(name = "idx_site_user_account_status_cdate", columnList = "account_status, user_cdate") // [추가] 휴면 회원 목록
+})
 public class User {
 
 	@Id
@@ -72,6 +78,20 @@ public class User {
 	@Column(name = "end_date")
 	private LocalDateTime endDate; // 무료체험 종료일
 
+	// [추가] 이용 상태 (AccountStatusJob 이 무료체험 만료 / 휴면 전환을 주기적으로 기록)
+	@Enumerated(EnumType.STRING)
+	@Column(name = "account_status", length = 20)
+	private AccountStatus accountStatus = AccountStatus.ACTIVE;
+
+	// [추가] 온보딩 단계 (레벨 테스트 미제출 여부) - 로그인 리다이렉트를 인증 때 읽은 값만으로 결정
+	@Enumerated(EnumType.STRING)
+	@Column(name = "onboarding_status", length = 30)
+	private OnboardingStatus onboardingStatus;
+
+	// [추가] 미제출 레벨 테스트 응시 ID (LEVEL_TEST_PENDING 일 때만)
+	@Column(name = "level_test_attempt_id")
+	private Long levelTestAttemptId;
+
 	// 사용자가 푼 퀴즈 결과 목록 (1명의 사용자는 여러 번 퀴즈를 시도할 수 있음)
 	// 사용자가 삭제되면 관련된 QuizAttempt도 모두 삭제됨
 	@OneToMany(mappedBy = "user", cascade = CascadeType.REMOVE)
@@ -96,4 +116,4 @@ public class User {
 	// 사용자가 삭제되면 해당 사용자가 만든 강의들도 삭제됨
 	@OneToMany(mappedBy = "user", cascade = CascadeType.REMOVE)
 	private List<Classes> classes;
-}
\ No newline at end of file
+}
\ No newline at end of file
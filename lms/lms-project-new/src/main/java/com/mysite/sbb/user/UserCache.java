@@ -0,0 +1,128 @@
+package com.mysite.sbb.user;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.mysite.sbb.DataNotFoundException;
+import com.mysite.sbb.reference.ReferenceDataRegistry;
+
+import lombok.RequiredArgsConstructor;
+
+// 로그인 회원 캐시 (userId -> 회원 정보 복사본, 짧은 TTL)
+// - 거의 모든 요청이 컨트롤러 첫 줄에서 하던 findByUserId(+ 레벨) 조회를 TTL 동안 한 번으로 줄임
+// - 영속성 컨텍스트의 엔티티를 여러 요청이 공유하지 않도록 컬럼 값만 복사한 분리(detached) User 를 보관
+//   [수정] 조회할 때마다 보관본의 새 복사본을 돌려줌 (한 요청이 setter 로 바꿔도 다른 요청 / 캐시에는 영향 없음)
+//   (수강 목록 등 연관 컬렉션은 비어 있음, 수정해서 저장할 때는 UserService.getUser 로 다시 조회)
+// - 회원 정보 / 레벨 / 결제 상태가 바뀌면 UserService 에서 evict (트랜잭션 안이면 커밋 후에 한 번 더)
+// - 최대 회원 수를 넘으면 가장 오래 안 쓴 회원부터 제거 (LRU)
+@RequiredArgsConstructor
+@Component
+public class UserCache {
+
+	private final UserRepository userr;
+	private final ReferenceDataRegistry registry; // 레벨은 레지스트리의 복사본 사용
+
+	@Value("${lms.user-cache.ttl-ms:30000}")
+	private long ttlMillis;
+
+	@Value("${lms.user-cache.max-users:10000}")
+	private int maxUsers;
+
+	// evict 마다 증가 - 조회하는 사이 변경된 회원을 캐시에 다시 올리지 않도록
+	private final AtomicLong generation = new AtomicLong();
+
+	// access-order LinkedHashMap -> LRU (접근은 모두 synchronized(cache) 안에서)
+	private final LinkedHashMap<String, Cached> cache = new LinkedHashMap<>(256, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+			return size() > maxUsers;
+		}
+	};
+
+	// 회원 조회 (없거나 TTL 이 지났으면 DB 에서 다시 읽음)
+	public User get(String userId) {
+		long now = System.currentTimeMillis();
+		synchronized (cache) {
+			Cached cached = cache.get(userId);
+			if (cached != null && now - cached.loadedAt() < ttlMillis) {
+				return detachedCopy(cached.user());
+			}
+		}
+
+		// DB 조회는 락 밖에서
+		long loadedGeneration = generation.get();
+		User user = userr.findByUserId(userId)
+				.orElseThrow(() -> new DataNotFoundException("사용자를 찾을 수 없습니다. User ID: " + userId));
+		return put(user, loadedGeneration);
+	}
+
+	// 이미 조회한 회원을 캐시에 올림 (로그인 시 UserSecurityService)
+	public User put(User user) {
+		return put(user, generation.get());
+	}
+
+	private User put(User user, long loadedGeneration) {
+		User copy = detachedCopy(user);
+		synchronized (cache) {
+			if (generation.get() == loadedGeneration) {
+				cache.put(user.getUserId(), new Cached(copy, System.currentTimeMillis()));
+			}
+		}
+		return detachedCopy(copy); // 보관본은 내주지 않음
+	}
+
+	// 회원 정보 변경 후 호출
+	public void evict(String userId) {
+		if (userId == null) {
+			return;
+		}
+		remove(userId);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			// 커밋 전에 다른 요청이 이전 값을 다시 올렸을 수 있으므로 커밋 후 한 번 더
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					remove(userId);
+				}
+			});
+		}
+	}
+
+	private void remove(String userId) {
+		generation.incrementAndGet();
+		synchronized (cache) {
+			cache.remove(userId);
+		}
+	}
+
+	// 연관 컬렉션 없이 컬럼 값만 복사 (비밀번호는 보관하지 않음)
+	private User detachedCopy(User user) {
+		User copy = new User();
+		copy.setUno(user.getUno());
+		copy.setUserId(user.getUserId());
+		copy.setUserName(user.getUserName());
+		copy.setEmail(user.getEmail());
+		copy.setRole(user.getRole());
+		copy.setApproved(user.isApproved());
+		copy.setUserCdate(user.getUserCdate());
+		copy.setPaid(user.isPaid());
+		copy.setEndDate(user.getEndDate());
+		copy.setAccountStatus(user.getAccountStatus());
+		copy.setOnboardingStatus(user.getOnboardingStatus());
+		copy.setLevelTestAttemptId(user.getLevelTestAttemptId());
+		copy.setLevel(user.getLevel() == null ? null
+				: registry.findLevel(user.getLevel().getLevelId()).orElse(user.getLevel()));
+		return copy;
+	}
+
+	private record Cached(User user, long loadedAt) {
+	}
+}
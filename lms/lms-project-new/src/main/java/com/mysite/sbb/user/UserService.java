@@ -1,11 +1,10 @@
 package com.mysite.sbb.user;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -18,11 +17,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.mysite.sbb.DataNotFoundException;
-import com.mysite.sbb.level.Level;
 import com.mysite.sbb.level.LevelRepository;
-import com.mysite.sbb.quiz.Quiz;
-import com.mysite.sbb.quiz.QuizRepository;
-import com.mysite.sbb.quiz_attempt.QuizAttemptService;
+import com.mysite.sbb.reference.ReferenceDataRegistry;
+import com.mysite.sbb.sampling.RandomSampler;
+import com.mysite.sbb.search.SearchIndexService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -32,12 +30,12 @@ public class UserService {
 
 	private final UserRepository userr;
 	private final PasswordEncoder passworde; // 생성자 주입 / 비밀번호 암호화용
-	private final LevelRepository levelr; // 기본 레벨 연결용 (nullable = false 대응)
-	private final QuizRepository quizr;
-
-	@Autowired
-	@Lazy // 순환 참조 문제를 해결하기 위해 @Lazy 사용
-	private QuizAttemptService qaService;
+	private final ReferenceDataRegistry registry; // [수정] 기본 레벨은 메모리 레지스트리에서 조회
+	private final LevelRepository levelr;
+	private final RandomSampler sampler; // [추가] 랜덤 강사 추천용
+	private final SearchIndexService searchIndex; // [추가] 회원 검색 색인
+	private final UserCache userCache; // [추가] 로그인 회원 캐시 (@CurrentUser)
+	private final EntitlementCache entitlements; // [추가] 수강 권한 캐시
 	
 	// - 회원가입 (UserForm 기반 수강생, 강사, 관리자 포함) 공통
 		public User signup(UserForm form) {
@@ -68,37 +66,25 @@ public class UserService {
 				// ★ [핵심] 수강생은 가입일로부터 7일간 무료 체험
 	            user.setEndDate(LocalDateTime.now().plusDays(7));
 	            user.setPaid(false); // 기본은 미결제 상태
+	            user.setOnboardingStatus(OnboardingStatus.LEVEL_TEST_PENDING); // [추가] 레벨 테스트 대기 (응시는 첫 방문 때 생성)
 			}
 				
 			// 3. 4. 수강생만 설정 (예: ID가 1L인 레벨을 '초급'으로 가정)
 			if (user.getRole() == UserRole.ROLE_LEARNER) {
-			Level defaultLevel = levelr.findById(1L)
+			registry.findLevel(1L)
 					.orElseThrow(() -> new DataNotFoundException("기본 레벨(ID: 1)을 찾을 수 없습니다."));
-			user.setLevel(defaultLevel);
+			user.setLevel(levelr.getReferenceById(1L)); // [수정] 레지스트리 복사본 대신 영속성 컨텍스트의 참조
 			} else {
 		        user.setLevel(null); // 강사, 관리자일 경우 level 없이 저장
 		    }
 
 			// 5. DB 저장
 			User savedUser = userr.save(user); // 저장된 User 객체 반환받기
+			searchIndex.indexUser(savedUser); // [추가] 검색 색인 반영
 
-			// ---- 6. 회원가입 후 수강생인 경우에만 레벨 테스트 자동 시작 ---- //
-			// 1. 레벨 테스트 퀴즈 찾기 (quiztype 기준)
-			if (savedUser.getRole() == UserRole.ROLE_LEARNER) {
-				Optional<Quiz> levelTestQuizOpt = quizr.findByQuizType("LEVEL_TEST");
-
-				if (levelTestQuizOpt.isPresent()) {
-					Quiz levelTestQuiz = levelTestQuizOpt.get();
-					// 2. QuizAttemptService를 사용하여 응시 기록 생성
-					try {
-						qaService.startAttempt(levelTestQuiz, savedUser);
-					} catch (Exception e) {
-						System.err.println("회원가입 후 레벨 테스트 시작 오류: " + e.getMessage());
-					}
-				} else {
-					System.err.println("회원가입 후 레벨 테스트를 찾을 수 없습니다.");
-				}
-			}
+			// ---- 6. [수정] 레벨 테스트 응시는 가입 요청에서 만들지 않음 ---- //
+			// 수강생은 LEVEL_TEST_PENDING (응시 ID 없음) 으로만 저장하고,
+			// 로그인 후 처음 /quiz_attempt/level_test 에 들어올 때 QuizAttemptService.startLevelTest 가 응시를 생성
 			return savedUser;
 		}
 
@@ -111,6 +97,7 @@ public class UserService {
 			}
 			user.setApproved(true);
 			userr.save(user);
+			userCache.evict(user.getUserId()); // [추가]
 		}
 		
 	// - (관리자용) 회원정보수정
@@ -136,6 +123,9 @@ public class UserService {
 			user.setPassword(passworde.encode(newPassword));
 		}
 		userr.save(user);
+		searchIndex.indexUser(user); // [추가] 검색 색인 반영
+		userCache.evict(user.getUserId()); // [추가] 로그인 회원 캐시 갱신
+		entitlements.evict(uno); // [추가] 역할 변경 반영
 	}
 
 	// - (수강생, 강사) 내 정보 수정 메서드
@@ -158,6 +148,8 @@ public class UserService {
 
 		// 저장
 		userr.save(user);
+		searchIndex.indexUser(user); // [추가] 검색 색인 반영
+		userCache.evict(user.getUserId()); // [추가] 로그인 회원 캐시 갱신
 	}
 
 	
@@ -192,19 +184,39 @@ public class UserService {
 
 	// 회원 삭제
 	public void deleteUser(Long uno) {
-		userr.deleteById(uno);
+		User user = getUser(uno);
+		
+		// [추가] cascade 로 함께 삭제되는 강의, 질문 ID를 삭제 전에 모아둠 (검색 색인 정리용)
+		List<Long> classesIds = new ArrayList<>();
+		List<Long> questionIds = new ArrayList<>();
+		user.getBoardquestion().forEach(q -> questionIds.add(q.getBoardQuesId()));
+		user.getClasses().forEach(c -> {
+			classesIds.add(c.getClassesId());
+			c.getQuestions().forEach(q -> questionIds.add(q.getBoardQuesId()));
+		});
+		
+		userr.delete(user);
+		userCache.evict(user.getUserId()); // [추가]
+		entitlements.evict(uno);
+		
+		searchIndex.removeUser(uno);
+		classesIds.forEach(searchIndex::removeClasses);
+		questionIds.forEach(searchIndex::removeBoardQuestion);
 	}
 	
 	
 	// 랜덤 강사 조회 (4명) 메인페이지에서
+	// [수정] ORDER BY RAND() 대신 메모리의 강사 ID 풀에서 샘플링
 	public List<User> getRandomInstructors(int limit) {
-		Pageable pageable = PageRequest.of(0, limit);
-		return userr.findRandomByRole(UserRole.ROLE_INSTRUCTOR, pageable).getContent();
+		return sampler.sampleInstructors(limit);
 	}
 
 	// save 편의 메서드
+	// [수정] 레벨 변경 (채점 / 재채점), 강사 승인 등에서 사용 - 로그인 회원 캐시도 갱신
 	public void save(User user) {
 		userr.save(user);
+		userCache.evict(user.getUserId());
+		entitlements.evict(user.getUno());
 	}
 	
 	
@@ -224,10 +236,35 @@ public class UserService {
 	    
 	    // 최신순으로 10개씩 조회
 	    Pageable pageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.DESC, "userCdate"));
+	    
+	    // [추가] 검색어가 있으면 역색인 검색 후 구분 필터 적용 (검색 점수 순)
+	    if (!keyword.isBlank() && searchIndex.isReady()) {
+	    	UserRole role = "ALL".equals(roleFilter) ? null : UserRole.valueOf(roleFilter);
+	    	Optional<Page<User>> result = searchUsers(keyword, role, null, null, pageable);
+	    	if (result.isPresent()) {
+	    		return result.get();
+	    	}
+	    }
 
 	    return userr.findByKeywordAndRole(keyword.toLowerCase(), roleFilter, pageable);
 	}
 	
+	// [추가] 회원 색인 검색 + 조건 필터 + 페이징
+	// [수정] 조건(null 이면 조건 없음)은 DB 에서 회원 번호만 조회해서 적용, 현재 페이지 회원만 로딩
+	// 검색 결과가 SearchIndexService.MAX_HITS 를 넘으면 empty (호출하는 쪽에서 DB 검색)
+	private Optional<Page<User>> searchUsers(String keyword, UserRole role, Boolean approved, AccountStatus status,
+			Pageable pageable) {
+		List<Long> ids = searchIndex.searchUsers(keyword);
+		if (SearchIndexService.isTruncated(ids)) {
+			return Optional.empty();
+		}
+		if (ids.isEmpty()) {
+			return Optional.of(Page.empty(pageable));
+		}
+		List<Long> matched = userr.filterSearchHits(ids, role, approved, status);
+		return Optional.of(SearchIndexService.toPage(ids, matched, pageable, userr::findAllById, User::getUno));
+	}
+	
 	// 2. user_list_unapproved.html(비승인 강사용)
 	// 승인되지 않은 강사 전체 조회 (approved = false && role = ROLE_INSTRUCTOR)
     public Page<User> getPendingInstructors(int page, String keyword) {
@@ -235,45 +272,61 @@ public class UserService {
         
         if (keyword == null || keyword.trim().isEmpty()) {
             return userr.findByRoleAndApprovedFalse(UserRole.ROLE_INSTRUCTOR, pageable);
-        } else {
-            return userr.searchUnapprovedInstructors(UserRole.ROLE_INSTRUCTOR, keyword.trim().toLowerCase(), pageable);
         }
+        if (searchIndex.isReady()) {
+        	// [추가] 역색인 검색 후 비승인 강사만
+        	Optional<Page<User>> result = searchUsers(keyword, UserRole.ROLE_INSTRUCTOR, false, null, pageable);
+        	if (result.isPresent()) {
+        		return result.get();
+        	}
+        }
+        return userr.searchUnapprovedInstructors(UserRole.ROLE_INSTRUCTOR, keyword.trim().toLowerCase(), pageable);
     }
 
     // 3. user_list_dormant.html (휴면 회원용) - 페이징 적용
     public Page<User> getDormantUsers(int page, String keyword) {
         Pageable pageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.DESC, "userCdate"));
-        LocalDateTime threshold = LocalDateTime.now().minusYears(1); // 1년 이상 미활동
+        // [수정] 1년 이상 미활동 판단은 AccountStatusJob 이 미리 기록 (account_status = DORMANT)
         
         if (keyword == null || keyword.trim().isEmpty()) {
-            return userr.findDormantUsers(threshold, pageable);
-        } else {
-            return userr.findDormantUsersByKeyword(threshold, keyword.trim().toLowerCase(), pageable);
+            return userr.findByAccountStatus(AccountStatus.DORMANT, pageable);
+        }
+        if (searchIndex.isReady()) {
+        	// [추가] 역색인 검색 후 휴면 회원만
+        	Optional<Page<User>> result = searchUsers(keyword, null, null, AccountStatus.DORMANT, pageable);
+        	if (result.isPresent()) {
+        		return result.get();
+        	}
         }
+        return userr.findByAccountStatusAndKeyword(AccountStatus.DORMANT, keyword.trim().toLowerCase(), pageable);
     }
     
  // [추가] 사용자가 강의를 볼 수 있는 상태인지 확인하는 헬퍼 메서드
+    // [수정] 역할 / 결제 여부 / 종료일 판단은 Entitlement.allows, 값은 수강 권한 캐시에서 (메모리 조회)
     public boolean canAccessCourse(User user) {
-        // 1. 관리자나 강사는 프리패스
-        if (user.getRole() == UserRole.ROLE_ADMIN || user.getRole() == UserRole.ROLE_INSTRUCTOR) {
-            return true;
-        }
-        // 2. 결제한 VIP 회원이면 프리패스
-        if (user.isPaid()) {
-            return true;
-        }
-        // 3. 미결제 회원이면 날짜 확인 (현재 시간이 종료일 이전이어야 함)
-        if (user.getEndDate() != null && LocalDateTime.now().isBefore(user.getEndDate())) {
-            return true;
+        return entitlements.canAccess(user.getUno());
+    }
+
+    // [추가] 레벨 테스트 응시 생성 후 온보딩 대기 상태로 (로그인 성공 처리에서 이 값만 확인)
+    public void markLevelTestPending(User user, Long attemptId) {
+        userr.updateOnboarding(user.getUno(), OnboardingStatus.LEVEL_TEST_PENDING, attemptId);
+        userCache.evict(user.getUserId());
+    }
+
+    // [추가] 레벨 테스트 응시가 삭제된 경우 대기 상태 해제 (다른 응시를 가리키고 있으면 그대로)
+    public void clearPendingLevelTest(User user, Long attemptId) {
+        if (userr.clearLevelTestAttempt(attemptId) > 0 && user != null) {
+            userCache.evict(user.getUserId());
         }
-        
-        return false; // 그 외에는 접근 불가
     }
 
     // [추가] 결제 처리 (VIP 등업) 메서드
     public void upgradeToVip(User user) {
         user.setPaid(true);
         user.setEndDate(null); // VIP는 기한 없음 (혹은 결제일 + 30일 등으로 설정 가능)
+        user.setAccountStatus(AccountStatus.ACTIVE); // [추가] 체험 만료 / 휴면 회원도 결제 즉시 이용 중으로
         userr.save(user);
+        userCache.evict(user.getUserId()); // [추가] 로그인 회원 캐시 갱신
+        entitlements.evict(user.getUno()); // [추가] 결제 즉시 수강 권한 반영
     }
-}
\ No newline at end of file
+}
\ No newline at end of file